@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.coverage;
+
+import com.parasoft.findings.jenkins.coverage.model.ModuleNode;
+import com.parasoft.findings.jenkins.coverage.model.parser.ParasoftCoverageParser;
+import com.parasoft.findings.jenkins.util.ParallelAgentFileVisitor;
+import edu.hm.hafner.util.FilteredLog;
+import edu.hm.hafner.util.PathUtil;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Scans the workspace for Parasoft coverage reports and parses them directly with {@link ParasoftCoverageParser},
+ * without converting them to intermediate Cobertura reports first. Several reports are parsed concurrently if more
+ * than one worker is configured.
+ */
+public class ParasoftCoverageParserScanner extends ParallelAgentFileVisitor<ModuleNode> {
+    private static final long serialVersionUID = -5386421581431178318L;
+
+    private static final String XML_EXTENSION = ".xml";
+
+    private static final PathUtil PATH_UTIL = new PathUtil();
+
+    private final String workspaceLoc;
+
+    public ParasoftCoverageParserScanner(final String filePattern, final String workspaceLoc,
+                                         final String encoding, final boolean followSymbolicLinks,
+                                         final int workerCount) {
+        super(filePattern, encoding, followSymbolicLinks, true, workerCount);
+
+        this.workspaceLoc = workspaceLoc;
+    }
+
+    @Override
+    protected Optional<ModuleNode> processFileInWorker(Path file, Charset charset, FilteredLog log) {
+        try {
+            if (!PATH_UTIL.getAbsolutePath(file).endsWith(XML_EXTENSION)) {
+                throw new IOException("Unrecognized report file '" + file + "'");
+            }
+            String workspaceCanonicalPath = StringUtils.removeEnd(new File(workspaceLoc).getCanonicalPath(),
+                    File.separator);
+            ModuleNode node;
+            try (Reader reader = Files.newBufferedReader(file, charset)) {
+                node = new ParasoftCoverageParser(workspaceCanonicalPath).parse(reader, log);
+            }
+            log.logInfo("Successfully parsed Parasoft coverage report file '%s'", PATH_UTIL.getAbsolutePath(file));
+            node.aggregateValues().forEach(v -> log.logInfo("%s", v));
+            return Optional.of(node);
+        } catch (Exception exception) { // parasoft-suppress OWASP2021.A5.NCE "This is intentionally designed to ensure exceptions during coverage report processing don't cause the build to fail."
+            log.logError("Parsing of Parasoft coverage report file '%s' failed due to an exception: %s",
+                    file, ExceptionUtils.getRootCauseMessage(exception));
+            return Optional.empty();
+        }
+    }
+}
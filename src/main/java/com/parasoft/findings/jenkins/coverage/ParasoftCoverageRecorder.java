@@ -23,8 +23,10 @@ import com.parasoft.findings.jenkins.coverage.model.ModuleNode;
 import com.parasoft.findings.jenkins.coverage.model.Node;
 import com.parasoft.findings.jenkins.util.FilteredLogChain;
 import edu.hm.hafner.util.FilteredLog;
+import edu.hm.hafner.util.VisibleForTesting;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import hudson.Extension;
 import hudson.FilePath;
 import hudson.Launcher;
@@ -36,6 +38,7 @@ import hudson.tasks.Recorder;
 import hudson.util.ComboBoxModel;
 import hudson.util.FormValidation;
 import io.jenkins.plugins.util.*;
+import jenkins.util.SystemProperties;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -58,15 +61,24 @@ public class ParasoftCoverageRecorder extends Recorder {
     public static final String PARASOFT_COVERAGE_ID = "parasoft-coverage"; // $NON-NLS-1$
     public static final String PARASOFT_COVERAGE_NAME = "Parasoft Coverage"; // $NON-NLS-1$
     static final String DEFAULT_PATTERN = "**/coverage.xml"; // $NON-NLS-1$
+    static final int DEFAULT_WORKER_COUNT = 1;
     private static final String COBERTURA_XSL_NAME = "cobertura.xsl"; // $NON-NLS-1$
-    private static final String FILE_PATTERN_SEPARATOR = ","; // $NON-NLS-1$
     private static final ValidationUtilities VALIDATION_UTILITIES = new ValidationUtilities();
+    // Escape hatch to convert reports with cobertura.xsl to (in-memory) Cobertura reports as done before
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "Switched by tests")
+    @VisibleForTesting
+    static boolean useXslConversion =
+            SystemProperties.getBoolean(ParasoftCoverageRecorder.class.getName() + ".useXslConversion"); // $NON-NLS-1$
+
+    @CheckForNull
+    private static String coberturaXslContent;
 
     private String pattern = StringUtils.EMPTY;
     private String sourceCodeEncoding = StringUtils.EMPTY;
     private List<CoverageQualityGate> coverageQualityGates = new ArrayList<>();
     private String referenceJob = StringUtils.EMPTY;
     private String referenceBuild = StringUtils.EMPTY;
+    private int workerCount = DEFAULT_WORKER_COUNT;
 
     @DataBoundConstructor
     public ParasoftCoverageRecorder() {
@@ -134,6 +146,17 @@ public class ParasoftCoverageRecorder extends Recorder {
         return referenceBuild;
     }
 
+    // Number of coverage report files that are processed concurrently on the agent.
+    @DataBoundSetter
+    public void setWorkerCount(final int workerCount) {
+        this.workerCount = Math.max(workerCount, DEFAULT_WORKER_COUNT);
+    }
+
+    public int getWorkerCount() {
+        // Recorders that have been saved before this option existed contain 0
+        return Math.max(workerCount, DEFAULT_WORKER_COUNT);
+    }
+
     @Override
     public BuildStepMonitor getRequiredMonitorService() {
         return BuildStepMonitor.NONE;
@@ -192,43 +215,31 @@ public class ParasoftCoverageRecorder extends Recorder {
 
     private List<Node> recordCoverageResults(final Run<?, ?> run, final FilePath workspace,
                                              final FilteredLogChain logChain) throws InterruptedException {
-        // Return Cobertura patterns and temporary coverage directories for this build.
-        CoverageConversionResult coverageConversionResult = convertParasoftCoverageReportToCobertura(run, workspace, logChain);
-
-        List<Node> results = recordCoberturaCoverageResults(workspace, logChain, coverageConversionResult);
-
-        deleteTemporaryCoverageDirs(workspace, coverageConversionResult.getGeneratedCoverageBuildDirs(), logChain);
+        if (!useXslConversion) {
+            return recordParasoftCoverageResults(run, workspace, logChain);
+        }
 
-        return results;
+        return recordConvertedCoverageResults(run, workspace, logChain);
     }
 
-    private List<Node> recordCoberturaCoverageResults(final FilePath workspace, final FilteredLogChain logChain,
-                                                      CoverageConversionResult coverageConversionResult) throws InterruptedException {
-        FilteredLog log = logChain.addNewFilteredLog("Errors while processing intermediate Cobertura coverage report:");
-
+    private List<Node> recordParasoftCoverageResults(final Run<?, ?> run, final FilePath workspace,
+                                                     final FilteredLogChain logChain) throws InterruptedException {
+        FilteredLog log = logChain.addNewFilteredLog("Errors while processing Parasoft code coverage:");
+        log.logInfo("Processing Parasoft coverage report...");
         try {
             List<Node> results = new ArrayList<>();
-            final String coberturaPattern = coverageConversionResult.getCoberturaPattern();
-            if (StringUtils.isBlank(coberturaPattern)) {
-                log.logInfo("Skipping processing of intermediate Cobertura coverage report since processing of Parasoft coverage report returned no result");
-                return results;
-            }
-
-            log.logInfo("Processing intermediate Cobertura coverage report...");
             try {
                 AgentFileVisitor.FileVisitorResult<ModuleNode> result = workspace.act(
-                        new CoverageReportScanner(coberturaPattern, "UTF-8", false, CoverageTool.Parser.COBERTURA));
+                        new ParasoftCoverageParserScanner(resolvePattern(run, log), workspace.getRemote(),
+                                StandardCharsets.UTF_8.name(), false, getWorkerCount()));
                 log.merge(result.getLog());
 
-                var coverageResults = result.getResults();
                 if (result.hasErrors()) {
                     log.logInfo("Ignore errors and continue processing");
                 }
-                results.addAll(coverageResults);
-            }
-            catch (IOException exception) {
-                log.logError("Exception while processing intermediate Cobertura coverage report: %s",
-                        ExceptionUtils.getRootCauseMessage(exception));
+                results.addAll(result.getResults());
+            } catch (IOException exception) {
+                log.logError("Exception while processing Parasoft coverage report: %s", ExceptionUtils.getRootCauseMessage(exception)); // $NON-NLS-1$
             }
 
             return results;
@@ -255,50 +266,44 @@ public class ParasoftCoverageRecorder extends Recorder {
         return (ParasoftCoverageDescriptor) super.getDescriptor();
     }
 
-    private CoverageConversionResult convertParasoftCoverageReportToCobertura(final Run<?, ?> run, final FilePath workspace,
-                                                                              final FilteredLogChain logChain) throws InterruptedException {
-
+    private List<Node> recordConvertedCoverageResults(final Run<?, ?> run, final FilePath workspace,
+                                                      final FilteredLogChain logChain) throws InterruptedException {
         FilteredLog log = logChain.addNewFilteredLog("Errors while converting Parasoft code coverage:");
         log.logInfo("Processing Parasoft coverage report...");
         try {
-            String expandedPattern = formatExpandedPattern(expandPattern(run, pattern));
-            if (StringUtils.isBlank(expandedPattern)) {
-                log.logInfo("Using default pattern '%s' for '%s' since specified pattern is empty", DEFAULT_PATTERN, pattern); // $NON-NLS-1$
-                expandedPattern = DEFAULT_PATTERN;
-            } else if (!expandedPattern.equals(pattern)) {
-                log.logInfo("Expanded pattern '%s' to '%s'", pattern, expandedPattern); // $NON-NLS-1$
-            }
-
-            Set<String> coberturaPatterns = new HashSet<>();
-            Set<String> generatedCoverageBuildDirs = new HashSet<>();
-
+            List<Node> results = new ArrayList<>();
             try {
-                AgentFileVisitor.FileVisitorResult<ProcessedFileResult> result = workspace.act(
-                        new ParasoftCoverageReportScanner(expandedPattern, getCoberturaXslContent(), workspace.getRemote(),
-                                StandardCharsets.UTF_8.name(), false));
+                // The converted Cobertura reports are parsed on the agent right away, in the same remote call
+                AgentFileVisitor.FileVisitorResult<ModuleNode> result = workspace.act(
+                        new ParasoftCoverageReportScanner(resolvePattern(run, log), getCoberturaXslContent(),
+                                workspace.getRemote(), StandardCharsets.UTF_8.name(), false, getWorkerCount()));
                 log.merge(result.getLog());
 
-                List<ProcessedFileResult> coverageResults = result.getResults();
                 if (result.hasErrors()) {
                     log.logInfo("Ignore errors and continue processing");
                 }
-                coberturaPatterns.addAll(coverageResults.stream()
-                        .map(ProcessedFileResult::getCoberturaPattern)
-                        .collect(Collectors.toSet()));
-                generatedCoverageBuildDirs.addAll(coverageResults.stream()
-                        .map(ProcessedFileResult::getGeneratedCoverageBuildDir)
-                        .collect(Collectors.toSet()));
+                results.addAll(result.getResults());
             } catch (IOException exception) {
                 log.logError("Exception while processing Parasoft coverage report: %s", ExceptionUtils.getRootCauseMessage(exception)); // $NON-NLS-1$
             }
 
-            return new CoverageConversionResult(StringUtils.join(coberturaPatterns, FILE_PATTERN_SEPARATOR),
-                    generatedCoverageBuildDirs);
+            return results;
         } finally {
             logChain.getLogHandler().log(log);
         }
     }
 
+    private String resolvePattern(final Run<?, ?> run, final FilteredLog log) {
+        String expandedPattern = formatExpandedPattern(expandPattern(run, pattern));
+        if (StringUtils.isBlank(expandedPattern)) {
+            log.logInfo("Using default pattern '%s' for '%s' since specified pattern is empty", DEFAULT_PATTERN, pattern); // $NON-NLS-1$
+            return DEFAULT_PATTERN;
+        } else if (!expandedPattern.equals(pattern)) {
+            log.logInfo("Expanded pattern '%s' to '%s'", pattern, expandedPattern); // $NON-NLS-1$
+        }
+        return expandedPattern;
+    }
+
     // Resolves build parameters in the pattern.
     private String expandPattern(final Run<?, ?> run, final String pattern) {
         try {
@@ -312,35 +317,18 @@ public class ParasoftCoverageRecorder extends Recorder {
         }
     }
 
-    private String getCoberturaXslContent() throws IOException {
-        try (InputStream coberturaXslInput = this.getClass().getResourceAsStream(COBERTURA_XSL_NAME)) {
-            if (coberturaXslInput == null) {
-                throw new IOException("Failed to read Cobertura XSL."); // $NON-NLS-1$
-            }
-            return IOUtils.toString(coberturaXslInput, StandardCharsets.UTF_8);
-        }
-    }
-
-    void deleteTemporaryCoverageDirs(final FilePath workspace, final Set<String> tempCoverageDirs,
-                                     final FilteredLogChain logChain)
-            throws InterruptedException {
-        FilteredLog log = logChain.addNewFilteredLog("Errors while deleting temporary coverage files:");
-        try {
-            log.logInfo("Deleting temporary coverage files"); // $NON-NLS-1$
-            for (String tempCoverageDir : tempCoverageDirs) {
-                try {
-                    FilePath tempCoverageDirParent = workspace.child(tempCoverageDir).getParent();
-                    if (tempCoverageDirParent != null) {
-                        tempCoverageDirParent.deleteRecursive();
-                    }
-                } catch (IOException exception) {
-                    log.logError("Failed to delete temporary directory '%s' due to an exception: %s", tempCoverageDir, ExceptionUtils.getRootCauseMessage(exception)); // $NON-NLS-1$
+    // The stylesheet is bundled with the plugin and thus read only once.
+    @VisibleForTesting
+    static synchronized String getCoberturaXslContent() throws IOException {
+        if (coberturaXslContent == null) {
+            try (InputStream coberturaXslInput = ParasoftCoverageRecorder.class.getResourceAsStream(COBERTURA_XSL_NAME)) {
+                if (coberturaXslInput == null) {
+                    throw new IOException("Failed to read Cobertura XSL."); // $NON-NLS-1$
                 }
+                coberturaXslContent = IOUtils.toString(coberturaXslInput, StandardCharsets.UTF_8);
             }
-            log.logInfo("Deleted temporary coverage files");
-        } finally {
-            logChain.getLogHandler().log(log);
         }
+        return coberturaXslContent;
     }
 
     private String formatExpandedPattern(String expandedPattern) {
@@ -383,6 +371,11 @@ public class ParasoftCoverageRecorder extends Recorder {
             return StandardCharsets.UTF_8.name();
         }
 
+        // Used in jelly file.
+        public int defaultWorkerCount() {
+            return DEFAULT_WORKER_COUNT;
+        }
+
         @POST
         @SuppressWarnings("unused") // used by Stapler view data binding
         public ComboBoxModel doFillSourceCodeEncodingItems(@AncestorInPath final AbstractProject<?, ?> project) {
@@ -407,22 +400,4 @@ public class ParasoftCoverageRecorder extends Recorder {
             return sourceCodeEncoding == null ? StringUtils.EMPTY : sourceCodeEncoding.trim();
         }
     }
-
-    static class CoverageConversionResult {
-        private final String coberturaPattern;
-        private final Set<String> generatedCoverageBuildDirs;
-
-        public CoverageConversionResult(String coberturaPattern, Set<String> generatedCoverageBuildDirs) {
-            this.coberturaPattern = coberturaPattern;
-            this.generatedCoverageBuildDirs = generatedCoverageBuildDirs;
-        }
-
-        public String getCoberturaPattern() {
-            return coberturaPattern;
-        }
-
-        public Set<String> getGeneratedCoverageBuildDirs() {
-            return generatedCoverageBuildDirs;
-        }
-    }
 }
@@ -17,74 +17,70 @@
 package com.parasoft.findings.jenkins.coverage;
 
 import com.parasoft.findings.jenkins.coverage.converter.ConversionService;
+import com.parasoft.findings.jenkins.coverage.model.ModuleNode;
+import com.parasoft.findings.jenkins.coverage.model.parser.CoberturaParser;
+import com.parasoft.findings.jenkins.util.ParallelAgentFileVisitor;
 import edu.hm.hafner.util.FilteredLog;
 import edu.hm.hafner.util.PathUtil;
-import io.jenkins.plugins.util.AgentFileVisitor;
 import net.sf.saxon.s9api.QName;
 import net.sf.saxon.s9api.XdmAtomicValue;
 import net.sf.saxon.s9api.XdmValue;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
-import javax.xml.transform.stream.StreamSource;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.io.StringReader;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.*;
 
-public class ParasoftCoverageReportScanner extends AgentFileVisitor<ProcessedFileResult> {
+/**
+ * Scans the workspace for Parasoft coverage reports, converts them with the Cobertura XSL and parses the converted
+ * reports with {@link CoberturaParser}. The converted reports are parsed while they are produced, so they are neither
+ * written to the workspace nor kept in memory as a whole.
+ */
+public class ParasoftCoverageReportScanner extends ParallelAgentFileVisitor<ModuleNode> {
 
     private static final long serialVersionUID = 6940864958150044554L;
 
-    private static final String GENERATED_COVERAGE_DIR = "generatedCoverageFiles";
-    private static final String GENERATED_COBERTURA_REPORT_FILE_NAME_FORMAT = "%s-cobertura_%s.xml";
     private static final String COVERAGE_TAG_START = "<Coverage ";
     private static final String WORKING_DIRECTORY_PARAM = "pipelineBuildWorkingDirectory";
     private static final String XML_EXTENSION = ".xml";
     private static final String COVERAGE_ATTRIBUTE = "ver";
-    private static final String QUESTION_MARK = "?";
 
     private static final PathUtil PATH_UTIL = new PathUtil();
 
     private final String xslContent;
     private final String workspaceLoc;
 
-    private final Map<String, String> generatedCoverageDirsMap = new HashMap<>();
-
     public ParasoftCoverageReportScanner(final String filePattern, final String xslContent, final String workspaceLoc,
-                                         final String encoding, final boolean followSymbolicLinks) {
-        super(filePattern, encoding, followSymbolicLinks, true);
+                                         final String encoding, final boolean followSymbolicLinks,
+                                         final int workerCount) {
+        super(filePattern, encoding, followSymbolicLinks, true, workerCount);
 
         this.xslContent = xslContent;
         this.workspaceLoc = workspaceLoc;
     }
 
     @Override
-    protected Optional<ProcessedFileResult> processFile(Path file, Charset charset, FilteredLog log) {
+    protected Optional<ModuleNode> processFileInWorker(Path file, Charset charset, FilteredLog log) {
         try {
             if (!PATH_UTIL.getAbsolutePath(file).endsWith(XML_EXTENSION)) {
                 throw new IOException("Unrecognized report file '" + file + "'");
             }
             validateParasoftReport(file, charset);
-            Path generatedCoverageBuildDir = createGeneratedCoverageFileDir(file);
-            Path outputCoberturaReport = generatedCoverageBuildDir.resolve(
-                    String.format(GENERATED_COBERTURA_REPORT_FILE_NAME_FORMAT, file.getFileName(),
-                            UUID.randomUUID()));
             Map<QName, XdmValue> params = new HashMap<>();
             String workspaceCanonicalPath = StringUtils.removeEnd(new File(workspaceLoc).getCanonicalPath(),
                     File.separator);
             params.put(new QName(WORKING_DIRECTORY_PARAM), new XdmAtomicValue(workspaceCanonicalPath));
-            new ConversionService().convert(new StreamSource(new StringReader(xslContent)),
-                    file.toFile(), outputCoberturaReport.toFile(), params);
-            log.logInfo("Successfully converted Parasoft coverage report file '%s' to intermediate Cobertura report file '%s'", PATH_UTIL.getAbsolutePath(file), PATH_UTIL.getAbsolutePath(outputCoberturaReport));
-            String coberturaPattern = StringUtils.replace(PATH_UTIL.getRelativePath(Paths.get(workspaceLoc),
-                    outputCoberturaReport), StringUtils.SPACE, QUESTION_MARK);
-            return Optional.of(new ProcessedFileResult(coberturaPattern, generatedCoverageBuildDir.toString()));
+            // The converted report is parsed while it is produced by the conversion
+            ModuleNode node = new ConversionService().convert(xslContent, file.toFile(), params,
+                    coberturaReport -> new CoberturaParser().parse(coberturaReport, log));
+            log.logInfo("Successfully converted and parsed Parasoft coverage report file '%s'", PATH_UTIL.getAbsolutePath(file));
+            node.aggregateValues().forEach(v -> log.logInfo("%s", v));
+            return Optional.of(node);
         } catch (Exception exception) { // parasoft-suppress OWASP2021.A5.NCE "This is intentionally designed to ensure exceptions during coverage report processing don't cause the build to fail."
             log.logError("Parsing of Parasoft coverage report file '%s' failed due to an exception: %s",
                     file, ExceptionUtils.getRootCauseMessage(exception));
@@ -109,19 +105,4 @@ public class ParasoftCoverageReportScanner extends AgentFileVisitor<ProcessedFil
             }
         }
     }
-
-    private Path createGeneratedCoverageFileDir(Path file) throws IOException {
-        Path generatedCoverageDir = file.resolveSibling(GENERATED_COVERAGE_DIR);
-        Path generatedCoverageBuildDir;
-        // If there are multiple Parasoft coverage files in the same directory,
-        // the generated coverage files are put in the same subdirectory(use UUID as name) for this build.
-        if (generatedCoverageDirsMap.containsKey(generatedCoverageDir.toString())) {
-            generatedCoverageBuildDir = Paths.get(generatedCoverageDirsMap.get(generatedCoverageDir.toString()));
-        } else {
-            generatedCoverageBuildDir = generatedCoverageDir.resolve(UUID.randomUUID().toString());
-            generatedCoverageDirsMap.put(generatedCoverageDir.toString(), generatedCoverageBuildDir.toString());
-        }
-        Files.createDirectories(generatedCoverageBuildDir);
-        return generatedCoverageBuildDir;
-    }
 }
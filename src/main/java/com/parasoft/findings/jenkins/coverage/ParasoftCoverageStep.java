@@ -53,6 +53,7 @@ public class ParasoftCoverageStep extends Step implements Serializable { // para
     private List<CoverageQualityGate> CoverageQualityGates = new ArrayList<>();
     private String referenceJob = StringUtils.EMPTY;
     private String referenceBuild = StringUtils.EMPTY;
+    private int workerCount = DEFAULT_WORKER_COUNT;
 
     @DataBoundConstructor
     public ParasoftCoverageStep(){
@@ -84,6 +85,15 @@ public class ParasoftCoverageStep extends Step implements Serializable { // para
         return referenceBuild;
     }
 
+    @DataBoundSetter
+    public void setWorkerCount(final int workerCount) {
+        this.workerCount = Math.max(workerCount, DEFAULT_WORKER_COUNT);
+    }
+
+    public int getWorkerCount() {
+        return Math.max(workerCount, DEFAULT_WORKER_COUNT);
+    }
+
     @DataBoundSetter
     public void setPattern(final String pattern) {
         this.pattern = StringUtils.defaultIfBlank(pattern, DEFAULT_PATTERN);
@@ -138,7 +148,8 @@ public class ParasoftCoverageStep extends Step implements Serializable { // para
             TaskListener taskListener = getTaskListener();
             RunResultHandler runResultHandler = new RunResultHandler(run);
             ParasoftCoverageRecorder recorder = setUpCoverageRecorder(step.getPattern(), step.getSourceCodeEncoding(),
-                    step.getCoverageQualityGates(), step.getReferenceJob(), step.getReferenceBuild());
+                    step.getCoverageQualityGates(), step.getReferenceJob(), step.getReferenceBuild(),
+                    step.getWorkerCount());
 
             recorder.perform(run, workspace, taskListener, runResultHandler);
             return UNUSED;
@@ -175,6 +186,11 @@ public class ParasoftCoverageStep extends Step implements Serializable { // para
             return StandardCharsets.UTF_8.name();
         }
 
+        // Used in jelly file.
+        public int defaultWorkerCount() {
+            return DEFAULT_WORKER_COUNT;
+        }
+
         @POST
         @SuppressWarnings("unused") // used by Stapler view data binding
         public ComboBoxModel doFillSourceCodeEncodingItems(@AncestorInPath final AbstractProject<?, ?> project) {
@@ -202,9 +218,11 @@ public class ParasoftCoverageStep extends Step implements Serializable { // para
 
     static ParasoftCoverageRecorder setUpCoverageRecorder(final String pattern, final String sourceCodeEncoding,
                                                           final List<CoverageQualityGate> coverageQualityGates,
-                                                          final String referenceJob, final String referenceBuild) {
+                                                          final String referenceJob, final String referenceBuild,
+                                                          final int workerCount) {
         ParasoftCoverageRecorder recorder = new ParasoftCoverageRecorder();
         recorder.setPattern(pattern);
+        recorder.setWorkerCount(workerCount);
         recorder.setCoverageQualityGates(coverageQualityGates);
         if (referenceJob != null && !referenceJob.isEmpty()) {
             recorder.setReferenceJob(referenceJob);
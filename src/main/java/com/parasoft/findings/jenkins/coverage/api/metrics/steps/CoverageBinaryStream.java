@@ -0,0 +1,605 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.coverage.api.metrics.steps;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import edu.hm.hafner.util.TreeStringBuilder;
+import edu.hm.hafner.util.VisibleForTesting;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.Fraction;
+
+import com.parasoft.findings.jenkins.coverage.model.ClassNode;
+import com.parasoft.findings.jenkins.coverage.model.ContainerNode;
+import com.parasoft.findings.jenkins.coverage.model.Coverage;
+import com.parasoft.findings.jenkins.coverage.model.Coverage.CoverageBuilder;
+import com.parasoft.findings.jenkins.coverage.model.FileNode;
+import com.parasoft.findings.jenkins.coverage.model.MethodNode;
+import com.parasoft.findings.jenkins.coverage.model.Metric;
+import com.parasoft.findings.jenkins.coverage.model.ModuleNode;
+import com.parasoft.findings.jenkins.coverage.model.Mutation;
+import com.parasoft.findings.jenkins.coverage.model.Mutation.MutationBuilder;
+import com.parasoft.findings.jenkins.coverage.model.MutationStatus;
+import com.parasoft.findings.jenkins.coverage.model.Node;
+import com.parasoft.findings.jenkins.coverage.model.PackageNode;
+import com.parasoft.findings.jenkins.coverage.model.Value;
+
+import jenkins.util.SystemProperties;
+
+/**
+ * Stores the coverage tree in a compact binary format instead of the XML file of {@link CoverageXmlStream}. Reading a
+ * binary file is much faster than reading the XML file, and the file is considerably smaller. Results of builds that
+ * have been recorded with previous releases, or whose binary file cannot be read, are still read from the XML file.
+ *
+ * <p>
+ * The format starts with a magic number, a version and a flags byte. The (optionally compressed) payload contains a
+ * table of all strings, followed by the nodes of the tree in pre-order. Integers are stored as variable length
+ * quantities and the lines of a file are delta encoded.
+ * </p>
+ */
+class CoverageBinaryStream extends CoverageXmlStream {
+    private static final Logger LOGGER = Logger.getLogger(CoverageBinaryStream.class.getName());
+
+    // Escape hatch to persist the coverage tree as XML file as done before
+    private static final boolean USE_XML_FORMAT =
+            SystemProperties.getBoolean(CoverageBinaryStream.class.getName() + ".useXmlFormat"); // $NON-NLS-1$
+
+    static final String BINARY_EXTENSION = ".bin"; // $NON-NLS-1$
+    private static final String XML_EXTENSION = ".xml"; // $NON-NLS-1$
+
+    private static final int MAGIC = 0x50435654; // "PCVT"
+    private static final int VERSION = 1;
+    private static final int FLAG_COMPRESSED = 1;
+
+    private static final int CONTAINER = 0;
+    private static final int MODULE = 1;
+    private static final int PACKAGE = 2;
+    private static final int FILE = 3;
+    private static final int CLASS = 4;
+    private static final int METHOD = 5;
+
+    private static final int COVERAGE_VALUE = 0;
+    private static final int SERIALIZED_VALUE = 1;
+
+    /**
+     * Reads the tree of the specified result file. Trees are shared using the controller-wide
+     * {@link CoverageTreeCache}, so the returned tree must not be modified.
+     *
+     * @param file
+     *         the result file
+     *
+     * @return the tree
+     */
+    @Override
+    public Node read(final Path file) {
+        var lastModified = getLastModified(file);
+        if (lastModified.isEmpty()) {
+            return readFile(file);
+        }
+        return CoverageTreeCache.getInstance().get(getCacheKey(file), lastModified.get(), () -> readFile(file));
+    }
+
+    private Node readFile(final Path file) {
+        var binaryFile = getBinaryFile(file);
+        if (Files.isReadable(binaryFile)) {
+            try (InputStream input = Files.newInputStream(binaryFile)) {
+                return readTree(input);
+            }
+            catch (IOException | RuntimeException exception) {
+                LOGGER.log(Level.WARNING, exception, () -> String.format(
+                        "Failed to read coverage results from '%s', using XML file instead", binaryFile));
+            }
+        }
+        return super.read(file);
+    }
+
+    @Override
+    public void write(final Path file, final Node tree) {
+        if (USE_XML_FORMAT) {
+            super.write(file, tree);
+            return;
+        }
+
+        var binaryFile = getBinaryFile(file);
+        try (OutputStream output = Files.newOutputStream(binaryFile)) {
+            writeTree(tree, output);
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, exception, () -> String.format(
+                    "Failed to write coverage results to '%s', using XML file instead", binaryFile));
+            super.write(file, tree);
+        }
+        getLastModified(file).ifPresent(
+                lastModified -> CoverageTreeCache.getInstance().put(getCacheKey(file), lastModified, tree));
+    }
+
+    private static Path getCacheKey(final Path file) {
+        return file.toAbsolutePath().normalize();
+    }
+
+    private static Optional<FileTime> getLastModified(final Path file) {
+        for (Path candidate : List.of(getBinaryFile(file), file)) {
+            try {
+                return Optional.of(Files.getLastModifiedTime(candidate));
+            }
+            catch (IOException ignore) {
+                // try the next candidate
+            }
+        }
+        return Optional.empty();
+    }
+
+    static Path getBinaryFile(final Path file) {
+        var fileName = StringUtils.removeEnd(file.getFileName().toString(), XML_EXTENSION);
+        return file.resolveSibling(fileName + BINARY_EXTENSION);
+    }
+
+    /**
+     * Writes the specified tree to the specified output stream.
+     *
+     * @param tree
+     *         the root of the tree
+     * @param output
+     *         the stream to write to, will not be closed
+     *
+     * @throws IOException
+     *         if the tree could not be written
+     */
+    @VisibleForTesting
+    static void writeTree(final Node tree, final OutputStream output) throws IOException {
+        var nodes = new ByteArrayOutputStream();
+        var writer = new TreeWriter(new DataOutputStream(nodes));
+        writer.writeNode(tree);
+
+        var header = new DataOutputStream(output);
+        header.writeInt(MAGIC);
+        header.writeByte(VERSION);
+        header.writeByte(FLAG_COMPRESSED);
+        header.flush();
+
+        var compressed = new GZIPOutputStream(output);
+        var payload = new DataOutputStream(new BufferedOutputStream(compressed));
+        writer.writeStrings(payload);
+        nodes.writeTo(payload);
+        payload.flush();
+        compressed.finish();
+    }
+
+    /**
+     * Reads a tree from the specified input stream.
+     *
+     * @param input
+     *         the stream to read from, will not be closed
+     *
+     * @return the root of the tree
+     * @throws IOException
+     *         if the tree could not be read
+     */
+    @VisibleForTesting
+    static Node readTree(final InputStream input) throws IOException {
+        var header = new DataInputStream(input);
+        if (header.readInt() != MAGIC) {
+            throw new IOException("Not a binary coverage file");
+        }
+        int version = header.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version of binary coverage file: " + version);
+        }
+        int flags = header.readUnsignedByte();
+
+        InputStream payload = (flags & FLAG_COMPRESSED) != 0 ? new GZIPInputStream(input) : input;
+        var reader = new TreeReader(new DataInputStream(new BufferedInputStream(payload)));
+        reader.readStrings();
+        return reader.readNode();
+    }
+
+    /**
+     * Writes the nodes of a tree and collects the strings of the nodes in a string table.
+     */
+    private static class TreeWriter {
+        private final DataOutputStream output;
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+
+        TreeWriter(final DataOutputStream output) {
+            this.output = output;
+        }
+
+        void writeStrings(final DataOutputStream stringOutput) throws IOException {
+            writeUnsigned(stringOutput, strings.size());
+            for (String string : strings) {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                writeUnsigned(stringOutput, bytes.length);
+                stringOutput.write(bytes);
+            }
+        }
+
+        void writeNode(final Node node) throws IOException {
+            writeUnsigned(getType(node));
+            writeString(node.getName());
+            writeNullableString(node.getParasoftToolName());
+            writeValues(node.getValues());
+
+            if (node instanceof ModuleNode) {
+                var sources = ((ModuleNode) node).getSourceFolders();
+                writeUnsigned(sources.size());
+                for (String source : sources) {
+                    writeString(source);
+                }
+            }
+            else if (node instanceof FileNode) {
+                writeFile((FileNode) node);
+            }
+            else if (node instanceof MethodNode) {
+                var method = (MethodNode) node;
+                writeString(method.getSignature());
+                writeSigned(method.getLineNumber());
+            }
+
+            var children = node.getChildren();
+            writeUnsigned(children.size());
+            for (Node child : children) {
+                writeNode(child);
+            }
+        }
+
+        private int getType(final Node node) {
+            if (node instanceof ContainerNode) {
+                return CONTAINER;
+            }
+            if (node instanceof ModuleNode) {
+                return MODULE;
+            }
+            if (node instanceof PackageNode) {
+                return PACKAGE;
+            }
+            if (node instanceof FileNode) {
+                return FILE;
+            }
+            if (node instanceof ClassNode) {
+                return CLASS;
+            }
+            if (node instanceof MethodNode) {
+                return METHOD;
+            }
+            throw new IllegalArgumentException("Unsupported node type: " + node.getClass().getName());
+        }
+
+        private void writeValues(final List<Value> values) throws IOException {
+            writeUnsigned(values.size());
+            for (Value value : values) {
+                if (value instanceof Coverage) {
+                    var coverage = (Coverage) value;
+                    writeUnsigned(COVERAGE_VALUE);
+                    writeString(coverage.getMetric().name());
+                    writeUnsigned(coverage.getCovered());
+                    writeUnsigned(coverage.getMissed());
+                }
+                else {
+                    writeUnsigned(SERIALIZED_VALUE);
+                    writeString(value.serialize());
+                }
+            }
+        }
+
+        private void writeFile(final FileNode file) throws IOException {
+            writeString(file.getRelativePath());
+
+            var lines = file.getLinesWithCoverage();
+            writeLines(lines.stream().mapToInt(Integer::intValue).toArray());
+            writeCounters(file.getCoveredCounters());
+            writeCounters(file.getMissedCounters());
+
+            writeLines(file.getModifiedLines().stream().mapToInt(Integer::intValue).toArray());
+
+            var indirectCoverageChanges = file.getIndirectCoverageChanges();
+            writeLines(indirectCoverageChanges.keySet().stream().mapToInt(Integer::intValue).toArray());
+            writeCounters(indirectCoverageChanges.values().stream().mapToInt(Integer::intValue).toArray());
+
+            List<Metric> deltas = new ArrayList<>();
+            for (Metric metric : Metric.values()) {
+                if (file.hasDelta(metric)) {
+                    deltas.add(metric);
+                }
+            }
+            writeUnsigned(deltas.size());
+            for (Metric metric : deltas) {
+                var delta = file.getDelta(metric);
+                writeString(metric.name());
+                writeSigned(delta.getNumerator());
+                writeSigned(delta.getDenominator());
+            }
+
+            var mutations = file.getMutations();
+            writeUnsigned(mutations.size());
+            for (Mutation mutation : mutations) {
+                writeUnsigned(mutation.isDetected() ? 1 : 0);
+                writeString(mutation.getStatus().name());
+                writeSigned(mutation.getLine());
+                writeString(mutation.getMutator());
+                writeNullableString(mutation.getKillingTest());
+                writeString(mutation.getMutatedClass());
+                writeString(mutation.getMethod());
+                writeString(mutation.getSignature());
+                writeString(mutation.getDescription());
+            }
+        }
+
+        private void writeLines(final int[] lines) throws IOException {
+            writeUnsigned(lines.length);
+            int previous = 0;
+            for (int line : lines) {
+                writeSigned(line - previous);
+                previous = line;
+            }
+        }
+
+        private void writeCounters(final int[] counters) throws IOException {
+            for (int counter : counters) {
+                writeSigned(counter);
+            }
+        }
+
+        private void writeNullableString(@CheckForNull final String value) throws IOException {
+            writeUnsigned(value == null ? 0 : getIndex(value) + 1);
+        }
+
+        private void writeString(final String value) throws IOException {
+            writeUnsigned(getIndex(StringUtils.defaultString(value)));
+        }
+
+        private int getIndex(final String value) {
+            return indexes.computeIfAbsent(value, key -> {
+                strings.add(key);
+                return strings.size() - 1;
+            });
+        }
+
+        private void writeSigned(final int value) throws IOException {
+            writeUnsigned((value << 1) ^ (value >> 31));
+        }
+
+        private void writeUnsigned(final int value) throws IOException {
+            writeUnsigned(output, value);
+        }
+
+        private static void writeUnsigned(final DataOutputStream stream, final int value) throws IOException {
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                stream.writeByte((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            stream.writeByte(remaining);
+        }
+    }
+
+    /**
+     * Reads the string table and the nodes of a tree.
+     */
+    private static class TreeReader {
+        private final DataInputStream input;
+        private final TreeStringBuilder treeStringBuilder = new TreeStringBuilder();
+        private final CoverageBuilder builder = new CoverageBuilder();
+        private String[] strings = new String[0];
+
+        TreeReader(final DataInputStream input) {
+            this.input = input;
+        }
+
+        void readStrings() throws IOException {
+            strings = new String[readUnsigned()];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[readUnsigned()];
+                input.readFully(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+
+        Node readNode() throws IOException {
+            Node root = readNodeWithChildren();
+            treeStringBuilder.dedup();
+            return root;
+        }
+
+        private Node readNodeWithChildren() throws IOException {
+            int type = readUnsigned();
+            String name = readString();
+            String parasoftToolName = readNullableString();
+            List<Value> values = readValues();
+
+            Node node;
+            switch (type) {
+                case CONTAINER:
+                    node = new ContainerNode(name);
+                    break;
+                case MODULE:
+                    node = readModule(name);
+                    break;
+                case PACKAGE:
+                    node = new PackageNode(name);
+                    break;
+                case FILE:
+                    node = readFile(name);
+                    break;
+                case CLASS:
+                    node = new ClassNode(name);
+                    break;
+                case METHOD:
+                    node = new MethodNode(name, readString(), readSigned());
+                    break;
+                default:
+                    throw new IOException("Unsupported node type: " + type);
+            }
+            if (parasoftToolName != null) {
+                node.setParasoftToolName(parasoftToolName);
+            }
+            values.forEach(node::addValue);
+
+            int childCount = readUnsigned();
+            for (int i = 0; i < childCount; i++) {
+                node.addChild(readNodeWithChildren());
+            }
+            return node;
+        }
+
+        private List<Value> readValues() throws IOException {
+            int count = readUnsigned();
+            List<Value> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int kind = readUnsigned();
+                if (kind == COVERAGE_VALUE) {
+                    values.add(builder.setMetric(Metric.valueOf(readString()))
+                            .setCovered(readUnsigned())
+                            .setMissed(readUnsigned())
+                            .build());
+                }
+                else if (kind == SERIALIZED_VALUE) {
+                    values.add(Value.valueOf(readString()));
+                }
+                else {
+                    throw new IOException("Unsupported value type: " + kind);
+                }
+            }
+            return values;
+        }
+
+        private ModuleNode readModule(final String name) throws IOException {
+            var module = new ModuleNode(name);
+            int count = readUnsigned();
+            for (int i = 0; i < count; i++) {
+                module.addSource(readString());
+            }
+            return module;
+        }
+
+        private FileNode readFile(final String name) throws IOException {
+            var file = new FileNode(name, treeStringBuilder.intern(readString()));
+
+            int[] lines = readLines();
+            int[] covered = readCounters(lines.length);
+            int[] missed = readCounters(lines.length);
+            for (int i = 0; i < lines.length; i++) {
+                file.addCounters(lines[i], covered[i], missed[i]);
+            }
+
+            file.addModifiedLines(readLines());
+
+            int[] changedLines = readLines();
+            int[] changes = readCounters(changedLines.length);
+            for (int i = 0; i < changedLines.length; i++) {
+                file.addIndirectCoverageChange(changedLines[i], changes[i]);
+            }
+
+            int deltaCount = readUnsigned();
+            for (int i = 0; i < deltaCount; i++) {
+                var metric = Metric.valueOf(readString());
+                file.setDelta(metric, Fraction.getFraction(readSigned(), readSigned()));
+            }
+
+            int mutationCount = readUnsigned();
+            for (int i = 0; i < mutationCount; i++) {
+                file.addMutation(new MutationBuilder()
+                        .setIsDetected(readUnsigned() != 0)
+                        .setStatus(MutationStatus.valueOf(readString()))
+                        .setLine(readSigned())
+                        .setMutator(readString())
+                        .setKillingTest(readNullableString())
+                        .setMutatedClass(readString())
+                        .setMutatedMethod(readString())
+                        .setMutatedMethodSignature(readString())
+                        .setDescription(readString())
+                        .build());
+            }
+
+            file.trimToSize();
+            return file;
+        }
+
+        private int[] readLines() throws IOException {
+            int[] lines = new int[readUnsigned()];
+            int previous = 0;
+            for (int i = 0; i < lines.length; i++) {
+                previous += readSigned();
+                lines[i] = previous;
+            }
+            return lines;
+        }
+
+        private int[] readCounters(final int count) throws IOException {
+            int[] counters = new int[count];
+            for (int i = 0; i < count; i++) {
+                counters[i] = readSigned();
+            }
+            return counters;
+        }
+
+        @CheckForNull
+        private String readNullableString() throws IOException {
+            int index = readUnsigned();
+            return index == 0 ? null : getString(index - 1);
+        }
+
+        private String readString() throws IOException {
+            return getString(readUnsigned());
+        }
+
+        private String getString(final int index) throws IOException {
+            if (index < 0 || index >= strings.length) {
+                throw new IOException("Invalid string index: " + index);
+            }
+            return strings[index];
+        }
+
+        private int readSigned() throws IOException {
+            int value = readUnsigned();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private int readUnsigned() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+                int b = input.readUnsignedByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed variable length integer");
+        }
+    }
+}
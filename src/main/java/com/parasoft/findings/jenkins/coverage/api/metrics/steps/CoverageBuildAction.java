@@ -158,7 +158,7 @@ public final class CoverageBuildAction extends BuildAction<Node> implements Stap
         this.icon = icon;
         this.log = log;
 
-        projectValues = result.aggregateValues();
+        projectValues = result.aggregateValuesInParallel();
         this.qualityGateResult = qualityGateResult;
         this.modifiedLinesCoverage = new ArrayList<>(modifiedLinesCoverage);
         this.referenceBuildId = referenceBuildId;
@@ -360,7 +360,7 @@ public final class CoverageBuildAction extends BuildAction<Node> implements Stap
 
     @Override
     protected AbstractXmlStream<Node> createXmlStream() {
-        return new CoverageXmlStream();
+        return new CoverageBinaryStream();
     }
 
     @Override
@@ -27,9 +27,9 @@ package com.parasoft.findings.jenkins.coverage.api.metrics.steps;
 import com.parasoft.findings.jenkins.coverage.api.metrics.steps.CoverageTool.Parser;
 import com.parasoft.findings.jenkins.coverage.model.CoverageParser;
 import com.parasoft.findings.jenkins.coverage.model.ModuleNode;
+import com.parasoft.findings.jenkins.util.ParallelAgentFileVisitor;
 import edu.hm.hafner.util.FilteredLog;
 import edu.hm.hafner.util.PathUtil;
-import io.jenkins.plugins.util.AgentFileVisitor;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
 import java.nio.charset.Charset;
@@ -40,11 +40,11 @@ import java.util.Optional;
 /**
  * Scans the workspace for coverage reports that match a specified Ant file pattern and parse these files with the
  * specified parser. Creates a new {@link ModuleNode} for each parsed file. For files that cannot be read, an empty
- * module node will be returned.
+ * module node will be returned. Several files are parsed concurrently if more than one worker is configured.
  *
  * @author Ullrich Hafner
  */
-public class CoverageReportScanner extends AgentFileVisitor<ModuleNode> {
+public class CoverageReportScanner extends ParallelAgentFileVisitor<ModuleNode> {
     private static final long serialVersionUID = 6940864958150044554L;
 
     private static final PathUtil PATH_UTIL = new PathUtil();
@@ -61,16 +61,18 @@ public class CoverageReportScanner extends AgentFileVisitor<ModuleNode> {
      *         if the scanner should traverse symbolic links
      * @param parser
      *         the parser to use
+     * @param workerCount
+     *         the number of files to parse concurrently
      */
     public CoverageReportScanner(final String filePattern, final String encoding,
-            final boolean followSymbolicLinks, final Parser parser) {
-        super(filePattern, encoding, followSymbolicLinks, true);
+            final boolean followSymbolicLinks, final Parser parser, final int workerCount) {
+        super(filePattern, encoding, followSymbolicLinks, true, workerCount);
 
         this.parser = parser;
     }
 
     @Override
-    protected Optional<ModuleNode> processFile(final Path file, final Charset charset, final FilteredLog log) {
+    protected Optional<ModuleNode> processFileInWorker(final Path file, final Charset charset, final FilteredLog log) {
         try {
             CoverageParser xmlParser = parser.createParser();
             ModuleNode node = xmlParser.parse(Files.newBufferedReader(file, charset), log);
@@ -147,7 +147,7 @@ public class CoverageReporter {
                                                    final List<Value> modifiedLinesCoverageDistribution,
                                                    final ResultHandler resultHandler,
                                                    final List<CoverageQualityGate> qualityGates) {
-        var statistics = new CoverageStatistics(rootNode.aggregateValues(), modifiedLinesCoverageDistribution);
+        var statistics = new CoverageStatistics(rootNode.aggregateValuesInParallel(), modifiedLinesCoverageDistribution);
         CoverageQualityGateEvaluator evaluator = new CoverageQualityGateEvaluator(qualityGates, statistics);
         var qualityGateStatus = evaluator.evaluate(resultHandler, log);
         if (qualityGateStatus.isInactive()) {
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.coverage.api.metrics.steps;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.parasoft.findings.jenkins.coverage.model.FileNode;
+import com.parasoft.findings.jenkins.coverage.model.Node;
+
+import jenkins.util.SystemProperties;
+
+/**
+ * A controller-wide cache of the coverage trees that have been read from the build directories. The cache evicts the
+ * least recently used trees as soon as the estimated size of all cached trees exceeds the configured memory budget
+ * (system property {@code CoverageTreeCache.maximumSize} in megabytes, 0 disables the cache). Cached trees are
+ * invalidated when the file of the tree has been modified. The cached trees are shared by all threads, so they must not
+ * be modified. The statistics of the cache (hits, misses and evictions) are logged with level {@code FINE} whenever a
+ * tree is loaded.
+ */
+final class CoverageTreeCache {
+    private static final Logger LOGGER = Logger.getLogger(CoverageTreeCache.class.getName());
+
+    private static final long DEFAULT_MAXIMUM_SIZE = 64; // in MB
+    private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    // Rough estimates of the retained heap, they only need to be in the right order of magnitude
+    private static final long BYTES_PER_NODE = 400;
+    private static final long BYTES_PER_LINE = 12;
+
+    private static final CoverageTreeCache INSTANCE = new CoverageTreeCache(
+            SystemProperties.getLong(CoverageTreeCache.class.getName() + ".maximumSize", DEFAULT_MAXIMUM_SIZE)
+                    * BYTES_PER_MEGABYTE);
+
+    static CoverageTreeCache getInstance() {
+        return INSTANCE;
+    }
+
+    private final long maximumSize;
+    private final Map<Path, CachedTree> trees = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    CoverageTreeCache(final long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns the tree of the specified file. If the tree is not cached yet (or the cached tree is outdated) then the
+     * tree will be loaded using the specified loader.
+     *
+     * @param file
+     *         the file that contains the tree
+     * @param lastModified
+     *         the modification time of the file
+     * @param loader
+     *         the loader that reads the tree from the file
+     *
+     * @return the tree
+     */
+    Node get(final Path file, final FileTime lastModified, final Supplier<Node> loader) {
+        synchronized (this) {
+            var cached = trees.get(file);
+            if (cached != null && cached.lastModified.equals(lastModified)) {
+                hitCount++;
+                return cached.tree;
+            }
+            missCount++;
+        }
+
+        // Loading is done without holding the lock, so other trees are still accessible in the meantime
+        var tree = loader.get();
+        put(file, lastModified, tree);
+        LOGGER.log(Level.FINE, "Loaded coverage tree of {0}, cache statistics: {1}", new Object[] {file, this});
+        return tree;
+    }
+
+    /**
+     * Stores the tree of the specified file. An existing tree of the same file will be replaced.
+     *
+     * @param file
+     *         the file that contains the tree
+     * @param lastModified
+     *         the modification time of the file
+     * @param tree
+     *         the tree to cache
+     */
+    synchronized void put(final Path file, final FileTime lastModified, final Node tree) {
+        remove(file);
+
+        long treeSize = estimateSize(tree);
+        if (treeSize > maximumSize) {
+            return;
+        }
+        trees.put(file, new CachedTree(tree, lastModified, treeSize));
+        size += treeSize;
+        evictLeastRecentlyUsedTrees();
+    }
+
+    private void remove(final Path file) {
+        var removed = trees.remove(file);
+        if (removed != null) {
+            size -= removed.size;
+        }
+    }
+
+    private void evictLeastRecentlyUsedTrees() {
+        Iterator<Map.Entry<Path, CachedTree>> iterator = trees.entrySet().iterator();
+        while (size > maximumSize && iterator.hasNext()) {
+            var eldest = iterator.next();
+            size -= eldest.getValue().size;
+            iterator.remove();
+            evictionCount++;
+
+            LOGGER.log(Level.FINE, "Evicted coverage tree of {0} from cache", eldest.getKey());
+        }
+    }
+
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    synchronized long getMissCount() {
+        return missCount;
+    }
+
+    synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    synchronized long getSize() {
+        return size;
+    }
+
+    synchronized int getTreeCount() {
+        return trees.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d trees (%d of %d bytes), %d hits, %d misses, %d evictions",
+                trees.size(), size, maximumSize, hitCount, missCount, evictionCount);
+    }
+
+    /**
+     * Estimates the retained heap size of the specified tree.
+     *
+     * @param tree
+     *         the tree
+     *
+     * @return the estimated size in bytes
+     */
+    static long estimateSize(final Node tree) {
+        long estimatedSize = 0;
+        Deque<Node> nodes = new ArrayDeque<>();
+        nodes.push(tree);
+        while (!nodes.isEmpty()) {
+            var node = nodes.pop();
+            estimatedSize += BYTES_PER_NODE;
+            if (node instanceof FileNode) {
+                estimatedSize += BYTES_PER_LINE * ((FileNode) node).getCoveredCounters().length;
+            }
+            node.getChildren().forEach(nodes::push);
+        }
+        return estimatedSize;
+    }
+
+    private static class CachedTree {
+        private final Node tree;
+        private final FileTime lastModified;
+        private final long size;
+
+        CachedTree(final Node tree, final FileTime lastModified, final long size) {
+            this.tree = tree;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+    }
+}
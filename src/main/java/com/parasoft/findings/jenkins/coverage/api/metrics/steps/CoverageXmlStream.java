@@ -35,6 +35,7 @@ import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
@@ -55,6 +56,8 @@ import com.parasoft.findings.jenkins.coverage.model.Coverage;
 import com.parasoft.findings.jenkins.coverage.model.CyclomaticComplexity;
 import com.parasoft.findings.jenkins.coverage.model.FileNode;
 import com.parasoft.findings.jenkins.coverage.model.FractionValue;
+import com.parasoft.findings.jenkins.coverage.model.LineMap;
+import com.parasoft.findings.jenkins.coverage.model.LineSet;
 import com.parasoft.findings.jenkins.coverage.model.LinesOfCode;
 import com.parasoft.findings.jenkins.coverage.model.MethodNode;
 import com.parasoft.findings.jenkins.coverage.model.Metric;
@@ -98,8 +101,10 @@ class CoverageXmlStream extends AbstractXmlStream<Node> {
         xStream.alias("class", ClassNode.class);
         xStream.alias("method", MethodNode.class);
 
-        xStream.registerLocalConverter(FileNode.class, "coveredPerLine", new IntegerLineMapConverter());
-        xStream.registerLocalConverter(FileNode.class, "missedPerLine", new IntegerLineMapConverter());
+        xStream.registerLocalConverter(FileNode.class, "coveredPerLine", new LineMapConverter());
+        xStream.registerLocalConverter(FileNode.class, "missedPerLine", new LineMapConverter());
+        xStream.registerLocalConverter(FileNode.class, "indirectCoverageChanges", new LineMapConverter());
+        xStream.registerLocalConverter(FileNode.class, "modifiedLines", new LineSetConverter());
 
         xStream.registerLocalConverter(FileNode.class, "changedLines", new IntegerSetConverter());
         xStream.registerLocalConverter(FileNode.class, "coverageDelta", new MetricFractionMapConverter());
@@ -311,4 +316,112 @@ class CoverageXmlStream extends AbstractXmlStream<Node> {
             return type == TreeSet.class;
         }
     }
+
+    /**
+     * {@link Converter} for a {@link LineMap} of values per line. Stores the mapping in the condensed format
+     * {@code line1: value1, line2: value2, ...}. Mappings that have been stored with the default {@link TreeMap}
+     * converter of previous releases are read as well.
+     */
+    static final class LineMapConverter implements Converter {
+        private static final String ENTRY = "entry";
+
+        @SuppressWarnings("PMD.NullAssignment")
+        @Override
+        public void marshal(final Object source, final HierarchicalStreamWriter writer,
+                final MarshallingContext context) {
+            writer.setValue(source instanceof LineMap ? marshal((LineMap) source) : null);
+        }
+
+        String marshal(final LineMap lines) {
+            return IntStream.range(0, lines.size())
+                    .mapToObj(i -> String.format("%d: %d", lines.lineAt(i), lines.valueAt(i)))
+                    .collect(ARRAY_JOINER);
+        }
+
+        @Override
+        public LineMap unmarshal(final HierarchicalStreamReader reader, final UnmarshallingContext context) {
+            if (!reader.hasMoreChildren()) {
+                return unmarshal(reader.getValue());
+            }
+
+            LineMap lines = new LineMap();
+            while (reader.hasMoreChildren()) {
+                reader.moveDown();
+                if (ENTRY.equals(reader.getNodeName())) {
+                    int line = readInteger(reader);
+                    lines.put(line, readInteger(reader));
+                }
+                reader.moveUp();
+            }
+            lines.trimToSize();
+            return lines;
+        }
+
+        LineMap unmarshal(final String value) {
+            LineMap lines = new LineMap();
+            new IntegerLineMapConverter().unmarshal(value).forEach(lines::put);
+            lines.trimToSize();
+            return lines;
+        }
+
+        private int readInteger(final HierarchicalStreamReader reader) {
+            reader.moveDown();
+            int value = Integer.parseInt(StringUtils.trim(reader.getValue()));
+            reader.moveUp();
+            return value;
+        }
+
+        @Override
+        public boolean canConvert(final Class type) {
+            return type == LineMap.class;
+        }
+    }
+
+    /**
+     * {@link Converter} for a {@link LineSet} that serializes just the lines. Sets that have been stored with the
+     * default {@link TreeSet} converter of previous releases are read as well.
+     */
+    static final class LineSetConverter implements Converter {
+        @SuppressWarnings("PMD.NullAssignment")
+        @Override
+        public void marshal(final Object source, final HierarchicalStreamWriter writer,
+                final MarshallingContext context) {
+            writer.setValue(source instanceof LineSet ? marshal((LineSet) source) : null);
+        }
+
+        String marshal(final LineSet lines) {
+            return Arrays.stream(lines.getLines()).mapToObj(String::valueOf).collect(ARRAY_JOINER);
+        }
+
+        @Override
+        public LineSet unmarshal(final HierarchicalStreamReader reader, final UnmarshallingContext context) {
+            if (!reader.hasMoreChildren()) {
+                return unmarshal(reader.getValue());
+            }
+
+            LineSet lines = new LineSet();
+            while (reader.hasMoreChildren()) {
+                reader.moveDown();
+                String value = StringUtils.trim(reader.getValue());
+                if (StringUtils.isNumeric(value)) {
+                    lines.add(Integer.parseInt(value));
+                }
+                reader.moveUp();
+            }
+            lines.trimToSize();
+            return lines;
+        }
+
+        LineSet unmarshal(final String value) {
+            LineSet lines = new LineSet();
+            new IntegerSetConverter().unmarshal(value).forEach(lines::add);
+            lines.trimToSize();
+            return lines;
+        }
+
+        @Override
+        public boolean canConvert(final Class type) {
+            return type == LineSet.class;
+        }
+    }
 }
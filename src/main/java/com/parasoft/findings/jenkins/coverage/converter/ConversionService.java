@@ -26,12 +26,51 @@ import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.Source;
 import javax.xml.transform.stream.StreamSource;
 import java.io.*;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 // Adapted from: https://github.com/jenkinsci/libdtkit/blob/dtkit-frmk-3.0.0/dtkit-metrics-util/src/main/java/org/jenkinsci/lib/dtkit/util/converter/ConversionService.java
 public class ConversionService implements Serializable {
     private static final long serialVersionUID = 9023541911137031601L;
 
+    /**
+     * Stylesheets compiled by {@link #PROCESSOR}, keyed by the SHA-256 hash of their content. Compiled stylesheets are
+     * immutable and thread-safe, so they are shared by all conversions running in this JVM.
+     */
+    private static final Map<String, XsltExecutable> COMPILED_STYLESHEETS = new ConcurrentHashMap<>();
+    private static final Processor PROCESSOR = createProcessor();
+    // Number of characters that are buffered between the conversion and the reader of the result
+    private static final int PIPE_SIZE = 64 * 1024;
+    // Number of characters the conversion collects before they are written into the pipe in one go
+    private static final int OUTPUT_BUFFER_SIZE = 8 * 1024;
+    private static final int SKIP_BUFFER_SIZE = 8 * 1024;
+    private static final String CONVERSION_THREAD_NAME_FORMAT = "Parasoft coverage conversion #%d"; // $NON-NLS-1$
+    private static final AtomicInteger CONVERSION_THREAD_NUMBER = new AtomicInteger();
+
+    /**
+     * Reads the result of a conversion while it is produced, see
+     * {@link #convert(String, File, Map, ResultReader)}.
+     *
+     * @param <T> the type of the value that is read from the result
+     */
+    @FunctionalInterface
+    public interface ResultReader<T> {
+        /**
+         * Reads the result of the conversion.
+         *
+         * @param result the result of the conversion
+         * @return the value that has been read from the result
+         * @throws IOException if the result could not be read
+         */
+        T read(Reader result) throws IOException;
+    }
+
     /**
      * Skip DTD Entity resolution.
      */
@@ -80,32 +119,140 @@ public class ConversionService implements Serializable {
         }
     }
 
+    /**
+     * Launches an XSLT conversion and passes the result to the specified reader while the result is produced. The
+     * conversion runs on its own thread and writes into a pipe that is read by the reader, so the result is neither
+     * written to the disk nor kept in memory as a whole. The result is not indented.
+     * The stylesheet is compiled only once per JVM and reused for all subsequent conversions with the same content.
+     *
+     * @param xslContent   the content of the xsl
+     * @param inputFile    the input file
+     * @param params       the parameter map
+     * @param resultReader the reader of the result
+     * @param <T>          the type of the value that is read from the result
+     * @return the value that has been read from the result
+     * @throws ConversionException the convert exception
+     */
+    public <T> T convert(String xslContent, File inputFile, Map<QName, XdmValue> params, ResultReader<T> resultReader)
+            throws ConversionException {
+        ResultPipe pipe = new ResultPipe(PIPE_SIZE);
+        try (InputStream input = new FileInputStream(inputFile); Reader result = pipe.getReader()) {
+            XsltExecutable stylesheet = getCompiledStylesheet(xslContent);
+            Writer output = new BufferedWriter(pipe.getWriter(), OUTPUT_BUFFER_SIZE);
+            AtomicReference<Exception> conversionFailure = new AtomicReference<>();
+            startConversionThread(() -> {
+                try {
+                    transform(stylesheet, new InputSource(input), PROCESSOR.newSerializer(output), params);
+                } catch (Exception e) { // parasoft-suppress OWASP2021.A5.NCE "The failure is reported by the thread that reads the result."
+                    conversionFailure.set(e);
+                } finally {
+                    // Marks the end of the result, a failure has been recorded before so the reader will see it
+                    closeQuietly(output);
+                }
+            });
+
+            T value;
+            try {
+                value = resultReader.read(result);
+                skipRemainingResult(result);
+            } catch (IOException | RuntimeException e) { // parasoft-suppress OWASP2021.A5.NCE "A failed conversion truncates the result, so the failure of the conversion is reported instead."
+                Exception failure = conversionFailure.get();
+                throw failure == null ? e : failure;
+            }
+            // The conversion has closed the pipe at this point, so it has either completed or failed
+            Exception failure = conversionFailure.get();
+            if (failure != null) {
+                throw failure;
+            }
+            return value;
+        } catch (Exception e) { // parasoft-suppress OWASP2021.A5.NCE "This is intentionally designed to wrap exceptions with customized exception: ConversionException."
+            throw asConversionException(e);
+        }
+    }
+
+    private static void startConversionThread(Runnable conversion) {
+        Thread thread = new Thread(conversion, String.format(CONVERSION_THREAD_NAME_FORMAT,
+                CONVERSION_THREAD_NUMBER.incrementAndGet()));
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Reads the result up to its end, otherwise the conversion would wait for a reader forever
+    private static void skipRemainingResult(Reader result) throws IOException {
+        char[] buffer = new char[SKIP_BUFFER_SIZE];
+        int count;
+        do {
+            count = result.read(buffer);
+        } while (count >= 0);
+    }
+
+    private static void closeQuietly(Writer output) {
+        try {
+            output.close();
+        } catch (IOException ignore) {
+            // nothing to do, the reader sees the end of the result anyway
+        }
+    }
+
     private void convert(StreamSource xslSource, InputSource inputFile, OutputStream output,
                          Map<QName, XdmValue> params) throws SaxonApiException {
-        // create the conversion processor with a XSLT compiler
-        Processor processor = new Processor(false);
-        processor.setConfigurationProperty(Feature.ENTITY_RESOLVER_CLASS, CoverageEntityResolver.class.getName());
-        processor.setConfigurationProperty(Feature.DTD_VALIDATION, false);
-        processor.setConfigurationProperty(Feature.DTD_VALIDATION_RECOVERABLE, true);
-        // remove DTD validation warning messages on system error
-        processor.getUnderlyingConfiguration().setValidation(false);
-        XsltCompiler compiler = processor.newXsltCompiler();
-
         // compile and load the XSL file
-        XsltExecutable stylesheet = compiler.compile(xslSource);
-        Xslt30Transformer transformer = stylesheet.load30();
-        transformer.setStylesheetParameters(params);
+        convert(PROCESSOR.newXsltCompiler().compile(xslSource), inputFile, output, params);
+    }
 
+    private void convert(XsltExecutable stylesheet, InputSource inputFile, OutputStream output,
+                         Map<QName, XdmValue> params) throws SaxonApiException {
         // create the output with its options
-        Serializer out = processor.newSerializer(output);
+        Serializer out = PROCESSOR.newSerializer(output);
         out.setOutputProperty(Serializer.Property.INDENT, "yes");
 
+        transform(stylesheet, inputFile, out, params);
+    }
+
+    private void transform(XsltExecutable stylesheet, InputSource inputFile, Serializer out,
+                           Map<QName, XdmValue> params) throws SaxonApiException {
+        Xslt30Transformer transformer = stylesheet.load30();
+        transformer.setStylesheetParameters(params);
+
         // unwrap input stream to maintain APIs back compatible
         Source source = new StreamSource(inputFile.getByteStream());
         // run the conversion
         transformer.transform(source, out);
     }
 
+    static XsltExecutable getCompiledStylesheet(String xslContent) throws SaxonApiException {
+        String key = hash(xslContent);
+        XsltExecutable stylesheet = COMPILED_STYLESHEETS.get(key);
+        if (stylesheet == null) {
+            stylesheet = PROCESSOR.newXsltCompiler().compile(new StreamSource(new StringReader(xslContent)));
+            XsltExecutable existing = COMPILED_STYLESHEETS.putIfAbsent(key, stylesheet);
+            if (existing != null) {
+                return existing; // compiled concurrently by another conversion
+            }
+        }
+        return stylesheet;
+    }
+
+    private static String hash(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8)); // $NON-NLS-1$
+            return String.format("%064x", new BigInteger(1, digest)); // $NON-NLS-1$
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // every Java platform is required to support SHA-256
+        }
+    }
+
+    private static Processor createProcessor() {
+        // create the conversion processor which is shared by all XSLT compilers
+        Processor processor = new Processor(false);
+        processor.setConfigurationProperty(Feature.ENTITY_RESOLVER_CLASS, CoverageEntityResolver.class.getName());
+        processor.setConfigurationProperty(Feature.DTD_VALIDATION, false);
+        processor.setConfigurationProperty(Feature.DTD_VALIDATION_RECOVERABLE, true);
+        // remove DTD validation warning messages on system error
+        processor.getUnderlyingConfiguration().setValidation(false);
+        return processor;
+    }
+
     private ConversionException asConversionException(Exception e) {
         if (e instanceof FileNotFoundException) {
             return new ConversionException(e);
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2023 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.coverage.converter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * A bounded character buffer between the thread that writes the result of a conversion and the thread that reads it.
+ * In contrast to {@link java.io.PipedWriter}, which hands over every character on its own, arrays of characters are
+ * copied in bulk, and the threads wait for each other without polling.
+ *
+ * <p>
+ * Closing the writer marks the end of the result. Closing the reader makes all subsequent writes fail, so the
+ * conversion stops if the result is not read anymore.
+ * </p>
+ */
+final class ResultPipe {
+    private final char[] buffer;
+    private int start;
+    private int count;
+    private boolean isWriterClosed;
+    private boolean isReaderClosed;
+
+    private final Reader reader = new Reader() {
+        @Override
+        public int read(final char[] chars, final int offset, final int length) throws IOException {
+            return ResultPipe.this.read(chars, offset, length);
+        }
+
+        @Override
+        public void close() {
+            closeReader();
+        }
+    };
+
+    private final Writer writer = new Writer() {
+        @Override
+        public void write(final char[] chars, final int offset, final int length) throws IOException {
+            ResultPipe.this.write(chars, offset, length);
+        }
+
+        @Override
+        public void flush() {
+            // the characters are visible to the reader as soon as they have been written
+        }
+
+        @Override
+        public void close() {
+            closeWriter();
+        }
+    };
+
+    /**
+     * Creates a new pipe.
+     *
+     * @param size the number of characters that are buffered
+     */
+    ResultPipe(final int size) {
+        buffer = new char[size];
+    }
+
+    Reader getReader() {
+        return reader;
+    }
+
+    Writer getWriter() {
+        return writer;
+    }
+
+    private synchronized int read(final char[] chars, final int offset, final int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        while (count == 0) {
+            if (isWriterClosed) {
+                return -1;
+            }
+            await();
+        }
+        int copied = 0;
+        while (copied < length && count > 0) {
+            int chunk = Math.min(Math.min(length - copied, count), buffer.length - start);
+            System.arraycopy(buffer, start, chars, offset + copied, chunk);
+            start = (start + chunk) % buffer.length;
+            count -= chunk;
+            copied += chunk;
+        }
+        notifyAll();
+        return copied;
+    }
+
+    private synchronized void write(final char[] chars, final int offset, final int length) throws IOException {
+        int written = 0;
+        while (written < length) {
+            while (count == buffer.length && !isReaderClosed) {
+                await();
+            }
+            if (isReaderClosed) {
+                throw new IOException("The result of the conversion is not read anymore");
+            }
+            int end = (start + count) % buffer.length;
+            int chunk = Math.min(Math.min(length - written, buffer.length - count), buffer.length - end);
+            System.arraycopy(chars, offset + written, buffer, end, chunk);
+            count += chunk;
+            written += chunk;
+            notifyAll();
+        }
+    }
+
+    private synchronized void closeReader() {
+        isReaderClosed = true;
+        notifyAll();
+    }
+
+    private synchronized void closeWriter() {
+        isWriterClosed = true;
+        notifyAll();
+    }
+
+    private void await() throws InterruptedIOException {
+        try {
+            wait();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the other side of the pipe");
+        }
+    }
+}
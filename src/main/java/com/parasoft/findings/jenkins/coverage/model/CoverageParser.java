@@ -29,12 +29,14 @@ import java.io.Serializable;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.events.Attribute;
 import javax.xml.stream.events.StartElement;
 
 import edu.hm.hafner.util.FilteredLog;
 import edu.hm.hafner.util.SecureXmlParserFactory.ParsingException;
 import edu.hm.hafner.util.TreeStringBuilder;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 
 /**
  * Parses a file and returns the code coverage information in a tree of {@link Node} instances.
@@ -60,6 +62,7 @@ public abstract class CoverageParser implements Serializable {
     public ModuleNode parse(final Reader reader, final FilteredLog log) {
         var moduleNode = parseReport(reader, log);
         getTreeStringBuilder().dedup();
+        moduleNode.getAllFileNodes().forEach(FileNode::trimToSize);
         return moduleNode;
     }
 
@@ -117,13 +120,78 @@ public abstract class CoverageParser implements Serializable {
                         "Could not obtain attribute '%s' from element '%s'", attribute, element)));
     }
 
-    protected static int parseInteger(final String value) {
-        try {
-            return Integer.parseInt(value);
+    /**
+     * Returns the value of the specified attribute of the current start element of the reader.
+     *
+     * @param reader
+     *         the reader that is positioned at a start element
+     * @param attribute
+     *         the local name of the attribute
+     *
+     * @return the value of the attribute or {@code null} if the element has no such attribute
+     */
+    @CheckForNull
+    protected static String getOptionalValueOf(final XMLStreamReader reader, final String attribute) {
+        return reader.getAttributeValue(null, attribute);
+    }
+
+    protected static int getIntegerValueOf(final XMLStreamReader reader, final String attribute) {
+        return parseInteger(getValueOf(reader, attribute));
+    }
+
+    protected static String getValueOf(final XMLStreamReader reader, final String attribute) {
+        var value = getOptionalValueOf(reader, attribute);
+        if (value == null) {
+            throw new NoSuchElementException(String.format(
+                    "Could not obtain attribute '%s' from element '%s'", attribute, reader.getLocalName()));
         }
-        catch (NumberFormatException ignore) {
+        return value;
+    }
+
+    protected static int parseInteger(@CheckForNull final String value) {
+        if (value == null) {
+            return 0;
+        }
+        return parseInteger(value, 0, value.length());
+    }
+
+    /**
+     * Parses the decimal integer in the specified range of the characters. In contrast to
+     * {@link Integer#parseInt(String)} no intermediate string is required and no exception is thrown for invalid
+     * values.
+     *
+     * @param value
+     *         the characters to parse
+     * @param start
+     *         the index of the first character of the integer
+     * @param end
+     *         the index after the last character of the integer
+     *
+     * @return the parsed integer, or 0 if the characters do not represent a valid integer
+     */
+    protected static int parseInteger(final CharSequence value, final int start, final int end) {
+        int position = start;
+        boolean isNegative = false;
+        if (position < end && (value.charAt(position) == '-' || value.charAt(position) == '+')) {
+            isNegative = value.charAt(position) == '-';
+            position++;
+        }
+        if (position == end) {
             return 0;
         }
+        long result = 0;
+        for (; position < end; position++) {
+            char c = value.charAt(position);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+            result = result * 10 + (c - '0');
+            if (result > (long) Integer.MAX_VALUE + 1) {
+                return 0;
+            }
+        }
+        result = isNegative ? -result : result;
+        return result > Integer.MAX_VALUE ? 0 : (int) result;
     }
 
     protected static ParsingException createEofException() {
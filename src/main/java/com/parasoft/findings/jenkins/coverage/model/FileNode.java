@@ -27,7 +27,6 @@ package com.parasoft.findings.jenkins.coverage.model;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.NavigableMap;
 import java.util.NavigableSet;
 import java.util.Objects;
@@ -37,6 +36,7 @@ import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.function.IntPredicate;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -56,13 +56,13 @@ import edu.hm.hafner.util.TreeString;
 public final class FileNode extends Node {
     private static final long serialVersionUID = -3795695377267542624L; // Set to 1 when release 1.0.0 is ready
 
-    private final NavigableMap<Integer, Integer> coveredPerLine = new TreeMap<>();
-    private final NavigableMap<Integer, Integer> missedPerLine = new TreeMap<>();
+    private final LineMap coveredPerLine = new LineMap();
+    private final LineMap missedPerLine = new LineMap();
 
     private final List<Mutation> mutations = new ArrayList<>();
 
-    private final SortedSet<Integer> modifiedLines = new TreeSet<>();
-    private final NavigableMap<Integer, Integer> indirectCoverageChanges = new TreeMap<>();
+    private final LineSet modifiedLines = new LineSet();
+    private final LineMap indirectCoverageChanges = new LineMap();
     private final NavigableMap<Metric, Fraction> coverageDelta = new TreeMap<>();
 
     private TreeString relativePath; // @since 0.22.0
@@ -139,8 +139,13 @@ public final class FileNode extends Node {
         return getRelativePath().hashCode() == searchNameHashCode;
     }
 
+    /**
+     * Returns the lines that have been modified in the active change set.
+     *
+     * @return a copy of the modified lines
+     */
     public SortedSet<Integer> getModifiedLines() {
-        return modifiedLines;
+        return modifiedLines.toSet();
     }
 
     /**
@@ -198,8 +203,8 @@ public final class FileNode extends Node {
         var branchCoverage = Coverage.nullObject(Metric.BRANCH);
         var branchBuilder = new CoverageBuilder().setMetric(Metric.BRANCH);
         for (int line : getCoveredAndModifiedLines()) {
-            var covered = coveredPerLine.getOrDefault(line, 0);
-            var missed = missedPerLine.getOrDefault(line, 0);
+            var covered = coveredPerLine.get(line, 0);
+            var missed = missedPerLine.get(line, 0);
             var total = covered + missed;
             copy.addCounters(line, covered, missed);
             if (total == 0) {
@@ -256,11 +261,12 @@ public final class FileNode extends Node {
         var copy = new FileNode(getName(), relativePath);
         Coverage lineCoverage = Coverage.nullObject(Metric.LINE);
         Coverage branchCoverage = Coverage.nullObject(Metric.BRANCH);
-        for (Map.Entry<Integer, Integer> change : getIndirectCoverageChanges().entrySet()) {
-            int delta = change.getValue();
-            Coverage currentCoverage = getBranchCoverage(change.getKey());
+        for (int i = 0; i < indirectCoverageChanges.size(); i++) {
+            int line = indirectCoverageChanges.lineAt(i);
+            int delta = indirectCoverageChanges.valueAt(i);
+            Coverage currentCoverage = getBranchCoverage(line);
             if (!currentCoverage.isSet()) {
-                currentCoverage = getLineCoverage(change.getKey());
+                currentCoverage = getLineCoverage(line);
             }
             var builder = new CoverageBuilder();
             if (delta > 0) {
@@ -306,12 +312,23 @@ public final class FileNode extends Node {
     }
 
     public SortedMap<Integer, Integer> getIndirectCoverageChanges() {
-        return new TreeMap<>(indirectCoverageChanges);
+        return indirectCoverageChanges.toMap();
     }
 
     // TODO: the API does not work yet for mutations
     public NavigableSet<Integer> getLinesWithCoverage() {
-        return new TreeSet<>(coveredPerLine.keySet());
+        return collectLinesWithCoverage(line -> true);
+    }
+
+    private NavigableSet<Integer> collectLinesWithCoverage(final IntPredicate filter) {
+        NavigableSet<Integer> lines = new TreeSet<>();
+        for (int i = 0; i < coveredPerLine.size(); i++) {
+            int line = coveredPerLine.lineAt(i);
+            if (filter.test(line)) {
+                lines.add(line);
+            }
+        }
+        return lines;
     }
 
     /**
@@ -323,7 +340,7 @@ public final class FileNode extends Node {
      * @return {@code true} if this file has a coverage result for the specified line, {@code false} otherwise
      */
     public boolean hasCoverageForLine(final int line) {
-        return coveredPerLine.containsKey(line);
+        return coveredPerLine.containsLine(line);
     }
 
     private Coverage getLineCoverage(final int line) {
@@ -407,15 +424,25 @@ public final class FileNode extends Node {
         return coverageDelta.containsKey(metric);
     }
 
+    /**
+     * Sets the delta for the specified metric. Used to restore a previously computed delta.
+     *
+     * @param metric
+     *         the metric of the delta
+     * @param delta
+     *         the delta for the specified metric
+     */
+    public void setDelta(final Metric metric, final Fraction delta) {
+        coverageDelta.put(metric, delta);
+    }
+
     /**
      * Returns the lines with code coverage that also have been modified.
      *
      * @return the lines with code coverage that also have been modified
      */
     public SortedSet<Integer> getCoveredAndModifiedLines() {
-        SortedSet<Integer> coveredDelta = getLinesWithCoverage();
-        coveredDelta.retainAll(getModifiedLines());
-        return coveredDelta;
+        return collectLinesWithCoverage(modifiedLines::contains);
     }
 
     /**
@@ -425,7 +452,12 @@ public final class FileNode extends Node {
      *         otherwise.
      */
     public boolean hasCoveredAndModifiedLines() {
-        return !getCoveredAndModifiedLines().isEmpty();
+        for (int i = 0; i < coveredPerLine.size(); i++) {
+            if (modifiedLines.contains(coveredPerLine.lineAt(i))) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -444,11 +476,11 @@ public final class FileNode extends Node {
     }
 
     public int[] getCoveredCounters() {
-        return entriesToArray(coveredPerLine);
+        return coveredPerLine.getValues();
     }
 
     public int[] getMissedCounters() {
-        return entriesToArray(missedPerLine);
+        return missedPerLine.getValues();
     }
 
     /**
@@ -460,7 +492,7 @@ public final class FileNode extends Node {
      * @return the number of covered items for the specified line
      */
     public int getCoveredOfLine(final int line) {
-        return coveredPerLine.getOrDefault(line, 0);
+        return coveredPerLine.get(line, 0);
     }
 
     /**
@@ -472,11 +504,7 @@ public final class FileNode extends Node {
      * @return the number of missed items for the specified line
      */
     public int getMissedOfLine(final int line) {
-        return missedPerLine.getOrDefault(line, 0);
-    }
-
-    private int[] entriesToArray(final NavigableMap<Integer, Integer> map) {
-        return map.values().stream().mapToInt(i -> i).toArray();
+        return missedPerLine.get(line, 0);
     }
 
     /**
@@ -486,9 +514,7 @@ public final class FileNode extends Node {
      * @return the lines that have no line coverage
      */
     public NavigableSet<Integer> getMissedLines() {
-        return getLinesWithCoverage().stream()
-                .filter(line -> getCoveredOfLine(line) == 0 && getMissedOfLine(line) == 1)
-                .collect(Collectors.toCollection(TreeSet::new));
+        return collectLinesWithCoverage(line -> getCoveredOfLine(line) == 0 && getMissedOfLine(line) == 1);
     }
 
     /**
@@ -524,14 +550,29 @@ public final class FileNode extends Node {
      * @return the mapping of not fully covered lines to the number of missed branches
      */
     public NavigableMap<Integer, Integer> getPartiallyCoveredLines() {
-        return getLinesWithCoverage().stream()
-                .filter(line -> getCoveredOfLine(line) + getMissedOfLine(line) > 1)
-                .filter(line -> getMissedOfLine(line) > 0)
-                .collect(Collectors.toMap(line -> line, missedPerLine::get, (a, b) -> a, TreeMap::new));
+        NavigableMap<Integer, Integer> partiallyCoveredLines = new TreeMap<>();
+        for (int i = 0; i < coveredPerLine.size(); i++) {
+            int covered = coveredPerLine.valueAt(i);
+            int missed = missedPerLine.get(coveredPerLine.lineAt(i), 0);
+            if (covered + missed > 1 && missed > 0) {
+                partiallyCoveredLines.put(coveredPerLine.lineAt(i), missed);
+            }
+        }
+        return partiallyCoveredLines;
     }
 
     public NavigableMap<Integer, Integer> getCounters() {
-        return Collections.unmodifiableNavigableMap(coveredPerLine);
+        return Collections.unmodifiableNavigableMap(coveredPerLine.toMap());
+    }
+
+    /**
+     * Releases the unused capacity of the line based counters. Called after a file has been completely read.
+     */
+    public void trimToSize() {
+        coveredPerLine.trimToSize();
+        missedPerLine.trimToSize();
+        modifiedLines.trimToSize();
+        indirectCoverageChanges.trimToSize();
     }
 
     /**
@@ -594,6 +635,7 @@ public final class FileNode extends Node {
      */
     public void setRelativePath(final TreeString relativePath) {
         this.relativePath = relativePath;
+        clearFileIndexes(); // the file indexes use the relative path
     }
 
     @Override
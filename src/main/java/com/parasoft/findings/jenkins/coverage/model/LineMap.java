@@ -0,0 +1,219 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.coverage.model;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * A compact mapping of line numbers to integer values (e.g., the number of covered items of a line). The line numbers
+ * and values are stored in two sorted primitive arrays, so no boxed entries are created for the lines of a file.
+ * Lines are typically added in ascending order, which is an append operation.
+ */
+public final class LineMap implements Serializable {
+    private static final long serialVersionUID = 6315298354632829476L;
+
+    private static final int[] EMPTY = new int[0];
+    private static final int MINIMUM_CAPACITY = 8;
+
+    private int[] lines = EMPTY;
+    private int[] values = EMPTY;
+    private int size;
+
+    /**
+     * Sets the value of the specified line. An existing value of the line will be replaced.
+     *
+     * @param line
+     *         the line number
+     * @param value
+     *         the value of the line
+     */
+    public void put(final int line, final int value) {
+        if (size == 0 || line > lines[size - 1]) {
+            insert(size, line, value);
+        }
+        else {
+            int index = Arrays.binarySearch(lines, 0, size, line);
+            if (index >= 0) {
+                values[index] = value;
+            }
+            else {
+                insert(-index - 1, line, value);
+            }
+        }
+    }
+
+    /**
+     * Sets the values of all lines of the specified map.
+     *
+     * @param other
+     *         the lines to add
+     */
+    public void putAll(final LineMap other) {
+        for (int i = 0; i < other.size; i++) {
+            put(other.lines[i], other.values[i]);
+        }
+    }
+
+    private void insert(final int index, final int line, final int value) {
+        if (size == lines.length) {
+            int capacity = Math.max(MINIMUM_CAPACITY, size + (size >> 1));
+            lines = Arrays.copyOf(lines, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        if (index < size) {
+            System.arraycopy(lines, index, lines, index + 1, size - index);
+            System.arraycopy(values, index, values, index + 1, size - index);
+        }
+        lines[index] = line;
+        values[index] = value;
+        size++;
+    }
+
+    /**
+     * Returns whether a value has been set for the specified line.
+     *
+     * @param line
+     *         the line to check
+     *
+     * @return {@code true} if the line has a value, {@code false} otherwise
+     */
+    public boolean containsLine(final int line) {
+        return indexOf(line) >= 0;
+    }
+
+    /**
+     * Returns the value of the specified line.
+     *
+     * @param line
+     *         the line to get the value for
+     * @param defaultValue
+     *         the value to return if the line has no value
+     *
+     * @return the value of the line, or the default value if the line has no value
+     */
+    public int get(final int line, final int defaultValue) {
+        int index = indexOf(line);
+        return index >= 0 ? values[index] : defaultValue;
+    }
+
+    private int indexOf(final int line) {
+        return Arrays.binarySearch(lines, 0, size, line);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the line at the specified position. The lines are sorted in ascending order.
+     *
+     * @param index
+     *         the position, must be less than {@link #size()}
+     *
+     * @return the line at the position
+     */
+    public int lineAt(final int index) {
+        return lines[index];
+    }
+
+    /**
+     * Returns the value of the line at the specified position.
+     *
+     * @param index
+     *         the position, must be less than {@link #size()}
+     *
+     * @return the value of the line at the position
+     */
+    public int valueAt(final int index) {
+        return values[index];
+    }
+
+    public int[] getLines() {
+        return Arrays.copyOf(lines, size);
+    }
+
+    public int[] getValues() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Returns a copy of the lines and values as a map.
+     *
+     * @return the mapping of lines to values
+     */
+    public NavigableMap<Integer, Integer> toMap() {
+        NavigableMap<Integer, Integer> map = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(lines[i], values[i]);
+        }
+        return map;
+    }
+
+    /**
+     * Releases the unused capacity of the internal arrays.
+     */
+    public void trimToSize() {
+        if (lines.length > size) {
+            lines = size == 0 ? EMPTY : Arrays.copyOf(lines, size);
+            values = size == 0 ? EMPTY : Arrays.copyOf(values, size);
+        }
+    }
+
+    private void writeObject(final ObjectOutputStream output) throws IOException {
+        trimToSize();
+
+        output.defaultWriteObject();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LineMap lineMap = (LineMap) o;
+        return size == lineMap.size
+                && Arrays.equals(lines, 0, size, lineMap.lines, 0, size)
+                && Arrays.equals(values, 0, size, lineMap.values, 0, size);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = size;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + lines[i];
+            result = 31 * result + values[i];
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.coverage.model;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * A compact set of line numbers. The lines are stored in a sorted primitive array, so no boxed elements are created
+ * for the lines of a file.
+ */
+public final class LineSet implements Serializable {
+    private static final long serialVersionUID = -1486592835711538204L;
+
+    private static final int[] EMPTY = new int[0];
+    private static final int MINIMUM_CAPACITY = 8;
+
+    private int[] lines = EMPTY;
+    private int size;
+
+    /**
+     * Adds the specified line to this set. Nothing happens if the line is already part of this set.
+     *
+     * @param line
+     *         the line to add
+     */
+    public void add(final int line) {
+        if (size == 0 || line > lines[size - 1]) {
+            insert(size, line);
+        }
+        else {
+            int index = Arrays.binarySearch(lines, 0, size, line);
+            if (index < 0) {
+                insert(-index - 1, line);
+            }
+        }
+    }
+
+    /**
+     * Adds all lines of the specified set to this set.
+     *
+     * @param other
+     *         the lines to add
+     */
+    public void addAll(final LineSet other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.lines[i]);
+        }
+    }
+
+    private void insert(final int index, final int line) {
+        if (size == lines.length) {
+            lines = Arrays.copyOf(lines, Math.max(MINIMUM_CAPACITY, size + (size >> 1)));
+        }
+        if (index < size) {
+            System.arraycopy(lines, index, lines, index + 1, size - index);
+        }
+        lines[index] = line;
+        size++;
+    }
+
+    /**
+     * Returns whether the specified line is part of this set.
+     *
+     * @param line
+     *         the line to check
+     *
+     * @return {@code true} if the line is part of this set, {@code false} otherwise
+     */
+    public boolean contains(final int line) {
+        return Arrays.binarySearch(lines, 0, size, line) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int[] getLines() {
+        return Arrays.copyOf(lines, size);
+    }
+
+    /**
+     * Returns a copy of the lines as a sorted set.
+     *
+     * @return the lines of this set
+     */
+    public NavigableSet<Integer> toSet() {
+        NavigableSet<Integer> set = new TreeSet<>();
+        for (int i = 0; i < size; i++) {
+            set.add(lines[i]);
+        }
+        return set;
+    }
+
+    /**
+     * Releases the unused capacity of the internal array.
+     */
+    public void trimToSize() {
+        if (lines.length > size) {
+            lines = size == 0 ? EMPTY : Arrays.copyOf(lines, size);
+        }
+    }
+
+    private void writeObject(final ObjectOutputStream output) throws IOException {
+        trimToSize();
+
+        output.defaultWriteObject();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LineSet lineSet = (LineSet) o;
+        return size == lineSet.size && Arrays.equals(lines, 0, size, lineSet.lines, 0, size);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = size;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + lines[i];
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return toSet().toString();
+    }
+}
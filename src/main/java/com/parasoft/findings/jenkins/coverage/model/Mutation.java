@@ -33,6 +33,7 @@ import com.google.errorprone.annotations.CanIgnoreReturnValue;
 
 import com.parasoft.findings.jenkins.coverage.model.Coverage.CoverageBuilder;
 import edu.hm.hafner.util.TreeStringBuilder;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 
 /**
  * Class which represents a mutation of the PIT Mutation Testing tool.
@@ -64,7 +65,7 @@ public final class Mutation implements Serializable {
 
         // Intern all these values as the content is repeated very often across all mutations
         this.mutator = mutator.intern();
-        this.killingTest = killingTest.intern();
+        this.killingTest = killingTest == null ? null : killingTest.intern(); // not set in results of old releases
         this.mutatedClass = mutatedClass.intern();
         this.method = method.intern();
         this.signature = signature.intern();
@@ -115,6 +116,7 @@ public final class Mutation implements Serializable {
         return mutator;
     }
 
+    @CheckForNull
     public String getKillingTest() {
         return killingTest;
     }
@@ -25,9 +25,14 @@
 package com.parasoft.findings.jenkins.coverage.model;
 
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NavigableMap;
 import java.util.NavigableSet;
@@ -37,6 +42,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -70,6 +76,30 @@ public abstract class Node implements Serializable {
     @CheckForNull
     private Node parent;
 
+    /*
+     * The following caches are computed on demand, also by concurrent readers of a tree that is shared between threads
+     * (see CoverageTreeCache). Hence, they are volatile and a cache is published only after it has been filled, the
+     * computed values are immutable. Changing a tree is not thread-safe, a shared tree must not be changed anymore.
+     */
+
+    /**
+     * Aggregated values of the subtree spanned by this node, indexed by the ordinal of the metric. These values are
+     * computed on demand and discarded whenever this subtree is changed.
+     */
+    @CheckForNull
+    private transient volatile AtomicReferenceArray<Optional<Value>> aggregatedValues;
+    /** The metrics of the subtree spanned by this node, computed on demand like {@link #aggregatedValues}. */
+    @CheckForNull
+    private transient volatile NavigableSet<Metric> aggregatedMetrics;
+    /**
+     * The file nodes of the subtree spanned by this node, indexed by their names and relative paths (and the hash codes
+     * of these). Each key is mapped to the first matching file in depth-first order, like {@link #find} does.
+     */
+    @CheckForNull
+    private transient volatile Map<String, FileNode> filesByName;
+    @CheckForNull
+    private transient volatile Map<Integer, FileNode> filesByHashCode;
+
     /**
      * Creates a new node with the given name.
      *
@@ -117,6 +147,15 @@ public abstract class Node implements Serializable {
      * @return the elements in this tree
      */
     public NavigableSet<Metric> getMetrics() {
+        NavigableSet<Metric> metrics = aggregatedMetrics;
+        if (metrics == null) {
+            metrics = Collections.unmodifiableNavigableSet(computeMetrics());
+            aggregatedMetrics = metrics;
+        }
+        return new TreeSet<>(metrics);
+    }
+
+    private NavigableSet<Metric> computeMetrics() {
         NavigableSet<Metric> elements = children.stream()
                 .map(Node::getMetrics)
                 .flatMap(Collection::stream)
@@ -183,6 +222,8 @@ public abstract class Node implements Serializable {
     public void addChild(final Node child) {
         children.add(child);
         child.setParent(this);
+        clearAggregatedValues();
+        updateFileIndexes(child);
     }
 
     @SuppressWarnings("PMD.NullAssignment") // remove link to parent
@@ -191,6 +232,10 @@ public abstract class Node implements Serializable {
 
         children.remove(child);
         child.parent = null;
+        clearAggregatedValues();
+        if (hasFileIndexes() && !getFileNodesInTreeOrder(List.of(child)).isEmpty()) {
+            clearFileIndexes();
+        }
     }
 
     /**
@@ -241,6 +286,68 @@ public abstract class Node implements Serializable {
         this.parent = Objects.requireNonNull(parent);
     }
 
+    /**
+     * Discards the aggregated values of this node and all of its parents, since all of these values depend on the
+     * subtree of this node.
+     */
+    @SuppressWarnings("PMD.NullAssignment") // values will be recomputed on demand
+    private void clearAggregatedValues() {
+        for (Node node = this; node != null; node = node.parent) {
+            node.aggregatedValues = null;
+            node.aggregatedMetrics = null;
+        }
+    }
+
+    /**
+     * Discards the file indexes of this node and all of its parents.
+     */
+    @SuppressWarnings("PMD.NullAssignment") // indexes will be recomputed on demand
+    void clearFileIndexes() {
+        for (Node node = this; node != null; node = node.parent) {
+            node.filesByName = null;
+            node.filesByHashCode = null;
+        }
+    }
+
+    private boolean hasFileIndexes() {
+        for (Node node = this; node != null; node = node.parent) {
+            if (node.filesByName != null || node.filesByHashCode != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the files of the specified new child to the file indexes of this node. Since the child has been appended to
+     * the children, its files are the last ones in depth-first order of this subtree, so the existing entries remain
+     * valid. The indexes of the parents are discarded.
+     *
+     * @param child
+     *         the child that has been added
+     */
+    private void updateFileIndexes(final Node child) {
+        if (!hasFileIndexes()) {
+            return; // nothing to update
+        }
+        List<FileNode> addedFiles = getFileNodesInTreeOrder(List.of(child));
+        if (addedFiles.isEmpty()) {
+            return;
+        }
+
+        Map<String, FileNode> indexByName = filesByName;
+        Map<Integer, FileNode> indexByHashCode = filesByHashCode;
+        clearFileIndexes();
+        if (indexByName != null) {
+            addedFiles.forEach(file -> addToNameIndex(indexByName, file));
+            filesByName = indexByName;
+        }
+        if (indexByHashCode != null) {
+            addedFiles.forEach(file -> addToHashCodeIndex(indexByHashCode, file));
+            filesByHashCode = indexByHashCode;
+        }
+    }
+
     public List<Value> getValues() {
         return List.copyOf(values);
     }
@@ -272,6 +379,7 @@ public abstract class Node implements Serializable {
                 .findAny()
                 .ifPresent(values::remove);
         values.add(value);
+        clearAggregatedValues();
     }
 
     protected void addAllValues(final Collection<? extends Value> additionalValues) {
@@ -297,9 +405,42 @@ public abstract class Node implements Serializable {
         return values.stream().map(Value::getMetric);
     }
 
-    NavigableMap<Metric, Value> getMetricsDistribution() {
-        return new TreeMap<>(aggregateValues().stream()
-                .collect(Collectors.toMap(Value::getMetric, Function.identity())));
+    /**
+     * Visits all nodes of the subtree that is spanned by this node in post-order, i.e., each node is visited after all
+     * of its children have been visited.
+     *
+     * @param visitor
+     *         the visitor to call for each node
+     */
+    public void accept(final NodeVisitor visitor) {
+        for (Node child : children) {
+            child.accept(visitor);
+        }
+        visitor.visit(this);
+    }
+
+    /**
+     * Returns the aggregated values of all metrics of the subtree that is spanned by this node. The values of all nodes
+     * of the subtree are aggregated in a single traversal, see {@link ValueAggregationVisitor}.
+     *
+     * @return the aggregated values, mapped by their metrics
+     */
+    public NavigableMap<Metric, Value> getMetricsDistribution() {
+        var metrics = getMetrics();
+        if (!hasAggregatedValues(metrics)) {
+            accept(ValueAggregationVisitor.INSTANCE);
+        }
+
+        NavigableMap<Metric, Value> distribution = new TreeMap<>();
+        for (Metric metric : metrics) {
+            getValue(metric).ifPresent(value -> distribution.put(metric, value));
+        }
+        return distribution;
+    }
+
+    private boolean hasAggregatedValues(final Set<Metric> metrics) {
+        AtomicReferenceArray<Optional<Value>> cachedValues = aggregatedValues;
+        return cachedValues != null && metrics.stream().allMatch(metric -> cachedValues.get(metric.ordinal()) != null);
     }
 
     private Value getValueOf(final Metric searchMetric) {
@@ -317,7 +458,19 @@ public abstract class Node implements Serializable {
      * @return coverage ratio
      */
     public Optional<Value> getValue(final Metric searchMetric) {
-        return searchMetric.getValueFor(this);
+        AtomicReferenceArray<Optional<Value>> cachedValues = aggregatedValues;
+        if (cachedValues == null) {
+            cachedValues = new AtomicReferenceArray<>(Metric.values().length);
+            aggregatedValues = cachedValues;
+        }
+        int index = searchMetric.ordinal();
+        Optional<Value> value = cachedValues.get(index);
+        if (value == null) {
+            // Values are immutable, so concurrent computations of the same value are harmless
+            value = searchMetric.getValueFor(this);
+            cachedValues.set(index, value);
+        }
+        return value;
     }
 
     /**
@@ -334,7 +487,7 @@ public abstract class Node implements Serializable {
      * @return coverage ratio
      */
     public <T extends Value> T getTypedValue(final Metric searchMetric, final T defaultValue) {
-        var possiblyValue = searchMetric.getValueFor(this);
+        var possiblyValue = getValue(searchMetric);
 
         //noinspection unchecked
         return possiblyValue.map(value -> (T) defaultValue.getClass().cast(value)).orElse(defaultValue);
@@ -346,8 +499,20 @@ public abstract class Node implements Serializable {
      * @return aggregation of values below this tree
      */
     public List<Value> aggregateValues() {
-        return getMetrics().stream().map(this::getValue).flatMap(Optional::stream)
-                .collect(Collectors.toList());
+        return new ArrayList<>(getMetricsDistribution().values());
+    }
+
+    /**
+     * Aggregates all values that are part of the subtree that is spanned by this node. In contrast to
+     * {@link #aggregateValues()}, independent subtrees are aggregated in parallel. This is considerably faster for
+     * large trees, e.g., when a new coverage result is published.
+     *
+     * @return aggregation of values below this tree
+     */
+    public List<Value> aggregateValuesInParallel() {
+        ParallelValueAggregator.aggregate(this);
+
+        return aggregateValues();
     }
 
     /**
@@ -406,6 +571,9 @@ public abstract class Node implements Serializable {
         if (matches(searchMetric, searchName)) {
             return Optional.of(this);
         }
+        if (searchMetric == Metric.FILE) {
+            return Optional.ofNullable(getFilesByName().get(searchName));
+        }
         return children.stream()
                 .map(child -> child.find(searchMetric, searchName))
                 .flatMap(Optional::stream)
@@ -497,12 +665,67 @@ public abstract class Node implements Serializable {
         if (matches(searchMetric, searchNameHashCode)) {
             return Optional.of(this);
         }
+        if (searchMetric == Metric.FILE) {
+            return Optional.ofNullable(getFilesByHashCode().get(searchNameHashCode));
+        }
         return children.stream()
                 .map(child -> child.findByHashCode(searchMetric, searchNameHashCode))
                 .flatMap(Optional::stream)
                 .findAny();
     }
 
+    private Map<String, FileNode> getFilesByName() {
+        Map<String, FileNode> index = filesByName;
+        if (index == null) {
+            Map<String, FileNode> newIndex = new HashMap<>();
+            getFileNodesInTreeOrder(children).forEach(file -> addToNameIndex(newIndex, file));
+            index = newIndex;
+            filesByName = index;
+        }
+        return index;
+    }
+
+    private Map<Integer, FileNode> getFilesByHashCode() {
+        Map<Integer, FileNode> index = filesByHashCode;
+        if (index == null) {
+            Map<Integer, FileNode> newIndex = new HashMap<>();
+            getFileNodesInTreeOrder(children).forEach(file -> addToHashCodeIndex(newIndex, file));
+            index = newIndex;
+            filesByHashCode = index;
+        }
+        return index;
+    }
+
+    // The first file wins, since find and findByHashCode return the first match
+    private static void addToNameIndex(final Map<String, FileNode> index, final FileNode file) {
+        index.putIfAbsent(file.getName(), file);
+        index.putIfAbsent(file.getRelativePath(), file);
+    }
+
+    private static void addToHashCodeIndex(final Map<Integer, FileNode> index, final FileNode file) {
+        index.putIfAbsent(file.getName().hashCode(), file);
+        index.putIfAbsent(file.getRelativePath().hashCode(), file);
+    }
+
+    // Depth-first (pre-order) like find and findByHashCode, in contrast to getAll
+    private static List<FileNode> getFileNodesInTreeOrder(final List<Node> roots) {
+        List<FileNode> files = new ArrayList<>();
+        Deque<Node> stack = new ArrayDeque<>();
+        for (int i = roots.size() - 1; i >= 0; i--) {
+            stack.push(roots.get(i));
+        }
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            if (node instanceof FileNode) {
+                files.add((FileNode) node);
+            }
+            for (int i = node.children.size() - 1; i >= 0; i--) {
+                stack.push(node.children.get(i));
+            }
+        }
+        return files;
+    }
+
     /**
      * Returns whether this node matches the specified metric and name.
      *
@@ -611,10 +834,18 @@ public abstract class Node implements Serializable {
         }
 
         if (haveSameNameAndMetric(nodes)) {
-            return nodes.stream()
-                    .map(t -> (Node) t) // parasoft-suppress OPT.UNC-3 "Expected"
-                    .reduce(Node::merge)
-                    .orElseThrow(() -> new NoSuchElementException("No node found"));
+            // The first tree is copied only once, all other trees are merged into this copy
+            Node first = nodes.get(0);
+            Node combinedReport = first.copyTree();
+            String toolName = first.getParasoftToolName();
+            for (Node other : nodes.subList(1, nodes.size())) {
+                combinedReport.mergeChildren(other);
+                if (toolName != null && !toolName.equals(other.getParasoftToolName())) {
+                    toolName = null;
+                }
+            }
+            combinedReport.setParasoftToolName(toolName);
+            return combinedReport;
         }
 
         var container = new ContainerNode("Container");
@@ -669,16 +900,20 @@ public abstract class Node implements Serializable {
 
     private void mergeChildren(final Node other) {
         other.values.forEach(this::mergeValues);
-        other.getChildren().forEach(otherChild -> {
-            Optional<Node> existingChild = getChildren().stream()
-                    .filter(c -> c.getName().equals(otherChild.getName())).findFirst();
-            if (existingChild.isPresent()) {
-                existingChild.get().mergeChildren(otherChild);
+
+        Map<String, Node> childrenByName = new HashMap<>();
+        children.forEach(child -> childrenByName.putIfAbsent(child.getName(), child));
+        for (Node otherChild : other.children) {
+            Node existingChild = childrenByName.get(otherChild.getName());
+            if (existingChild == null) {
+                Node copiedChild = otherChild.copyTree();
+                addChild(copiedChild);
+                childrenByName.put(copiedChild.getName(), copiedChild);
             }
             else {
-                addChild(otherChild.copyTree());
+                existingChild.mergeChildren(otherChild);
             }
-        });
+        }
     }
 
     private void mergeValues(final Value otherValue) {
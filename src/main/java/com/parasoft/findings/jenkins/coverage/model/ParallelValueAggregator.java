@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.coverage.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Aggregates the values of all metrics for all nodes of a tree in a single bottom-up pass, like
+ * {@link ValueAggregationVisitor} does. The subtrees of modules and packages are aggregated in parallel using the
+ * common fork/join pool, the classes and methods of a file are aggregated by the task of the file.
+ */
+final class ParallelValueAggregator extends RecursiveAction {
+    private static final long serialVersionUID = 2316468702557932213L;
+
+    /**
+     * Aggregates the values of all metrics for all nodes of the specified tree. Afterwards, the values of all nodes are
+     * cached and {@link Node#getValue(Metric)} returns without further aggregation.
+     *
+     * @param root
+     *         the root of the tree
+     */
+    static void aggregate(final Node root) {
+        if (ForkJoinPool.getCommonPoolParallelism() > 1) {
+            ForkJoinPool.commonPool().invoke(new ParallelValueAggregator(root));
+        }
+        else {
+            root.accept(ValueAggregationVisitor.INSTANCE);
+        }
+    }
+
+    private final Node node;
+
+    private ParallelValueAggregator(final Node node) {
+        this.node = node;
+    }
+
+    @Override
+    protected void compute() {
+        var children = node.getChildren();
+        if (isForking(node)) {
+            List<ParallelValueAggregator> tasks = new ArrayList<>(children.size());
+            for (Node child : children) {
+                tasks.add(new ParallelValueAggregator(child));
+            }
+            invokeAll(tasks);
+        }
+        else {
+            children.forEach(child -> child.accept(ValueAggregationVisitor.INSTANCE));
+        }
+        ValueAggregationVisitor.INSTANCE.visit(node);
+    }
+
+    private static boolean isForking(final Node node) {
+        return node.getMetric().compareTo(Metric.FILE) < 0;
+    }
+}
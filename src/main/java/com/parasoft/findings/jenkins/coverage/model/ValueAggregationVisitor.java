@@ -0,0 +1,39 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.coverage.model;
+
+/**
+ * Aggregates the values of all metrics of the visited nodes. Since the children of a node are visited first, the
+ * metric evaluators of a node only read the already cached values of its children (and of the node itself, e.g.,
+ * {@link Metric#LOC} reads {@link Metric#LINE}) rather than walking the subtree again for every metric. So a single
+ * traversal of a tree aggregates the values of all of its nodes.
+ */
+final class ValueAggregationVisitor implements NodeVisitor {
+    static final ValueAggregationVisitor INSTANCE = new ValueAggregationVisitor();
+
+    private ValueAggregationVisitor() {
+        // singleton, the visitor has no state
+    }
+
+    @Override
+    public void visit(final Node node) {
+        // Metrics that are not part of the subtree have no value, so there is no need to evaluate them
+        for (Metric metric : node.getMetrics()) {
+            node.getValue(metric);
+        }
+    }
+}
@@ -27,12 +27,9 @@ package com.parasoft.findings.jenkins.coverage.model.parser;
 import java.io.Reader;
 import java.nio.file.Paths;
 import java.util.NoSuchElementException;
-import java.util.regex.Pattern;
-import javax.xml.namespace.QName;
-import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.StartElement;
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamReader;
 
 import com.parasoft.findings.jenkins.coverage.model.Coverage;
 import com.parasoft.findings.jenkins.coverage.model.Coverage.CoverageBuilder;
@@ -59,32 +56,29 @@ public class CoberturaParser extends CoverageParser {
     private static final long serialVersionUID = -3625341318291829577L;
 
     private static final PathUtil PATH_UTIL = new PathUtil();
-    private static final QName COVERAGE = new QName("coverage");
-    private static final QName SOURCE = new QName("source");
-    private static final QName PACKAGE = new QName("package");
-    private static final QName CLASS = new QName("class");
-    private static final QName METHOD = new QName("method");
-    private static final QName LINE = new QName("line");
-
-    private static final Pattern BRANCH_PATTERN = Pattern.compile(".*\\((?<covered>\\d+)/(?<total>\\d+)\\)");
+    private static final String COVERAGE = "coverage";
+    private static final String SOURCE = "source";
+    private static final String PACKAGE = "package";
+    private static final String CLASS = "class";
+    private static final String METHOD = "method";
+    private static final String LINE = "line";
 
     /** Required attributes of the XML elements. */
-    private static final QName NAME = new QName("name");
-    private static final QName FILE_NAME = new QName("filename");
-    private static final QName SIGNATURE = new QName("signature");
-    private static final QName HITS = new QName("hits");
-    private static final QName COMPLEXITY = new QName("complexity");
-    private static final QName NUMBER = new QName("number");
-    private static final QName VERSION = new QName("version");
+    private static final String NAME = "name";
+    private static final String FILE_NAME = "filename";
+    private static final String SIGNATURE = "signature";
+    private static final String HITS = "hits";
+    private static final String COMPLEXITY = "complexity";
+    private static final String NUMBER = "number";
+    private static final String VERSION = "version";
 
     /** Not required attributes of the XML elements. */
-    private static final QName BRANCH = new QName("branch");
-    private static final QName CONDITION_COVERAGE = new QName("condition-coverage");
-    private static final Coverage LINE_COVERED = new CoverageBuilder(Metric.LINE).setCovered(1).setMissed(0).build();
-    private static final Coverage LINE_MISSED = new CoverageBuilder(Metric.LINE).setCovered(0).setMissed(1).build();
+    private static final String BRANCH = "branch";
+    private static final String CONDITION_COVERAGE = "condition-coverage";
 
     /**
-     * Parses the Cobertura report. The report is expected to be in XML format.
+     * Parses the Cobertura report. The report is expected to be in XML format. The report is read with the cursor
+     * API of StAX, so no event objects are created for the elements and attributes.
      *
      * @param reader
      *         the reader to read the report from
@@ -92,25 +86,22 @@ public class CoberturaParser extends CoverageParser {
     @Override
     protected ModuleNode parseReport(final Reader reader, final FilteredLog log) {
         try {
-            var eventReader = new SecureXmlParserFactory().createXmlEventReader(reader);
+            var streamReader = new SecureXmlParserFactory().createXmlStreamReader(reader);
 
             var root = new ModuleNode("-");
             boolean isEmpty = true;
 
-            while (eventReader.hasNext()) {
-                XMLEvent event = eventReader.nextEvent();
-
-                if (event.isStartElement()) {
-                    var startElement = event.asStartElement();
-                    var tagName = startElement.getName();
-                    if(COVERAGE.equals(tagName)) {
-                        readCoverage(startElement, root);
+            while (streamReader.hasNext()) {
+                if (streamReader.next() == XMLStreamConstants.START_ELEMENT) {
+                    var tagName = streamReader.getLocalName();
+                    if (COVERAGE.equals(tagName)) {
+                        readCoverage(streamReader, root);
                     }
                     else if (SOURCE.equals(tagName)) {
-                        readSource(eventReader, root);
+                        readSource(streamReader, root);
                     }
                     else if (PACKAGE.equals(tagName)) {
-                        readPackage(eventReader, root, startElement);
+                        readPackage(streamReader, root);
                         isEmpty = false;
                     }
                 }
@@ -125,24 +116,22 @@ public class CoberturaParser extends CoverageParser {
         }
     }
 
-    private void readPackage(final XMLEventReader reader, final ModuleNode root,
-            final StartElement currentStartElement) throws XMLStreamException {
-        var packageNode = root.findOrCreatePackageNode(getValueOf(currentStartElement, NAME));
+    private void readPackage(final XMLStreamReader reader, final ModuleNode root) throws XMLStreamException {
+        var packageNode = root.findOrCreatePackageNode(getValueOf(reader, NAME));
 
         while (reader.hasNext()) {
-            XMLEvent event = reader.nextEvent();
+            int event = reader.next();
 
-            if (event.isStartElement()) {
-                var nextElement = event.asStartElement();
-                if (CLASS.equals(nextElement.getName())) {
-                    var fileName = getValueOf(nextElement, FILE_NAME);
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (CLASS.equals(reader.getLocalName())) {
+                    var fileName = getValueOf(reader, FILE_NAME);
                     var relativePath = PATH_UTIL.getRelativePath(fileName);
                     var fileNode = packageNode.findOrCreateFileNode(getFileName(fileName),
                             getTreeStringBuilder().intern(relativePath));
-                    readClassOrMethod(reader, fileNode, nextElement);
+                    readClassOrMethod(reader, fileNode, true);
                 }
             }
-            else if (event.isEndElement()) {
+            else if (event == XMLStreamConstants.END_ELEMENT) {
                 return; // finish processing of package
             }
         }
@@ -157,48 +146,50 @@ public class CoberturaParser extends CoverageParser {
     }
 
     @SuppressWarnings({"PMD.CyclomaticComplexity", "PMD.CognitiveComplexity"})
-    private Node readClassOrMethod(final XMLEventReader reader, final FileNode fileNode,
-            final StartElement parentElement) throws XMLStreamException {
-        var lineCoverage = Coverage.nullObject(Metric.LINE);
-        var branchCoverage = Coverage.nullObject(Metric.BRANCH);
+    private Node readClassOrMethod(final XMLStreamReader reader, final FileNode fileNode,
+            final boolean isClass) throws XMLStreamException {
+        var lineCoverage = new CoverageCounter();
+        var branchCoverage = new CoverageCounter();
+        var coverage = new CoverageCounter();
 
-        Node node = createNode(fileNode, parentElement);
-        getOptionalValueOf(parentElement, COMPLEXITY)
-                .ifPresent(c -> node.addValue(new CyclomaticComplexity(readComplexity(c))));
+        Node node = createNode(reader, fileNode, isClass);
+        var complexity = getOptionalValueOf(reader, COMPLEXITY);
+        if (complexity != null) {
+            node.addValue(new CyclomaticComplexity(readComplexity(complexity)));
+        }
 
         while (reader.hasNext()) {
-            XMLEvent event = reader.nextEvent();
-
-            if (event.isStartElement()) {
-                var nextElement = event.asStartElement();
-                if (LINE.equals(nextElement.getName())) {
-                    Coverage coverage;
-                    if (isBranchCoverage(nextElement)) {
-                        coverage = readBranchCoverage(nextElement);
-                        branchCoverage = branchCoverage.add(coverage);
+            int event = reader.next();
+
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                var tagName = reader.getLocalName();
+                if (LINE.equals(tagName)) {
+                    if (isBranchCoverage(reader)) {
+                        readBranchCoverage(reader, coverage);
+                        branchCoverage.add(coverage);
                     }
                     else {
-                        int lineHits = getIntegerValueOf(nextElement, HITS);
-                        coverage = lineHits > 0 ? LINE_COVERED : LINE_MISSED;
-                        lineCoverage = lineCoverage.add(coverage);
+                        int lineHits = getIntegerValueOf(reader, HITS);
+                        coverage.set(lineHits > 0 ? 1 : 0, lineHits > 0 ? 0 : 1);
+                        lineCoverage.add(coverage);
                     }
 
-                    if (CLASS.equals(parentElement.getName())) { // Counters are stored at file level
-                        int lineNumber = getIntegerValueOf(nextElement, NUMBER);
-                        fileNode.addCounters(lineNumber, coverage.getCovered(), coverage.getMissed());
+                    if (isClass) { // Counters are stored at file level
+                        int lineNumber = getIntegerValueOf(reader, NUMBER);
+                        fileNode.addCounters(lineNumber, coverage.covered, coverage.missed);
                     }
                 }
-                else if (METHOD.equals(nextElement.getName())) {
-                    Node methodNode = readClassOrMethod(reader, fileNode, nextElement);
+                else if (METHOD.equals(tagName)) {
+                    Node methodNode = readClassOrMethod(reader, fileNode, false);
                     node.addChild(methodNode);
                 }
             }
-            else if (event.isEndElement()) {
-                var endElement = event.asEndElement();
-                if (CLASS.equals(endElement.getName()) || METHOD.equals(endElement.getName())) {
-                    node.addValue(lineCoverage);
-                    if (branchCoverage.isSet()) {
-                        node.addValue(branchCoverage);
+            else if (event == XMLStreamConstants.END_ELEMENT) {
+                var tagName = reader.getLocalName();
+                if (CLASS.equals(tagName) || METHOD.equals(tagName)) {
+                    node.addValue(lineCoverage.build(Metric.LINE));
+                    if (branchCoverage.covered + branchCoverage.missed > 0) {
+                        node.addValue(branchCoverage.build(Metric.BRANCH));
                     }
                     return node;
                 }
@@ -207,13 +198,13 @@ public class CoberturaParser extends CoverageParser {
         throw createEofException();
     }
 
-    private Node createNode(final FileNode file, final StartElement parentElement) {
-        var name = getValueOf(parentElement, NAME);
-        if (CLASS.equals(parentElement.getName())) {
+    private Node createNode(final XMLStreamReader reader, final FileNode file, final boolean isClass) {
+        var name = getValueOf(reader, NAME);
+        if (isClass) {
             return file.createClassNode(name); // connect the class with the file
         }
         else {
-            return new MethodNode(name, getValueOf(parentElement, SIGNATURE));
+            return new MethodNode(name, getValueOf(reader, SIGNATURE));
         }
     }
 
@@ -226,21 +217,20 @@ public class CoberturaParser extends CoverageParser {
         }
     }
 
-    private boolean isBranchCoverage(final StartElement line) {
-        return getOptionalValueOf(line, BRANCH)
-                .map(Boolean::parseBoolean)
-                .orElse(false);
+    private boolean isBranchCoverage(final XMLStreamReader line) {
+        return Boolean.parseBoolean(getOptionalValueOf(line, BRANCH));
     }
 
-    private void readSource(final XMLEventReader reader, final ModuleNode root) throws XMLStreamException {
+    private void readSource(final XMLStreamReader reader, final ModuleNode root) throws XMLStreamException {
         var aggregatedContent = new StringBuilder();
 
         while (reader.hasNext()) {
-            XMLEvent event = reader.nextEvent();
-            if (event.isCharacters()) {
-                aggregatedContent.append(event.asCharacters().getData());
+            int event = reader.next();
+            if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                    || event == XMLStreamConstants.SPACE) {
+                aggregatedContent.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
             }
-            else if (event.isEndElement()) {
+            else if (event == XMLStreamConstants.END_ELEMENT) {
                 root.addSource(new PathUtil().getRelativePath(aggregatedContent.toString()));
 
                 return;
@@ -248,22 +238,67 @@ public class CoberturaParser extends CoverageParser {
         }
     }
 
-    private Coverage readBranchCoverage(final StartElement line) {
-        String conditionCoverageAttribute = getValueOf(line, CONDITION_COVERAGE);
-        var matcher = BRANCH_PATTERN.matcher(conditionCoverageAttribute);
-        if (matcher.matches()) {
-            var builder = new CoverageBuilder();
-            return builder.setMetric(Metric.BRANCH)
-                    .setCovered(matcher.group("covered"))
-                    .setTotal(matcher.group("total"))
-                    .build();
+    /**
+     * Reads the branch coverage from the {@code condition-coverage} attribute, which ends with the number of covered
+     * and total branches, e.g. {@code 50% (1/2)}. The numbers are scanned from the end of the attribute value, so
+     * neither a regular expression nor intermediate strings are required.
+     */
+    private void readBranchCoverage(final XMLStreamReader line, final CoverageCounter coverage) {
+        String conditionCoverage = getValueOf(line, CONDITION_COVERAGE);
+        coverage.set(0, 0);
+
+        int end = conditionCoverage.length() - 1;
+        if (end < 0 || conditionCoverage.charAt(end) != ')') {
+            return;
+        }
+        int totalStart = skipDigitsBackwards(conditionCoverage, end);
+        if (totalStart == end || totalStart == 0 || conditionCoverage.charAt(totalStart - 1) != '/') {
+            return;
+        }
+        int separator = totalStart - 1;
+        int coveredStart = skipDigitsBackwards(conditionCoverage, separator);
+        if (coveredStart == separator || coveredStart == 0 || conditionCoverage.charAt(coveredStart - 1) != '(') {
+            return;
+        }
+        int covered = parseInteger(conditionCoverage, coveredStart, separator);
+        int total = parseInteger(conditionCoverage, totalStart, end);
+        coverage.set(covered, Math.max(total - covered, 0));
+    }
+
+    private static int skipDigitsBackwards(final String value, final int end) {
+        int start = end;
+        while (start > 0 && value.charAt(start - 1) >= '0' && value.charAt(start - 1) <= '9') {
+            start--;
         }
-        return Coverage.nullObject(Metric.BRANCH);
+        return start;
     }
 
-    private void readCoverage(final StartElement currentElement, final ModuleNode root) throws XMLStreamException {
-        String version = getValueOf(currentElement, VERSION);
+    private void readCoverage(final XMLStreamReader reader, final ModuleNode root) {
+        String version = getValueOf(reader, VERSION);
         String parasoftTool = version.split(" ")[0];
         root.setParasoftToolName(parasoftTool);
     }
+
+    /**
+     * A mutable counter of covered and missed items. The coverage of the lines of a class or method is accumulated
+     * in such a counter, the immutable {@link Coverage} is created only once at the end of the element.
+     */
+    private static final class CoverageCounter {
+        private int covered;
+        private int missed;
+
+        void set(final int coveredItems, final int missedItems) {
+            covered = coveredItems;
+            missed = missedItems;
+        }
+
+        void add(final CoverageCounter other) {
+            covered += other.covered;
+            missed += other.missed;
+        }
+
+        Coverage build(final Metric metric) {
+            return new CoverageBuilder().setMetric(metric).setCovered(covered).setMissed(missed).build();
+        }
+    }
 }
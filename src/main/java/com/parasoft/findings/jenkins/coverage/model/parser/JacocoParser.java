@@ -27,13 +27,9 @@ package com.parasoft.findings.jenkins.coverage.model.parser;
 import java.io.Reader;
 import java.nio.file.Paths;
 import java.util.NoSuchElementException;
-import java.util.Optional;
-import javax.xml.namespace.QName;
-import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.EndElement;
-import javax.xml.stream.events.StartElement;
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamReader;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -63,32 +59,33 @@ import edu.hm.hafner.util.TreeString;
 public class JacocoParser extends CoverageParser {
     private static final long serialVersionUID = -6021749565311262221L;
 
-    private static final QName REPORT = new QName("report");
-    private static final QName PACKAGE = new QName("package");
-    private static final QName GROUP = new QName("group");
-    private static final QName CLASS = new QName("class");
-    private static final QName METHOD = new QName("method");
-    private static final QName COUNTER = new QName("counter");
-    private static final QName SOURCE_FILE = new QName("sourcefile");
+    private static final String REPORT = "report";
+    private static final String PACKAGE = "package";
+    private static final String GROUP = "group";
+    private static final String CLASS = "class";
+    private static final String METHOD = "method";
+    private static final String COUNTER = "counter";
+    private static final String SOURCE_FILE = "sourcefile";
 
     /** Required attributes of the XML elements. */
-    private static final QName NAME = new QName("name");
-    private static final QName SIGNATURE = new QName("desc");
-    private static final QName TYPE = new QName("type");
-    private static final QName MISSED = new QName("missed");
-    private static final QName COVERED = new QName("covered");
-    private static final QName LINE_NUMBER = new QName("nr");
+    private static final String NAME = "name";
+    private static final String SIGNATURE = "desc";
+    private static final String TYPE = "type";
+    private static final String MISSED = "missed";
+    private static final String COVERED = "covered";
+    private static final String LINE_NUMBER = "nr";
 
     /** Implied attributes of the XML elements. */
-    private static final QName SOURCE_FILE_NAME = new QName("sourcefilename");
-    private static final QName LINE = new QName("line");
-    private static final QName COVERED_INSTRUCTIONS = new QName("ci");
-    private static final QName MISSED_BRANCHES = new QName("mb");
-    private static final QName COVERED_BRANCHED = new QName("cb");
+    private static final String SOURCE_FILE_NAME = "sourcefilename";
+    private static final String LINE = "line";
+    private static final String COVERED_INSTRUCTIONS = "ci";
+    private static final String MISSED_BRANCHES = "mb";
+    private static final String COVERED_BRANCHED = "cb";
     private static final PathUtil PATH_UTIL = new PathUtil();
 
     /**
-     * Parses the JaCoCo report. The report is expected to be in XML format.
+     * Parses the JaCoCo report. The report is expected to be in XML format. The report is read with the cursor API
+     * of StAX, so no event objects are created for the elements and attributes.
      *
      * @param reader
      *         the reader to read the report from
@@ -97,19 +94,14 @@ public class JacocoParser extends CoverageParser {
     protected ModuleNode parseReport(final Reader reader, final FilteredLog log) {
         try {
             var factory = new SecureXmlParserFactory();
-            var eventReader = factory.createXmlEventReader(reader);
-
-            while (eventReader.hasNext()) {
-                XMLEvent event = eventReader.nextEvent();
-
-                if (event.isStartElement()) {
-                    var startElement = event.asStartElement();
-                    var tagName = startElement.getName();
-                    if (REPORT.equals(tagName)) {
-                        var root = new ModuleNode(getValueOf(startElement, NAME));
-                        readModule(eventReader, root);
-                        return root;
-                    }
+            var streamReader = factory.createXmlStreamReader(reader);
+
+            while (streamReader.hasNext()) {
+                if (streamReader.next() == XMLStreamConstants.START_ELEMENT
+                        && REPORT.equals(streamReader.getLocalName())) {
+                    var root = new ModuleNode(getValueOf(streamReader, NAME));
+                    readModule(streamReader, root);
+                    return root;
                 }
             }
             throw new NoSuchElementException("No coverage information found in the specified file.");
@@ -119,98 +111,85 @@ public class JacocoParser extends CoverageParser {
         }
     }
 
-    private ModuleNode readModule(final XMLEventReader reader, final ModuleNode module)
+    private ModuleNode readModule(final XMLStreamReader reader, final ModuleNode module)
             throws XMLStreamException {
         while (reader.hasNext()) {
-            XMLEvent event = reader.nextEvent();
+            int event = reader.next();
 
-            if (event.isStartElement()) {
-                var startElement = event.asStartElement();
-                if (PACKAGE.equals(startElement.getName())) {
-                    readPackage(reader, module, startElement);
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                var tagName = reader.getLocalName();
+                if (PACKAGE.equals(tagName)) {
+                    readPackage(reader, module);
                 }
-                else if (GROUP.equals(startElement.getName())) {
-                    var subModule = new ModuleNode(getValueOf(startElement, NAME));
+                else if (GROUP.equals(tagName)) {
+                    var subModule = new ModuleNode(getValueOf(reader, NAME));
                     readModule(reader, subModule);
                     module.addChild(subModule);
                 }
-                else if (COUNTER.equals(startElement.getName())) {
-                    readValueCounter(module, startElement);
+                else if (COUNTER.equals(tagName)) {
+                    readValueCounter(module, reader);
                 }
             }
-            else if (event.isEndElement()) {
-                var endElement = event.asEndElement();
-                if (isModuleEnd(endElement)) {
-                    return module;
-                }
+            else if (event == XMLStreamConstants.END_ELEMENT && isModuleEnd(reader.getLocalName())) {
+                return module;
             }
         }
         throw createEofException();
     }
 
-    private boolean isModuleEnd(final EndElement endElement) {
-        return REPORT.equals(endElement.getName()) || GROUP.equals(endElement.getName());
+    private boolean isModuleEnd(final String tagName) {
+        return REPORT.equals(tagName) || GROUP.equals(tagName);
     }
 
-    private PackageNode readPackage(final XMLEventReader reader,
-            final ModuleNode root, final StartElement startElement) throws XMLStreamException {
-        var packageName = getValueOf(startElement, NAME);
+    private PackageNode readPackage(final XMLStreamReader reader, final ModuleNode root) throws XMLStreamException {
+        var packageName = getValueOf(reader, NAME);
         var packageNode = root.findOrCreatePackageNode(packageName);
         while (reader.hasNext()) {
-            XMLEvent event = reader.nextEvent();
+            int event = reader.next();
 
-            if (event.isStartElement()) {
-                var nextElement = event.asStartElement();
-                if (CLASS.equals(nextElement.getName())) {
-                    readClass(reader, packageNode, packageName, nextElement);
-                }
-                else if (SOURCE_FILE.equals(nextElement.getName())) {
-                    readSourceFile(reader, packageNode, packageName, nextElement);
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                var tagName = reader.getLocalName();
+                if (CLASS.equals(tagName)) {
+                    readClass(reader, packageNode, packageName);
                 }
-                else if (COUNTER.equals(startElement.getName())) {
-                    readValueCounter(packageNode, startElement);
+                else if (SOURCE_FILE.equals(tagName)) {
+                    readSourceFile(reader, packageNode, packageName);
                 }
+                // the counters of a package are not read, the values of packages are aggregated from the children
             }
-            else if (event.isEndElement()) {
-                var endElement = event.asEndElement();
-                if (PACKAGE.equals(endElement.getName())) {
-                    return packageNode;
-                }
+            else if (event == XMLStreamConstants.END_ELEMENT && PACKAGE.equals(reader.getLocalName())) {
+                return packageNode;
             }
         }
         throw createEofException();
     }
 
-    private Node readClass(final XMLEventReader reader, final PackageNode packageNode,
-            final String packageName, final StartElement startElement) throws XMLStreamException {
-        Optional<String> possibleFileName = getOptionalValueOf(startElement, SOURCE_FILE_NAME);
+    private Node readClass(final XMLStreamReader reader, final PackageNode packageNode,
+            final String packageName) throws XMLStreamException {
+        var fileName = getOptionalValueOf(reader, SOURCE_FILE_NAME);
         ClassNode classNode;
-        if (possibleFileName.isPresent()) {
-            var fileName = possibleFileName.get();
+        if (fileName != null) {
             var fileNode = packageNode.findOrCreateFileNode(fileName, internPath(packageName, fileName));
 
-            classNode = fileNode.findOrCreateClassNode(getValueOf(startElement, NAME));
+            classNode = fileNode.findOrCreateClassNode(getValueOf(reader, NAME));
         }
         else {
-            classNode = packageNode.findOrCreateClassNode(getValueOf(startElement, NAME));
+            classNode = packageNode.findOrCreateClassNode(getValueOf(reader, NAME));
         }
         while (reader.hasNext()) {
-            XMLEvent event = reader.nextEvent();
+            int event = reader.next();
 
-            if (event.isStartElement()) {
-                var nextElement = event.asStartElement();
-                if (METHOD.equals(nextElement.getName())) {
-                    readMethod(reader, classNode, nextElement);
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                var tagName = reader.getLocalName();
+                if (METHOD.equals(tagName)) {
+                    readMethod(reader, classNode);
                 }
-                else if (COUNTER.equals(nextElement.getName())) {
-                    readValueCounter(classNode, nextElement);
+                else if (COUNTER.equals(tagName)) {
+                    readValueCounter(classNode, reader);
                 }
             }
-            else if (event.isEndElement()) {
-                var endElement = event.asEndElement();
-                if (CLASS.equals(endElement.getName())) {
-                    return classNode;
-                }
+            else if (event == XMLStreamConstants.END_ELEMENT && CLASS.equals(reader.getLocalName())) {
+                return classNode;
             }
         }
         throw createEofException();
@@ -220,38 +199,35 @@ public class JacocoParser extends CoverageParser {
         return getTreeStringBuilder().intern(PATH_UTIL.getRelativePath(Paths.get(packageName, fileName)));
     }
 
-    private Node readSourceFile(final XMLEventReader reader, final PackageNode packageNode,
-            final String packageName, final StartElement startElement) throws XMLStreamException {
-        String fileName = getValueOf(startElement, NAME);
+    private Node readSourceFile(final XMLStreamReader reader, final PackageNode packageNode,
+            final String packageName) throws XMLStreamException {
+        String fileName = getValueOf(reader, NAME);
         var fileNode = packageNode.findOrCreateFileNode(fileName, internPath(packageName, fileName));
 
         while (reader.hasNext()) {
-            XMLEvent event = reader.nextEvent();
+            int event = reader.next();
 
-            if (event.isStartElement()) {
-                var nextElement = event.asStartElement();
-                if (LINE.equals(nextElement.getName())) {
-                    readLine(fileNode, nextElement);
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                var tagName = reader.getLocalName();
+                if (LINE.equals(tagName)) {
+                    readLine(fileNode, reader);
                 }
-                else if (COUNTER.equals(nextElement.getName())) {
-                    readValueCounter(fileNode, nextElement);
+                else if (COUNTER.equals(tagName)) {
+                    readValueCounter(fileNode, reader);
                 }
             }
-            else if (event.isEndElement()) {
-                var endElement = event.asEndElement();
-                if (SOURCE_FILE.equals(endElement.getName())) {
-                    return fileNode;
-                }
+            else if (event == XMLStreamConstants.END_ELEMENT && SOURCE_FILE.equals(reader.getLocalName())) {
+                return fileNode;
             }
         }
         throw createEofException();
     }
 
-    private void readLine(final FileNode fileNode, final StartElement startElement)  {
-        int lineNumber = getIntegerValueOf(startElement, LINE_NUMBER);
-        int coveredInstructions = getIntegerValueOf(startElement, COVERED_INSTRUCTIONS);
-        int coveredBranches = getIntegerValueOf(startElement, COVERED_BRANCHED);
-        int missedBranches = getIntegerValueOf(startElement, MISSED_BRANCHES);
+    private void readLine(final FileNode fileNode, final XMLStreamReader reader)  {
+        int lineNumber = getIntegerValueOf(reader, LINE_NUMBER);
+        int coveredInstructions = getIntegerValueOf(reader, COVERED_INSTRUCTIONS);
+        int coveredBranches = getIntegerValueOf(reader, COVERED_BRANCHED);
+        int missedBranches = getIntegerValueOf(reader, MISSED_BRANCHES);
 
         int missed;
         int covered;
@@ -266,47 +242,43 @@ public class JacocoParser extends CoverageParser {
         fileNode.addCounters(lineNumber, covered, missed);
     }
 
-    private Node readMethod(final XMLEventReader reader, final ClassNode classNode,
-            final StartElement startElement) throws XMLStreamException {
-        String methodName = getValueOf(startElement, NAME);
-        String methodSignature = getValueOf(startElement, SIGNATURE);
+    private Node readMethod(final XMLStreamReader reader, final ClassNode classNode) throws XMLStreamException {
+        String methodName = getValueOf(reader, NAME);
+        String methodSignature = getValueOf(reader, SIGNATURE);
 
-        MethodNode methodNode = createMethod(startElement, methodName, methodSignature);
+        MethodNode methodNode = createMethod(reader, methodName, methodSignature);
         classNode.addChild(methodNode);
 
         while (reader.hasNext()) {
-            XMLEvent event = reader.nextEvent();
+            int event = reader.next();
 
-            if (event.isStartElement()) {
-                var nextElement = event.asStartElement();
-                if (COUNTER.equals(nextElement.getName())) {
-                    readValueCounter(methodNode, nextElement);
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (COUNTER.equals(reader.getLocalName())) {
+                    readValueCounter(methodNode, reader);
                 }
             }
-            else if (event.isEndElement()) {
-                var endElement = event.asEndElement();
-                if (METHOD.equals(endElement.getName())) {
-                    return methodNode;
-                }
+            else if (event == XMLStreamConstants.END_ELEMENT && METHOD.equals(reader.getLocalName())) {
+                return methodNode;
             }
         }
         throw createEofException();
     }
 
-    private MethodNode createMethod(final StartElement startElement, final String methodName,
+    private MethodNode createMethod(final XMLStreamReader reader, final String methodName,
             final String methodSignature) {
-        return getOptionalValueOf(startElement, LINE)
-                .map(CoverageParser::parseInteger)
-                .map(line -> new MethodNode(methodName, methodSignature, line))
-                .orElseGet(() -> new MethodNode(methodName, methodSignature));
+        var line = getOptionalValueOf(reader, LINE);
+        if (line == null) {
+            return new MethodNode(methodName, methodSignature);
+        }
+        return new MethodNode(methodName, methodSignature, parseInteger(line));
     }
 
-    private void readValueCounter(final Node node, final StartElement startElement) {
-        String currentType = getValueOf(startElement, TYPE);
+    private void readValueCounter(final Node node, final XMLStreamReader reader) {
+        String currentType = getValueOf(reader, TYPE);
 
         if (StringUtils.containsAny(currentType, "LINE", "INSTRUCTION", "BRANCH", "COMPLEXITY")) {
-            var covered = getIntegerValueOf(startElement, COVERED);
-            var missed = getIntegerValueOf(startElement, MISSED);
+            var covered = getIntegerValueOf(reader, COVERED);
+            var missed = getIntegerValueOf(reader, MISSED);
 
             node.addValue(createValue(currentType, covered, missed));
         }
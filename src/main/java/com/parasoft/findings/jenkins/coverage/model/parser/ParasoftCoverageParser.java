@@ -0,0 +1,502 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.coverage.model.parser;
+
+import java.io.Reader;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.parasoft.findings.jenkins.coverage.model.Coverage.CoverageBuilder;
+import com.parasoft.findings.jenkins.coverage.model.CoverageParser;
+import com.parasoft.findings.jenkins.coverage.model.FileNode;
+import com.parasoft.findings.jenkins.coverage.model.Metric;
+import com.parasoft.findings.jenkins.coverage.model.ModuleNode;
+import com.parasoft.findings.jenkins.coverage.model.PackageNode;
+import edu.hm.hafner.util.FilteredLog;
+import edu.hm.hafner.util.PathUtil;
+import edu.hm.hafner.util.SecureXmlParserFactory;
+import edu.hm.hafner.util.SecureXmlParserFactory.ParsingException;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+/**
+ * Parses Parasoft coverage reports ({@code coverage.xml} of Jtest, dotTEST and C/C++test) into a hierarchical Java
+ * Object Model. The resulting tree is the same as the one obtained by converting the report with
+ * {@code cobertura.xsl} and reading the intermediate Cobertura report with {@link CoberturaParser}, but the report is
+ * read in a single pass without creating the intermediate file.
+ */
+@SuppressWarnings({"checkstyle:ClassDataAbstractionCoupling", "PMD.GodClass"})
+public class ParasoftCoverageParser extends CoverageParser {
+    private static final long serialVersionUID = -2238290143254176371L;
+
+    private static final PathUtil PATH_UTIL = new PathUtil();
+
+    private static final String COVERAGE = "Coverage";
+    private static final String LOC = "Loc";
+    private static final String CVG_DATA = "CvgData";
+    private static final String ITEM = "Item";
+    private static final String STAT_CVG = "StatCvg";
+    private static final String CTX_CVG = "CtxCvg";
+
+    private static final String VER = "ver";
+    private static final String TOOL_ID = "toolId";
+    private static final String TOOL_DISP_NAME = "toolDispName";
+    private static final String PIPELINE_BUILD_WORKING_DIRECTORY = "pipelineBuildWorkingDirectory";
+    private static final String LOC_REF = "locRef";
+    private static final String URI = "uri";
+    private static final String PROJ_ID = "projId";
+    private static final String ITEM_REF = "itemRef";
+    private static final String NAME = "name";
+    private static final String ELEMS = "elems";
+    private static final String ELEM_REFS = "elemRefs";
+    private static final String TEST_REFS = "testRefs";
+
+    private static final String JTEST = "jtest"; // $NON-NLS-1$
+    private static final String DOTTEST = "dottest"; // $NON-NLS-1$
+    private static final String CPPTEST = "c++test"; // $NON-NLS-1$
+    private static final String DEFAULT_PACKAGE = "<default>"; // $NON-NLS-1$
+    private static final String NO_PACKAGE = "<none>"; // $NON-NLS-1$
+    private static final String SEPARATOR = "/"; // $NON-NLS-1$
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern FILE_URI_WITHOUT_HOST = Pattern.compile("^file:///([^/\\\\]+)");
+    private static final Pattern FILE_URI_WITH_HOST = Pattern.compile("^file://([^/]+)/([^/\\\\]+)");
+    private static final Pattern FILE_URI_HOST = Pattern.compile("^file://([^/]+)(/.*)$");
+    private static final Pattern FILE_URI_SINGLE_SLASH = Pattern.compile("^file:/([^/\\\\]+)");
+    private static final Pattern WINDOWS_PATH = Pattern.compile("^[A-Za-z]:[/\\\\]");
+
+    @CheckForNull
+    private final String workingDirectory;
+
+    /**
+     * Creates a new parser that resolves relative paths using the {@code pipelineBuildWorkingDirectory} attribute of
+     * the report, if present.
+     */
+    public ParasoftCoverageParser() {
+        this(null);
+    }
+
+    /**
+     * Creates a new parser that resolves relative paths against the specified working directory.
+     *
+     * @param workingDirectory
+     *         the canonical path of the build working directory, or {@code null} to use the
+     *         {@code pipelineBuildWorkingDirectory} attribute of the report
+     */
+    public ParasoftCoverageParser(@CheckForNull final String workingDirectory) {
+        super();
+
+        this.workingDirectory = workingDirectory;
+    }
+
+    /**
+     * Parses the Parasoft coverage report. The report is read with the cursor API of StAX, like the other coverage
+     * parsers do, so no event objects are created for the elements and attributes.
+     *
+     * @param reader
+     *         the reader to read the report from
+     */
+    @Override
+    protected ModuleNode parseReport(final Reader reader, final FilteredLog log) {
+        try {
+            var streamReader = new SecureXmlParserFactory().createXmlStreamReader(reader);
+
+            var report = new ReportData();
+            boolean isRootElement = true;
+
+            while (streamReader.hasNext()) {
+                if (streamReader.next() == XMLStreamConstants.START_ELEMENT) {
+                    var tagName = streamReader.getLocalName();
+                    if (isRootElement) {
+                        readCoverage(streamReader, report);
+                        isRootElement = false;
+                    }
+                    else if (LOC.equals(tagName)) {
+                        report.locations.add(new Location(getValueOrEmpty(streamReader, LOC_REF),
+                                getValueOrEmpty(streamReader, URI),
+                                getValueOrEmpty(streamReader, PROJ_ID)));
+                    }
+                    else if (CVG_DATA.equals(tagName)) {
+                        var locRef = getValueOrEmpty(streamReader, LOC_REF);
+                        readCoverageData(streamReader,
+                                report.coverageData.computeIfAbsent(locRef, key -> new LocationData()));
+                    }
+                }
+            }
+            if (isRootElement) {
+                throw new NoSuchElementException("No Parasoft coverage information found in the specified file.");
+            }
+            return createTree(report);
+        }
+        catch (XMLStreamException exception) {
+            throw new ParsingException(exception);
+        }
+    }
+
+    private void readCoverage(final XMLStreamReader reader, final ReportData report) {
+        // The version attribute differentiates <Coverage> in coverage.xml from <Coverage> inside <Exec> in report.xml
+        if (!COVERAGE.equals(reader.getLocalName()) || getOptionalValueOf(reader, VER) == null) {
+            throw new NoSuchElementException("No Parasoft coverage information found in the specified file.");
+        }
+        report.toolId = getValueOrEmpty(reader, TOOL_ID);
+        report.toolDisplayName = getValueOrEmpty(reader, TOOL_DISP_NAME);
+        report.workingDirectory = getValueOrEmpty(reader, PIPELINE_BUILD_WORKING_DIRECTORY);
+    }
+
+    private void readCoverageData(final XMLStreamReader reader, final LocationData data) throws XMLStreamException {
+        Deque<Item> openItems = new ArrayDeque<>();
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                var tagName = reader.getLocalName();
+                if (ITEM.equals(tagName)) {
+                    var item = new Item(getValueOrEmpty(reader, ITEM_REF), getValueOrEmpty(reader, NAME));
+                    if (!openItems.isEmpty()) {
+                        openItems.peek().children.add(item);
+                    }
+                    openItems.push(item);
+                    data.items.add(item);
+                }
+                else if (STAT_CVG.equals(tagName)) {
+                    data.statements.add(new Statement(getValueOrEmpty(reader, ITEM_REF),
+                            parseLines(getValueOrEmpty(reader, ELEMS))));
+                }
+                else if (CTX_CVG.equals(tagName)) {
+                    int hits = countTokens(getValueOrEmpty(reader, TEST_REFS));
+                    for (int line : parseLines(getValueOrEmpty(reader, ELEM_REFS))) {
+                        data.hitsPerLine.merge(line, hits, Integer::sum);
+                    }
+                }
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT) {
+                var tagName = reader.getLocalName();
+                if (ITEM.equals(tagName)) {
+                    openItems.pop();
+                }
+                else if (CVG_DATA.equals(tagName)) {
+                    return;
+                }
+            }
+        }
+        throw createEofException();
+    }
+
+    private ModuleNode createTree(final ReportData report) {
+        var root = new ModuleNode("-");
+        root.setParasoftToolName(StringUtils.substringBefore(report.toolDisplayName, " "));
+
+        var buildWorkingDirectory = StringUtils.defaultString(workingDirectory, report.workingDirectory);
+        var uncodedWorkingDirectory = StringUtils.isEmpty(buildWorkingDirectory)
+                ? StringUtils.EMPTY
+                : buildWorkingDirectory.replace('\\', '/') + SEPARATOR;
+        // Replace % with %25 and space with %20 to get an encoded path
+        var encodedWorkingDirectory = uncodedWorkingDirectory.replace("%", "%25").replace(" ", "%20");
+
+        // Group by the parent path of uri
+        Map<String, List<Location>> locationsByFolder = new LinkedHashMap<>();
+        for (Location location : report.locations) {
+            locationsByFolder.computeIfAbsent(StringUtils.substringBeforeLast(location.uri, SEPARATOR),
+                    key -> new ArrayList<>()).add(location);
+        }
+
+        boolean isEmpty = true;
+        for (List<Location> locations : locationsByFolder.values()) {
+            if (locations.stream().mapToInt(location -> getCoverableLineCount(report, location)).sum() == 0) {
+                continue;
+            }
+            isEmpty = false;
+
+            var firstUri = getUriWithoutFilePrefix(locations.get(0).uri);
+            String processedWorkingDirectory;
+            if (!uncodedWorkingDirectory.isEmpty() && firstUri.contains(uncodedWorkingDirectory)) {
+                processedWorkingDirectory = uncodedWorkingDirectory;
+            }
+            // Using encoded working directory when the uri attribute of <Loc> tag is encoded (e.g. Jtest report)
+            else if (!encodedWorkingDirectory.isEmpty() && firstUri.contains(encodedWorkingDirectory)) {
+                processedWorkingDirectory = encodedWorkingDirectory;
+            }
+            else {
+                processedWorkingDirectory = StringUtils.EMPTY;
+            }
+
+            var packageName = getPackageName(report.toolId, locations.get(0).projectId,
+                    getProjectPath(firstUri, processedWorkingDirectory));
+            var packageNode = root.findOrCreatePackageNode(packageName);
+            for (Location location : locations) {
+                var data = report.coverageData.get(location.locRef);
+                if (data != null) {
+                    var filePath = decode(getProjectPath(getUriWithoutFilePrefix(location.uri),
+                            processedWorkingDirectory));
+                    readClasses(report.toolId, packageNode, packageName, filePath, data);
+                }
+            }
+        }
+        if (isEmpty) {
+            throw new NoSuchElementException("No coverage information found in the specified file.");
+        }
+        return root;
+    }
+
+    private int getCoverableLineCount(final ReportData report, final Location location) {
+        var data = report.coverageData.get(location.locRef);
+        if (data == null) {
+            return 0;
+        }
+        Set<Integer> lines = new HashSet<>();
+        data.statements.forEach(statement -> statement.addLinesTo(lines));
+        return lines.size();
+    }
+
+    private void readClasses(final String toolId, final PackageNode packageNode, final String packageName,
+            final String filePath, final LocationData data) {
+        if (JTEST.equals(toolId)) {
+            for (Item type : data.items) {
+                if (type.hasChildren()) {
+                    Set<String> methodItemRefs = new HashSet<>();
+                    type.children.stream()
+                            .filter(child -> !child.hasChildren())
+                            .forEach(child -> methodItemRefs.add(child.itemRef));
+                    var className = type.name.replace('$', '#');
+                    if (!DEFAULT_PACKAGE.equals(packageName)) {
+                        className = packageName + "." + className;
+                    }
+                    readClass(packageNode, filePath, className, methodItemRefs, data);
+                }
+            }
+        }
+        else {
+            Set<String> allItemRefs = new HashSet<>();
+            data.items.forEach(item -> allItemRefs.add(item.itemRef));
+            readClass(packageNode, filePath, getLastSegment(filePath), allItemRefs, data);
+        }
+    }
+
+    private void readClass(final PackageNode packageNode, final String filePath, final String className,
+            final Set<String> itemRefs, final LocationData data) {
+        NavigableSet<Integer> lines = new TreeSet<>();
+        data.statements.stream()
+                .filter(statement -> itemRefs.contains(statement.itemRef))
+                .forEach(statement -> statement.addLinesTo(lines));
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        var relativePath = PATH_UTIL.getRelativePath(filePath);
+        FileNode fileNode = packageNode.findOrCreateFileNode(getFileName(filePath),
+                getTreeStringBuilder().intern(relativePath));
+        var classNode = fileNode.createClassNode(className);
+
+        int covered = 0;
+        for (int line : lines) {
+            if (data.hitsPerLine.getOrDefault(line, 0) > 0) {
+                fileNode.addCounters(line, 1, 0);
+                covered++;
+            }
+            else {
+                fileNode.addCounters(line, 0, 1);
+            }
+        }
+        classNode.addValue(new CoverageBuilder().setMetric(Metric.LINE)
+                .setCovered(covered)
+                .setMissed(lines.size() - covered)
+                .build());
+    }
+
+    private String getPackageName(final String toolId, final String projectId, final String projectPath) {
+        var segments = StringUtils.splitPreserveAllTokens(projectPath, SEPARATOR);
+        if (segments == null || segments.length <= 1) {
+            return NO_PACKAGE;
+        }
+        var parentPath = substringBefore(projectPath, SEPARATOR + segments[segments.length - 1]);
+        if (JTEST.equals(toolId)) {
+            var packageNamePrefix = projectId.contains(":")
+                    ? StringUtils.substringBefore(projectId, ":")
+                    : projectId;
+            if (projectPath.contains(packageNamePrefix.replace('.', '/'))) {
+                var formattedPath = parentPath.replace(SEPARATOR, ".");
+                return substringAfter(formattedPath, substringBefore(formattedPath, packageNamePrefix));
+            }
+            return DEFAULT_PACKAGE;
+        }
+        if (DOTTEST.equals(toolId) || CPPTEST.equals(toolId)) {
+            return decode(parentPath);
+        }
+        return StringUtils.EMPTY;
+    }
+
+    private String getProjectPath(final String uri, final String processedWorkingDirectory) {
+        if (processedWorkingDirectory.isEmpty()) {
+            return uri; // external report
+        }
+        return substringAfter(uri, processedWorkingDirectory);
+    }
+
+    private String getUriWithoutFilePrefix(final String rawUri) {
+        if (FILE_URI_WITHOUT_HOST.matcher(rawUri).find()) {
+            return makeUriSystemCompatible(substringAfter(rawUri, "file:///"));
+        }
+        if (FILE_URI_WITH_HOST.matcher(rawUri).find()) {
+            // Extract the hostname from an uri, like: the result is 'hostname' for uri 'file://hostname/C:/abc'
+            Matcher hostMatcher = FILE_URI_HOST.matcher(rawUri);
+            var hostname = hostMatcher.matches() ? hostMatcher.group(1) : rawUri;
+            return makeUriSystemCompatible(substringAfter(rawUri, "file://" + hostname + SEPARATOR));
+        }
+        if (FILE_URI_SINGLE_SLASH.matcher(rawUri).find()) {
+            return makeUriSystemCompatible(substringAfter(rawUri, "file:/"));
+        }
+        return rawUri;
+    }
+
+    private String makeUriSystemCompatible(final String uriWithoutFilePrefix) {
+        if (WINDOWS_PATH.matcher(uriWithoutFilePrefix).find()) {
+            return uriWithoutFilePrefix;
+        }
+        return SEPARATOR + uriWithoutFilePrefix;
+    }
+
+    private String getFileName(final String relativePath) {
+        var path = Paths.get(PATH_UTIL.getAbsolutePath(relativePath)).getFileName();
+        if (path == null) {
+            return relativePath;
+        }
+        return path.toString();
+    }
+
+    private static String getValueOrEmpty(final XMLStreamReader reader, final String attribute) {
+        return StringUtils.defaultString(getOptionalValueOf(reader, attribute));
+    }
+
+    private static String getLastSegment(final String filePath) {
+        return filePath.contains(SEPARATOR) ? StringUtils.substringAfterLast(filePath, SEPARATOR) : filePath;
+    }
+
+    // Replace %25 with % and %20 with space to get an uncoded path
+    private static String decode(final String path) {
+        return path.replace("%25", "%").replace("%20", " ");
+    }
+
+    // XPath semantics: returns an empty string if the separator is not found
+    private static String substringBefore(final String value, final String separator) {
+        int index = value.indexOf(separator);
+        return index < 0 ? StringUtils.EMPTY : value.substring(0, index);
+    }
+
+    // XPath semantics: returns an empty string if the separator is not found
+    private static String substringAfter(final String value, final String separator) {
+        int index = value.indexOf(separator);
+        return index < 0 ? StringUtils.EMPTY : value.substring(index + separator.length());
+    }
+
+    private static int countTokens(final String value) {
+        var trimmed = value.trim();
+        return trimmed.isEmpty() ? 0 : WHITESPACE.split(trimmed).length;
+    }
+
+    private static int[] parseLines(final String value) {
+        var trimmed = value.trim();
+        if (trimmed.isEmpty()) {
+            return new int[0];
+        }
+        var tokens = WHITESPACE.split(trimmed);
+        var lines = new int[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            lines[i] = parseInteger(tokens[i]);
+        }
+        return lines;
+    }
+
+    /** The locations and coverage data that have been read from a report. */
+    private static class ReportData {
+        private final List<Location> locations = new ArrayList<>();
+        private final Map<String, LocationData> coverageData = new HashMap<>();
+        private String toolId = StringUtils.EMPTY;
+        private String toolDisplayName = StringUtils.EMPTY;
+        private String workingDirectory = StringUtils.EMPTY;
+    }
+
+    /** A {@code <Loc>} element, i.e. a source file. */
+    private static class Location {
+        private final String locRef;
+        private final String uri;
+        private final String projectId;
+
+        Location(final String locRef, final String uri, final String projectId) {
+            this.locRef = locRef;
+            this.uri = uri;
+            this.projectId = projectId;
+        }
+    }
+
+    /** The content of all {@code <CvgData>} elements of a single location. */
+    private static class LocationData {
+        private final List<Item> items = new ArrayList<>();
+        private final List<Statement> statements = new ArrayList<>();
+        private final Map<Integer, Integer> hitsPerLine = new HashMap<>();
+    }
+
+    /** A {@code <Item>} element, i.e. a type or a method. */
+    private static class Item {
+        private final String itemRef;
+        private final String name;
+        private final List<Item> children = new ArrayList<>();
+
+        Item(final String itemRef, final String name) {
+            this.itemRef = itemRef;
+            this.name = name;
+        }
+
+        boolean hasChildren() {
+            return !children.isEmpty();
+        }
+    }
+
+    /** A {@code <StatCvg>} element, i.e. the coverable lines of an item. */
+    private static class Statement {
+        private final String itemRef;
+        private final int[] lines;
+
+        Statement(final String itemRef, final int... lines) {
+            this.itemRef = itemRef;
+            this.lines = lines;
+        }
+
+        void addLinesTo(final Set<Integer> target) {
+            for (int line : lines) {
+                target.add(line);
+            }
+        }
+    }
+}
@@ -0,0 +1,424 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.internal.rules;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
+
+/**
+ * A controller-wide cache of rule documentation that is shared by all builds. The documents are stored content
+ * addressed (the file name is the SHA-256 hash of the contents), so identical documents are stored only once. The
+ * index maps analyzer, rule ID and the location of the document (which identifies the DTP server or local
+ * documentation set, and thus its version) to the hash of the contents.
+ * <p>
+ * Index entries expire after a configurable time (system property {@code RuleDocumentationCache.timeToLive} in
+ * hours), so documents are fetched again from time to time. If the documents exceed the configured size (system
+ * property {@code RuleDocumentationCache.maximumSize} in megabytes, 0 disables the cache) then the least recently
+ * used documents are removed. Documents that are pinned by a build, because the build is about to link them, are
+ * not removed until they are unpinned.
+ */
+public final class RuleDocumentationCache
+{
+    private static final long DEFAULT_TIME_TO_LIVE = 24; // in hours
+    private static final long DEFAULT_MAXIMUM_SIZE = 50; // in MB
+    private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    private static final String CACHE_DIR = "parasoft-findings-rules-cache"; //$NON-NLS-1$
+    private static final String INDEX_FILE = "index.properties"; //$NON-NLS-1$
+    private static final String DOC_SUFFIX = ".html"; //$NON-NLS-1$
+    private static final char KEY_SEPARATOR = '\n';
+    private static final char VALUE_SEPARATOR = ' ';
+
+    private static RuleDocumentationCache _instance = null;
+
+    private final File _rootDir;
+    private final long _timeToLive;
+    private final long _maximumSize;
+
+    private final Map<String, IndexEntry> _index = new HashMap<>();
+    private final Map<String, Long> _docSizes = new HashMap<>();
+    // number of pins of each pinned document
+    private final Map<String, Integer> _pins = new HashMap<>();
+    private long _size = 0;
+
+    /**
+     * @return the cache of this controller, or <code>null</code> if Jenkins is not running or the cache is disabled
+     */
+    @CheckForNull
+    public static synchronized RuleDocumentationCache getInstance()
+    {
+        if (_instance == null) {
+            Jenkins jenkins = Jenkins.getInstanceOrNull();
+            long maximumSize = SystemProperties.getLong(RuleDocumentationCache.class.getName() + ".maximumSize", DEFAULT_MAXIMUM_SIZE); //$NON-NLS-1$
+            if ((jenkins == null) || (maximumSize <= 0)) {
+                return null;
+            }
+            long timeToLive = SystemProperties.getLong(RuleDocumentationCache.class.getName() + ".timeToLive", DEFAULT_TIME_TO_LIVE); //$NON-NLS-1$
+            _instance = new RuleDocumentationCache(new File(jenkins.getRootDir(), CACHE_DIR), TimeUnit.HOURS.toMillis(timeToLive),
+                    maximumSize * BYTES_PER_MEGABYTE);
+        }
+        return _instance;
+    }
+
+    /**
+     * @param rootDir directory of the cached documents
+     * @param timeToLive time in milliseconds after which a document will be fetched again
+     * @param maximumSize maximum size of all cached documents in bytes
+     */
+    public RuleDocumentationCache(File rootDir, long timeToLive, long maximumSize)
+    {
+        _rootDir = rootDir;
+        _timeToLive = timeToLive;
+        _maximumSize = maximumSize;
+        load();
+    }
+
+    /**
+     * Returns the hash of the specified rule doc, if it is cached and not expired.
+     *
+     * @param analyzer analyzer of the rule
+     * @param ruleId ID of the rule
+     * @param location location the rule doc is fetched from
+     * @return the hash of the contents of the rule doc or <code>null</code>
+     */
+    @CheckForNull
+    public synchronized String getHash(String analyzer, String ruleId, String location)
+    {
+        String key = getKey(analyzer, ruleId, location);
+        IndexEntry entry = _index.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if ((System.currentTimeMillis() - entry._created > _timeToLive) || !getDocFile(entry._hash).exists()) {
+            _index.remove(key);
+            return null;
+        }
+        touch(getDocFile(entry._hash));
+        return entry._hash;
+    }
+
+    /**
+     * Returns the hash of the specified rule doc and pins the document, if it is cached and not expired. The document
+     * is not evicted before it is unpinned with {@link #unpin(Collection)}.
+     *
+     * @param analyzer analyzer of the rule
+     * @param ruleId ID of the rule
+     * @param location location the rule doc is fetched from
+     * @return the hash of the contents of the rule doc or <code>null</code>
+     */
+    @CheckForNull
+    public synchronized String getAndPinHash(String analyzer, String ruleId, String location)
+    {
+        String hash = getHash(analyzer, ruleId, location);
+        if (hash != null) {
+            pin(hash);
+        }
+        return hash;
+    }
+
+    /**
+     * Stores the contents of the specified rule doc.
+     *
+     * @param analyzer analyzer of the rule
+     * @param ruleId ID of the rule
+     * @param location location the rule doc has been fetched from
+     * @param contents contents of the rule doc
+     * @return the hash of the contents that is used to read the document with {@link #read(String)}
+     */
+    public String put(String analyzer, String ruleId, String location, String contents)
+    {
+        return putAll(Collections.singletonList(new RuleDoc(analyzer, ruleId, location, contents))).get(0);
+    }
+
+    /**
+     * Stores the contents of several rule docs. The least recently used documents are evicted and the index is saved
+     * only once for all of them, none of the specified rule docs is evicted.
+     *
+     * @param ruleDocs the rule docs to store
+     * @return the hashes of the contents in the order of the specified rule docs
+     */
+    public synchronized List<String> putAll(List<RuleDoc> ruleDocs)
+    {
+        return putAll(ruleDocs, false);
+    }
+
+    /**
+     * Stores the contents of several rule docs like {@link #putAll(List)} and pins the stored documents. The documents
+     * are not evicted before they are unpinned with {@link #unpin(Collection)}.
+     *
+     * @param ruleDocs the rule docs to store
+     * @return the hashes of the contents in the order of the specified rule docs
+     */
+    public synchronized List<String> putAndPinAll(List<RuleDoc> ruleDocs)
+    {
+        return putAll(ruleDocs, true);
+    }
+
+    /**
+     * Unpins documents that have been pinned by {@link #getAndPinHash(String, String, String)} or
+     * {@link #putAndPinAll(List)}. A document that has been pinned several times is unpinned once for each hash.
+     *
+     * @param hashes the hashes of the pinned documents
+     */
+    public synchronized void unpin(Collection<String> hashes)
+    {
+        for (String hash : hashes) {
+            _pins.computeIfPresent(hash, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private List<String> putAll(List<RuleDoc> ruleDocs, boolean pin)
+    {
+        List<String> hashes = new ArrayList<>(ruleDocs.size());
+        if (ruleDocs.isEmpty()) {
+            return hashes;
+        }
+        for (RuleDoc ruleDoc : ruleDocs) {
+            String hash = hash(ruleDoc._contents);
+            hashes.add(hash);
+            if (pin) {
+                pin(hash); // also if storing fails, so every returned hash is unpinned once
+            }
+            try {
+                storeDoc(hash, ruleDoc._contents);
+                _index.put(getKey(ruleDoc._analyzer, ruleDoc._ruleId, ruleDoc._location),
+                        new IndexEntry(hash, System.currentTimeMillis()));
+            } catch (IOException e) {
+                Logger.getLogger().warnTrace(e);
+            }
+        }
+        evictLeastRecentlyUsedDocs(new HashSet<>(hashes));
+        try {
+            save();
+        } catch (IOException e) {
+            Logger.getLogger().warnTrace(e);
+        }
+        return hashes;
+    }
+
+    /**
+     * @param hash hash of the contents of a rule doc
+     * @return the contents of the rule doc or <code>null</code> if the document is not cached (anymore)
+     */
+    @CheckForNull
+    public synchronized String read(String hash)
+    {
+        File doc = getDocFile(hash);
+        if (!_docSizes.containsKey(hash) || !doc.exists()) {
+            return null;
+        }
+        try {
+            String contents = new String(Files.readAllBytes(doc.toPath()), StandardCharsets.UTF_8);
+            touch(doc);
+            return contents;
+        } catch (IOException e) {
+            Logger.getLogger().warnTrace(e);
+            return null;
+        }
+    }
+
+    File getDocFile(String hash)
+    {
+        return new File(_rootDir, hash + DOC_SUFFIX);
+    }
+
+    private void storeDoc(String hash, String contents)
+        throws IOException
+    {
+        File doc = getDocFile(hash);
+        if (doc.exists()) {
+            touch(doc);
+            return;
+        }
+        Files.createDirectories(_rootDir.toPath());
+        Path temp = Files.createTempFile(_rootDir.toPath(), hash, null);
+        Files.write(temp, contents.getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, doc.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        addDocSize(hash, doc.length());
+    }
+
+    private void pin(String hash)
+    {
+        _pins.merge(hash, 1, Integer::sum);
+    }
+
+    private void addDocSize(String hash, long size)
+    {
+        Long previous = _docSizes.put(hash, size);
+        _size += size - (previous == null ? 0 : previous);
+    }
+
+    private void evictLeastRecentlyUsedDocs(Set<String> retainedHashes)
+    {
+        if (_size <= _maximumSize) {
+            return;
+        }
+        List<String> hashes = new ArrayList<>(_docSizes.keySet());
+        hashes.removeAll(retainedHashes);
+        hashes.removeAll(_pins.keySet());
+        hashes.sort(Comparator.comparingLong(hash -> getDocFile(hash).lastModified()));
+        for (Iterator<String> iterator = hashes.iterator(); iterator.hasNext() && (_size > _maximumSize);) {
+            String hash = iterator.next();
+            try {
+                Files.deleteIfExists(getDocFile(hash).toPath());
+            } catch (IOException e) {
+                Logger.getLogger().warnTrace(e);
+                continue;
+            }
+            _size -= _docSizes.remove(hash);
+            _index.values().removeIf(entry -> entry._hash.equals(hash));
+        }
+    }
+
+    private void load()
+    {
+        File[] docs = _rootDir.listFiles((dir, name) -> name.endsWith(DOC_SUFFIX));
+        if (docs != null) {
+            for (File doc : docs) {
+                String name = doc.getName();
+                addDocSize(name.substring(0, name.length() - DOC_SUFFIX.length()), doc.length());
+            }
+        }
+        File indexFile = new File(_rootDir, INDEX_FILE);
+        if (!indexFile.exists()) {
+            return;
+        }
+        Properties index = new Properties();
+        try (InputStream input = Files.newInputStream(indexFile.toPath())) {
+            index.load(input);
+        } catch (IOException e) {
+            Logger.getLogger().warnTrace(e);
+            return;
+        }
+        for (String key : index.stringPropertyNames()) {
+            String value = index.getProperty(key);
+            int separator = value.indexOf(VALUE_SEPARATOR);
+            if (separator < 0) {
+                continue;
+            }
+            String hash = value.substring(0, separator);
+            if (_docSizes.containsKey(hash)) {
+                try {
+                    _index.put(key, new IndexEntry(hash, Long.parseLong(value.substring(separator + 1))));
+                } catch (NumberFormatException e) {
+                    // skip broken entries, the document will be fetched again
+                }
+            }
+        }
+    }
+
+    private void save()
+        throws IOException
+    {
+        Properties index = new Properties();
+        for (Map.Entry<String, IndexEntry> entry : _index.entrySet()) {
+            index.setProperty(entry.getKey(), entry.getValue()._hash + VALUE_SEPARATOR + entry.getValue()._created);
+        }
+        Path temp = Files.createTempFile(_rootDir.toPath(), INDEX_FILE, null);
+        try (OutputStream output = Files.newOutputStream(temp)) {
+            index.store(output, null);
+        }
+        Files.move(temp, new File(_rootDir, INDEX_FILE).toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void touch(File doc)
+    {
+        try {
+            Files.setLastModifiedTime(doc.toPath(), FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // only used to determine the least recently used documents
+        }
+    }
+
+    private static String getKey(String analyzer, String ruleId, String location)
+    {
+        return analyzer + KEY_SEPARATOR + ruleId + KEY_SEPARATOR + location;
+    }
+
+    static String hash(String contents)
+    {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(contents.getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+            return String.format("%064x", new BigInteger(1, digest)); //$NON-NLS-1$
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // every Java platform is required to support SHA-256
+        }
+    }
+
+    /**
+     * The contents of a rule doc that are stored in the cache.
+     */
+    public static final class RuleDoc
+    {
+        private final String _analyzer;
+        private final String _ruleId;
+        private final String _location;
+        private final String _contents;
+
+        /**
+         * @param analyzer analyzer of the rule
+         * @param ruleId ID of the rule
+         * @param location location the rule doc has been fetched from
+         * @param contents contents of the rule doc
+         */
+        public RuleDoc(String analyzer, String ruleId, String location, String contents)
+        {
+            _analyzer = analyzer;
+            _ruleId = ruleId;
+            _location = location;
+            _contents = contents;
+        }
+    }
+
+    private static final class IndexEntry
+    {
+        private final String _hash;
+        private final long _created;
+
+        IndexEntry(String hash, long created)
+        {
+            _hash = hash;
+            _created = created;
+        }
+    }
+}
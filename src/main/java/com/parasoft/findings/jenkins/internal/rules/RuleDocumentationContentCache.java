@@ -0,0 +1,126 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.internal.rules;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import jenkins.util.SystemProperties;
+
+/**
+ * An in-memory cache of the rule doc contents that is shared by all {@link RuleDocumentationReader readers}, so the
+ * rule docs are read only once for all pages of the issues table and for all users. The cache evicts the least
+ * recently used rule docs as soon as the size of all cached rule docs exceeds the configured memory budget (system
+ * property {@code RuleDocumentationContentCache.maximumSize} in megabytes, 0 disables the cache).
+ */
+final class RuleDocumentationContentCache
+{
+    private static final long DEFAULT_MAXIMUM_SIZE = 16; // in MB
+    private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    // Rough estimate of the retained heap of an entry without the characters of the rule doc
+    private static final long BYTES_PER_ENTRY = 200;
+
+    private static final RuleDocumentationContentCache INSTANCE = new RuleDocumentationContentCache(
+            SystemProperties.getLong(RuleDocumentationContentCache.class.getName() + ".maximumSize", DEFAULT_MAXIMUM_SIZE) //$NON-NLS-1$
+                    * BYTES_PER_MEGABYTE);
+
+    static RuleDocumentationContentCache getInstance()
+    {
+        return INSTANCE;
+    }
+
+    private final long _maximumSize;
+    private final Map<String, String> _ruleDocs = new LinkedHashMap<>(16, 0.75f, true);
+    private long _size = 0;
+
+    RuleDocumentationContentCache(long maximumSize)
+    {
+        _maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns the contents of the specified rule doc. If the rule doc is not cached yet then it will be read using
+     * the specified loader. Empty rule docs are not cached, they might be stored later.
+     *
+     * @param key key of the rule doc, either the hash of its contents or the build and rule
+     * @param loader the loader that reads the rule doc
+     * @return the contents of the rule doc or <code>null</code>
+     */
+    String get(String key, Supplier<String> loader)
+    {
+        synchronized (this) {
+            String contents = _ruleDocs.get(key);
+            if (contents != null) {
+                return contents;
+            }
+        }
+        // Loading is done without holding the lock, so other rule docs are still accessible in the meantime
+        String contents = loader.get();
+        if ((contents != null) && !contents.isEmpty()) {
+            put(key, contents);
+        }
+        return contents;
+    }
+
+    synchronized void put(String key, String contents)
+    {
+        remove(key);
+
+        long ruleDocSize = estimateSize(contents);
+        if (ruleDocSize > _maximumSize) {
+            return;
+        }
+        _ruleDocs.put(key, contents);
+        _size += ruleDocSize;
+        evictLeastRecentlyUsedRuleDocs();
+    }
+
+    private void remove(String key)
+    {
+        String removed = _ruleDocs.remove(key);
+        if (removed != null) {
+            _size -= estimateSize(removed);
+        }
+    }
+
+    private void evictLeastRecentlyUsedRuleDocs()
+    {
+        Iterator<String> iterator = _ruleDocs.values().iterator();
+        while ((_size > _maximumSize) && iterator.hasNext()) {
+            _size -= estimateSize(iterator.next());
+            iterator.remove();
+        }
+    }
+
+    synchronized long getSize()
+    {
+        return _size;
+    }
+
+    synchronized int getRuleDocCount()
+    {
+        return _ruleDocs.size();
+    }
+
+    static long estimateSize(String contents)
+    {
+        return BYTES_PER_ENTRY + 2L * contents.length();
+    }
+}
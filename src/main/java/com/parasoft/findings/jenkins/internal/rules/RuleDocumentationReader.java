@@ -18,19 +18,28 @@ package com.parasoft.findings.jenkins.internal.rules;
 
 import com.parasoft.findings.utils.common.IStringConstants;
 import com.parasoft.findings.utils.common.util.FileUtil;
-import com.parasoft.findings.utils.common.util.StringUtil;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class RuleDocumentationReader
 {
     private File _buildRoot = null;
     private String _rulesDocDir = null;
 
-    private Map<String, String> _ruleDocMap = null;
+    private final RuleDocumentationContentCache _ruleDocs;
+
+    private final RuleDocumentationCache _cache;
+
+    private Properties _hashes = null;
+
+    private final Map<String, Boolean> _availableRuleDocs = new ConcurrentHashMap<>();
 
     public RuleDocumentationReader(File buildRoot)
     {
@@ -38,32 +47,143 @@ public class RuleDocumentationReader
     }
 
     public RuleDocumentationReader(File buildRoot, String rulesDocDir)
+    {
+        this(buildRoot, rulesDocDir, RuleDocumentationCache.getInstance());
+    }
+
+    /**
+     * @param cache the cache that is shared by all builds or <code>null</code> to read the rule docs of the build only
+     */
+    public RuleDocumentationReader(File buildRoot, String rulesDocDir, RuleDocumentationCache cache)
     {
         _buildRoot = buildRoot;
         _rulesDocDir = rulesDocDir;
-        _ruleDocMap = new HashMap<>();
+        _ruleDocs = RuleDocumentationContentCache.getInstance();
+        _cache = cache;
     }
 
+    /**
+     * Returns the contents of the specified rule doc. The contents are cached by all readers, rule docs whose hash is
+     * known are shared by all builds, the others are cached per build.
+     *
+     * @param analyzer analyzer of the rule
+     * @param ruleId ID of the rule
+     * @return the contents of the rule doc or an empty string if the rule doc is not available
+     */
     public String getRuleDoc(String analyzer, String ruleId)
     {
+        File ruleDoc = getRuleDocFile(analyzer, ruleId);
+        if (ruleDoc == null) {
+            return IStringConstants.EMPTY;
+        }
+        String hash = getHashes().getProperty(getRuleDocKey(analyzer, ruleId));
+        String contents = _ruleDocs.get(hash != null ? hash : ruleDoc.getAbsolutePath(), () -> readRuleDoc(hash, ruleDoc));
+        return contents != null ? contents : IStringConstants.EMPTY; //Messages.RULE_DOCUMENTATION_UNAVAILABLE;
+    }
+
+    /**
+     * Checks whether the specified rule doc has been stored with the build, without reading its contents.
+     *
+     * @param analyzer analyzer of the rule
+     * @param ruleId ID of the rule
+     * @return <code>true</code> if the rule doc is available
+     */
+    public boolean hasRuleDoc(String analyzer, String ruleId)
+    {
+        File ruleDoc = getRuleDocFile(analyzer, ruleId);
+        if (ruleDoc == null) {
+            return false;
+        }
         String key = getRuleDocKey(analyzer, ruleId);
-        String contents = _ruleDocMap.get(key);
-        if (StringUtil.isNonEmpty(contents)) {
-            return contents;
+        return _availableRuleDocs.computeIfAbsent(key, k -> getHashes().containsKey(k) || ruleDoc.isFile());
+    }
+
+    /**
+     * The analyzer and the rule ID are requested by the users, so they must not address a file outside of the rule
+     * docs directory of the build.
+     *
+     * @return the rule doc file or <code>null</code> if the analyzer or the rule ID is not a valid file name
+     */
+    private File getRuleDocFile(String analyzer, String ruleId)
+    {
+        if (!isValidName(analyzer) || !isValidName(ruleId)) {
+            return null;
         }
         File ruleDoc = new File(_buildRoot, getRuleDocRelativePath(_rulesDocDir, analyzer, ruleId));
-        if (ruleDoc.exists()) {
+        try {
+            File rulesDir = new File(_buildRoot, _rulesDocDir).getCanonicalFile();
+            if (!ruleDoc.getCanonicalFile().toPath().startsWith(rulesDir.toPath())) {
+                return null;
+            }
+        } catch (IOException e) {
+            Logger.getLogger().error(e);
+            return null;
+        }
+        return ruleDoc;
+    }
+
+    private static boolean isValidName(String name)
+    {
+        return (name != null) && !name.isEmpty() && (name.indexOf('/') < 0) && (name.indexOf('\\') < 0)
+                && !name.contains(".."); //$NON-NLS-1$
+    }
+
+    private String readRuleDoc(String hash, File ruleDoc)
+    {
+        String contents = null;
+        if ((hash != null) && (_cache != null)) {
+            contents = _cache.read(hash);
+        }
+        if ((contents == null) && ruleDoc.exists()) {
             try {
                 contents = FileUtil.readFile(ruleDoc, IStringConstants.UTF_8);
             } catch (IOException e) {
                 Logger.getLogger().error(e);
             }
         }
-        contents = contents != null ? contents : IStringConstants.EMPTY; //Messages.RULE_DOCUMENTATION_UNAVAILABLE;
-        _ruleDocMap.put(key, contents);
         return contents;
     }
 
+    private synchronized Properties getHashes()
+    {
+        if (_hashes == null) {
+            _hashes = loadHashes(new File(_buildRoot, _rulesDocDir));
+        }
+        return _hashes;
+    }
+
+    /**
+     * Stores the hashes of the rule docs of a build, they are used to read the rule docs from the
+     * {@link RuleDocumentationCache}. Existing hashes are kept.
+     *
+     * @param rulesDir the rule docs directory of the build
+     * @param hashes hashes of the contents of the rule docs mapped by rule doc key
+     */
+    static void storeHashes(File rulesDir, Map<String, String> hashes)
+        throws IOException
+    {
+        Properties properties = loadHashes(rulesDir);
+        properties.putAll(hashes);
+        Files.createDirectories(rulesDir.toPath());
+        try (OutputStream output = Files.newOutputStream(new File(rulesDir, HASHES_FILE).toPath())) {
+            properties.store(output, null);
+        }
+    }
+
+    private static Properties loadHashes(File rulesDir)
+    {
+        Properties hashes = new Properties();
+        File hashesFile = new File(rulesDir, HASHES_FILE);
+        if (hashesFile.exists()) {
+            try (InputStream input = Files.newInputStream(hashesFile.toPath())) {
+                hashes.load(input);
+            } catch (IOException e) {
+                Logger.getLogger().error(e);
+            }
+        }
+        return hashes;
+    }
+
     public static String getRuleDocRelativePath(String rulesDocDir, String analyzer, String ruleId)
     {
         return rulesDocDir + '/' + analyzer + '/' + ruleId + ".html"; //$NON-NLS-1$
@@ -74,5 +194,7 @@ public class RuleDocumentationReader
         return analyzer + '_' + ruleId;
     }
 
-    static final String DEFAULT_RULES_DIR = "parasoft-findings-rules"; //$NON-NLS-1$
+    public static final String DEFAULT_RULES_DIR = "parasoft-findings-rules"; //$NON-NLS-1$
+
+    private static final String HASHES_FILE = "rule-docs.properties"; //$NON-NLS-1$
 }
@@ -21,10 +21,27 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
+import com.parasoft.findings.jenkins.util.ParallelAgentFileVisitor;
 import com.parasoft.findings.utils.common.util.StringUtil;
 import com.parasoft.findings.utils.common.util.URLUtil;
 import com.parasoft.findings.utils.doc.RuleDocumentationProvider;
@@ -34,12 +51,27 @@ import com.parasoft.findings.utils.common.IStringConstants;
 import com.parasoft.findings.utils.common.util.FileUtil;
 import com.parasoft.findings.utils.common.util.IOUtils;
 
+import edu.hm.hafner.util.VisibleForTesting;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import hudson.FilePath;
 import hudson.FilePath.FileCallable;
 import hudson.remoting.VirtualChannel;
+import jenkins.util.SystemProperties;
 
 public class RuleDocumentationStorage
 {
+    // Number of rule docs that are fetched concurrently
+    private static final int FETCH_THREADS =
+            SystemProperties.getInteger(RuleDocumentationStorage.class.getName() + ".fetchThreads", 8); //$NON-NLS-1$
+
+    // Time to wait for all rule docs (in seconds), fetches that are still running afterwards are abandoned
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "Switched by tests")
+    @VisibleForTesting
+    static long fetchTimeout =
+            SystemProperties.getLong(RuleDocumentationStorage.class.getName() + ".fetchTimeout", 120L); //$NON-NLS-1$
+
+    private static final String FETCH_THREAD_NAME_FORMAT = "Parasoft rule doc fetcher #%d"; //$NON-NLS-1$
+
     private File _buildRoot = null;
 
     private String _rulesDocDir = null;
@@ -48,42 +80,169 @@ public class RuleDocumentationStorage
 
     private final RuleDocumentationProvider _docProvider;
 
+    private final Supplier<RuleDocumentationProvider> _docProviders;
+
+    private final RuleDocumentationCache _cache;
+
     public RuleDocumentationStorage(File buildRoot, Properties settings)
     {
         this(buildRoot, RuleDocumentationReader.DEFAULT_RULES_DIR, settings);
     }
 
     public RuleDocumentationStorage(File buildRoot, String rulesDocDir, Properties settings)
+    {
+        this(buildRoot, rulesDocDir, settings, RuleDocumentationCache.getInstance());
+    }
+
+    /**
+     * @param cache the cache that is shared by all builds or <code>null</code> to fetch all rule docs
+     */
+    public RuleDocumentationStorage(File buildRoot, String rulesDocDir, Properties settings, RuleDocumentationCache cache)
+    {
+        this(buildRoot, rulesDocDir, () -> new RuleDocumentationProvider(settings), cache);
+    }
+
+    /**
+     * @param docProviders creates the providers, one for resolving the locations and one for each fetching thread
+     */
+    @VisibleForTesting
+    RuleDocumentationStorage(File buildRoot, String rulesDocDir, Supplier<RuleDocumentationProvider> docProviders,
+        RuleDocumentationCache cache)
     {
         _buildRoot = buildRoot;
         _ruleDocs = new HashSet<>();
         _rulesDocDir = rulesDocDir;
-        _docProvider = new RuleDocumentationProvider(settings);
+        _docProvider = docProviders.get();
+        _docProviders = docProviders;
+        _cache = cache;
     }
 
     public void storeRuleDoc(String analyzer, String ruleId)
     {
-        String key = RuleDocumentationReader.getRuleDocKey(analyzer, ruleId);
-        if (_ruleDocs.contains(key)) {
-            return;
+        storeRuleDocs(Collections.singletonMap(analyzer, Collections.singleton(ruleId)));
+    }
+
+    /**
+     * Stores the documentation of all specified rules. Rule docs that are found in the controller-wide
+     * {@link RuleDocumentationCache} are not fetched again, the others are fetched concurrently by a bounded number
+     * of threads. All documents are written with a single call afterwards. Rules whose documentation could not be
+     * fetched within the timeout are skipped.
+     * <p>
+     * The locations are resolved by the {@link RuleDocumentationProvider} of this storage on the calling thread. Each
+     * fetching thread reads the documents with its own provider, since the providers are not thread safe.
+     * <p>
+     * The cached rule docs that are linked into the build are pinned until they have been linked, so another build
+     * cannot evict them in between.
+     *
+     * @param ruleIds IDs of the rules mapped by analyzer
+     */
+    public void storeRuleDocs(Map<String, ? extends Collection<String>> ruleIds)
+    {
+        InternalStoreRuleDocsFileCallable ruleDocs = new InternalStoreRuleDocsFileCallable(_rulesDocDir);
+        List<PendingRuleDoc> pendingDocs = new ArrayList<>();
+        ExecutorService executor = null;
+        ThreadLocal<RuleDocumentationProvider> fetchProviders = ThreadLocal.withInitial(_docProviders);
+        List<String> pinnedHashes = new ArrayList<>();
+        try {
+            for (Map.Entry<String, ? extends Collection<String>> entry : ruleIds.entrySet()) {
+                String analyzer = entry.getKey();
+                for (String ruleId : entry.getValue()) {
+                    String key = RuleDocumentationReader.getRuleDocKey(analyzer, ruleId);
+                    if (!_ruleDocs.add(key)) {
+                        continue;
+                    }
+                    // locations are resolved sequentially by the provider, only reading the contents is done concurrently
+                    String ruleDocLocation = _docProvider.getRuleDocLocation(analyzer, ruleId);
+                    if (StringUtil.isEmpty(ruleDocLocation)) {
+                        continue;
+                    }
+                    String hash = _cache != null ? _cache.getAndPinHash(analyzer, ruleId, ruleDocLocation) : null;
+                    if (hash != null) {
+                        pinnedHashes.add(hash);
+                        ruleDocs.addCachedRuleDoc(RuleDocumentationReader.getRuleDocRelativePath(_rulesDocDir, analyzer, ruleId),
+                                key, hash, _cache.getDocFile(hash));
+                        continue;
+                    }
+                    if (executor == null) {
+                        executor = Executors.newFixedThreadPool(Math.max(FETCH_THREADS, 1),
+                                ParallelAgentFileVisitor.createThreadFactory(FETCH_THREAD_NAME_FORMAT));
+                    }
+                    pendingDocs.add(new PendingRuleDoc(analyzer, ruleId, ruleDocLocation,
+                            executor.submit(() -> readRuleDoc(fetchProviders.get(), ruleDocLocation))));
+                }
+            }
+            collectRuleDocs(pendingDocs, ruleDocs, pinnedHashes);
+            storeRuleDocs(new FilePath(_buildRoot), ruleDocs);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            if (!pinnedHashes.isEmpty()) {
+                _cache.unpin(pinnedHashes);
+            }
         }
-        String ruleDocLocation = _docProvider.getRuleDocLocation(analyzer, ruleId);
+    }
 
-        String contents = null;
-        if (StringUtil.isNonEmpty(ruleDocLocation)) {
-            if (isLocal(ruleDocLocation)) {
-                contents = readFromLocal(ruleDocLocation);
-            } else {
-                contents = readExternalURL(ruleDocLocation);
+    private void collectRuleDocs(List<PendingRuleDoc> pendingDocs, InternalStoreRuleDocsFileCallable ruleDocs,
+        List<String> pinnedHashes)
+    {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(fetchTimeout);
+        List<String> timedOut = new ArrayList<>();
+        // the fetched rule docs are added to the cache with a single call
+        List<PendingRuleDoc> fetchedDocs = new ArrayList<>();
+        List<RuleDocumentationCache.RuleDoc> docsToCache = new ArrayList<>();
+        for (PendingRuleDoc pendingDoc : pendingDocs) {
+            String relativePath = RuleDocumentationReader.getRuleDocRelativePath(_rulesDocDir, pendingDoc._analyzer, pendingDoc._ruleId);
+            try {
+                String contents = pendingDoc._contents.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                if (!StringUtil.isNonEmptyTrimmed(contents)) {
+                    continue;
+                }
+                if (_cache != null) {
+                    fetchedDocs.add(pendingDoc);
+                    docsToCache.add(new RuleDocumentationCache.RuleDoc(pendingDoc._analyzer, pendingDoc._ruleId, pendingDoc._location, contents));
+                } else {
+                    ruleDocs.addRuleDoc(relativePath, contents);
+                }
+            } catch (TimeoutException e) {
+                pendingDoc._contents.cancel(true);
+                timedOut.add(relativePath);
+            } catch (ExecutionException e) {
+                Logger.getLogger().error(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                Logger.getLogger().warn("Fetching of rule docs has been interrupted"); //$NON-NLS-1$
+                break;
             }
         }
-        if (StringUtil.isNonEmptyTrimmed(contents)) {
-            storeRuleDoc(new FilePath(_buildRoot), _rulesDocDir, analyzer, ruleId, contents);
+        if (!timedOut.isEmpty()) {
+            Logger.getLogger().warn("Fetching of rule docs timed out after " + fetchTimeout + "s, skipped: " + timedOut); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        if (docsToCache.isEmpty()) {
+            return;
+        }
+        List<String> hashes = _cache.putAndPinAll(docsToCache);
+        pinnedHashes.addAll(hashes);
+        for (int i = 0; i < fetchedDocs.size(); i++) {
+            PendingRuleDoc fetchedDoc = fetchedDocs.get(i);
+            String hash = hashes.get(i);
+            ruleDocs.addCachedRuleDoc(RuleDocumentationReader.getRuleDocRelativePath(_rulesDocDir, fetchedDoc._analyzer, fetchedDoc._ruleId),
+                    RuleDocumentationReader.getRuleDocKey(fetchedDoc._analyzer, fetchedDoc._ruleId), hash, _cache.getDocFile(hash));
         }
-        _ruleDocs.add(key);
     }
 
-    private String readFromLocal(String ruleDocLocation)
+    private static String readRuleDoc(RuleDocumentationProvider docProvider, String ruleDocLocation)
+    {
+        if (StringUtil.isEmpty(ruleDocLocation)) {
+            return null;
+        }
+        if (isLocal(ruleDocLocation)) {
+            return readFromLocal(ruleDocLocation);
+        }
+        return docProvider.getDtpRuleDocContent(ruleDocLocation);
+    }
+
+    private static String readFromLocal(String ruleDocLocation)
     {
         File localFile = URLUtil.getLocalFile(URLUtil.toURL(ruleDocLocation));
         if (localFile != null) {
@@ -98,47 +257,81 @@ public class RuleDocumentationStorage
         return IStringConstants.EMPTY;
     }
 
-    private boolean isLocal(String ruleDocLocation)
+    private static boolean isLocal(String ruleDocLocation)
     {
         File localFile = URLUtil.getLocalFile(URLUtil.toURL(ruleDocLocation));
         return localFile != null;
     }
 
-    private String readExternalURL(String externalUrl)
-    {
-        return this._docProvider.getDtpRuleDocContent(externalUrl);
-    }
-
-    private void storeRuleDoc(FilePath rootDir, String ruleDocDir, String analyzer, String ruleId, String contents)
+    private static void storeRuleDocs(FilePath rootDir, InternalStoreRuleDocsFileCallable ruleDocs)
     {
+        if (ruleDocs.isEmpty()) {
+            return;
+        }
         try {
-            rootDir.act(new InternalStoreRuleDocFileCallable(ruleDocDir, analyzer, ruleId, contents));
+            rootDir.act(ruleDocs);
         } catch (IOException | InterruptedException e) {
             Logger.getLogger().errorTrace(e);
         }
     }
 
-    private static final class InternalStoreRuleDocFileCallable implements FileCallable<Boolean> {
+    private static final class PendingRuleDoc
+    {
+        private final String _analyzer;
+        private final String _ruleId;
+        private final String _location;
+        private final Future<String> _contents;
+
+        PendingRuleDoc(String analyzer, String ruleId, String location, Future<String> contents)
+        {
+            _analyzer = analyzer;
+            _ruleId = ruleId;
+            _location = location;
+            _contents = contents;
+        }
+    }
+
+    private static final class InternalStoreRuleDocsFileCallable implements FileCallable<Boolean> {
 
-        private static final long serialVersionUID = 1L;
+        private static final long serialVersionUID = 6287104585934261587L;
 
         private final String ruleDocDir;
-        private final String analyzer;
-        private final String ruleId;
-        private final String contents;
+        // contents of the rule docs that are not cached and paths of the cached rule docs mapped by their relative path
+        private final Map<String, String> ruleDocs = new LinkedHashMap<>();
+        private final Map<String, String> cachedRuleDocs = new LinkedHashMap<>();
+        // hashes of the contents of the cached rule docs mapped by their key
+        private final Map<String, String> hashes = new LinkedHashMap<>();
 
-        InternalStoreRuleDocFileCallable(String ruleDocDir, String analyzer, String ruleId, String contents) {
+        InternalStoreRuleDocsFileCallable(String ruleDocDir) {
             this.ruleDocDir = ruleDocDir;
-            this.analyzer = analyzer;
-            this.ruleId = ruleId;
-            this.contents = contents;
+        }
+
+        void addRuleDoc(String relativePath, String contents) {
+            ruleDocs.put(relativePath, contents);
+        }
+
+        void addCachedRuleDoc(String relativePath, String key, String hash, File cachedRuleDoc) {
+            cachedRuleDocs.put(relativePath, cachedRuleDoc.getAbsolutePath());
+            hashes.put(key, hash);
+        }
+
+        boolean isEmpty() {
+            return ruleDocs.isEmpty() && cachedRuleDocs.isEmpty();
         }
 
         @Override
         public Boolean invoke(File file, VirtualChannel channel)
                 throws IOException, InterruptedException
         {
-            internalStoreRuleDoc(file, RuleDocumentationReader.getRuleDocRelativePath(ruleDocDir, analyzer, ruleId), contents);
+            for (Map.Entry<String, String> ruleDoc : ruleDocs.entrySet()) {
+                internalStoreRuleDoc(file, ruleDoc.getKey(), ruleDoc.getValue());
+            }
+            for (Map.Entry<String, String> cachedRuleDoc : cachedRuleDocs.entrySet()) {
+                internalLinkRuleDoc(file, cachedRuleDoc.getKey(), new File(cachedRuleDoc.getValue()));
+            }
+            if (!hashes.isEmpty()) {
+                RuleDocumentationReader.storeHashes(new File(file, ruleDocDir), hashes);
+            }
             return Boolean.TRUE;
         }
 
@@ -148,6 +341,27 @@ public class RuleDocumentationStorage
         {}
     }
 
+    /**
+     * Hard links the cached rule doc into the build, so identical rule docs take up disk space only once and the rule
+     * doc is still available if it has been evicted from the cache. Falls back to a copy if linking is not supported.
+     */
+    private static void internalLinkRuleDoc(File rootDir, String ruleDocFile, File cachedRuleDoc)
+    {
+        try {
+            Path file = new File(rootDir, ruleDocFile).toPath();
+            Files.createDirectories(file.getParent());
+            // never write into an existing file, it might be linked to a cached rule doc
+            Files.deleteIfExists(file);
+            try {
+                Files.createLink(file, cachedRuleDoc.toPath());
+            } catch (IOException | UnsupportedOperationException e) {
+                Files.copy(cachedRuleDoc.toPath(), file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            Logger.getLogger().warnTrace(e);
+        }
+    }
+
     private static void internalStoreRuleDoc(File rootDir, String ruleDocFile, String contents)
     {
         Writer writer = null;
@@ -159,6 +373,8 @@ public class RuleDocumentationStorage
                     Logger.getLogger().debug("Created rules dir: " + parent.getAbsolutePath()); //$NON-NLS-1$
                 }
             }
+            // never write into an existing file, it might be linked to a cached rule doc
+            Files.deleteIfExists(file.toPath());
             writer = new OutputStreamWriter(new FileOutputStream(file.getAbsolutePath()), IStringConstants.UTF_8); // parasoft-suppress BD.RES.LEAKS "Closed in finally"
             writer.write(contents);
         } catch (IOException e) {
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.converters.Converter;
+import com.thoughtworks.xstream.converters.MarshallingContext;
+import com.thoughtworks.xstream.converters.UnmarshallingContext;
+import com.thoughtworks.xstream.core.util.HierarchicalStreams;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.mapper.Mapper;
+
+/**
+ * XStream converter for the additional properties of Parasoft issues. Each property that is set is written as an
+ * element with the name of the property. Builds that have been recorded while the properties have been a
+ * {@link java.util.HashMap} contain the properties as map entries (either as <code>entry</code> elements or as custom
+ * serialized <code>map</code> element), these formats are still accepted when reading.
+ * <p>
+ * The converter is found by Jenkins' XStream automatically as nested <code>ConverterImpl</code> class of the property
+ * classes, so it is used for the issues stored by warnings-ng as well.
+ */
+abstract class AdditionalPropertiesConverter
+        implements Converter
+{
+    private static final String ENTRY_NODE = "entry"; //$NON-NLS-1$
+    private static final String MAP_NODE = "map"; //$NON-NLS-1$
+    private static final String STRING_NODE = "string"; //$NON-NLS-1$
+    private static final String NULL_NODE = "null"; //$NON-NLS-1$
+
+    private final Mapper _mapper;
+
+    private final Class<? extends ParasoftIssueAdditionalProperties> _type;
+
+    private final Supplier<? extends ParasoftIssueAdditionalProperties> _factory;
+
+    AdditionalPropertiesConverter(XStream xstream, Class<? extends ParasoftIssueAdditionalProperties> type,
+        Supplier<? extends ParasoftIssueAdditionalProperties> factory)
+    {
+        _mapper = xstream.getMapper();
+        _type = type;
+        _factory = factory;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public boolean canConvert(Class type)
+    {
+        return type == _type;
+    }
+
+    @Override
+    public void marshal(Object source, HierarchicalStreamWriter writer, MarshallingContext context)
+    {
+        ParasoftIssueAdditionalProperties properties = (ParasoftIssueAdditionalProperties) source;
+        for (String key : properties.getKeys()) {
+            Object value = properties.getProperty(key);
+            if (value == null) {
+                continue;
+            }
+            writer.startNode(key);
+            if (value instanceof List) {
+                context.convertAnother(new ArrayList<>((List<?>) value));
+            } else {
+                writer.setValue(value.toString());
+            }
+            writer.endNode();
+        }
+    }
+
+    @Override
+    public Object unmarshal(HierarchicalStreamReader reader, UnmarshallingContext context)
+    {
+        ParasoftIssueAdditionalProperties properties = _factory.get();
+        while (reader.hasMoreChildren()) {
+            reader.moveDown();
+            String nodeName = reader.getNodeName();
+            if (ENTRY_NODE.equals(nodeName)) {
+                readEntry(properties, reader, context);
+            } else if (MAP_NODE.equals(nodeName)) {
+                readSerializedMap(properties, reader, context);
+            } else if (properties.isListProperty(nodeName)) {
+                properties.setProperty(nodeName, context.convertAnother(properties, ArrayList.class));
+            } else {
+                // elements of unknown properties are skipped
+                properties.setProperty(nodeName, reader.getValue());
+            }
+            reader.moveUp();
+        }
+        return properties;
+    }
+
+    /**
+     * Reads an entry that has been written by the map converter of XStream: the key element is followed by the value
+     * element.
+     */
+    private void readEntry(ParasoftIssueAdditionalProperties properties, HierarchicalStreamReader reader, UnmarshallingContext context)
+    {
+        reader.moveDown();
+        String key = reader.getValue();
+        reader.moveUp();
+
+        reader.moveDown();
+        Object value = readValue(properties, reader, context);
+        reader.moveUp();
+
+        properties.setProperty(key, value);
+    }
+
+    /**
+     * Reads the data that has been written by {@link java.util.HashMap#writeObject}: the default fields and the
+     * capacity and size of the map are followed by the keys (which are always strings) and values.
+     */
+    private void readSerializedMap(ParasoftIssueAdditionalProperties properties, HierarchicalStreamReader reader,
+        UnmarshallingContext context)
+    {
+        String key = null;
+        while (reader.hasMoreChildren()) {
+            reader.moveDown();
+            if (key != null) {
+                properties.setProperty(key, readValue(properties, reader, context));
+                key = null;
+            } else if (STRING_NODE.equals(reader.getNodeName())) {
+                key = reader.getValue();
+            }
+            reader.moveUp();
+        }
+    }
+
+    private Object readValue(ParasoftIssueAdditionalProperties properties, HierarchicalStreamReader reader, UnmarshallingContext context)
+    {
+        if (NULL_NODE.equals(reader.getNodeName())) {
+            return null;
+        }
+        Class<?> type = HierarchicalStreams.readClassType(reader, _mapper);
+        return context.convertAnother(properties, type);
+    }
+}
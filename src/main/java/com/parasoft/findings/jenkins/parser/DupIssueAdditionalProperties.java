@@ -17,11 +17,14 @@
 package com.parasoft.findings.jenkins.parser;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.List;
 
 import com.parasoft.findings.utils.common.IStringConstants;
 import com.parasoft.findings.jenkins.html.IHtmlTags;
 
+import com.thoughtworks.xstream.XStream;
+
 import edu.hm.hafner.analysis.Issue;
 import io.jenkins.plugins.analysis.core.model.FileNameRenderer;
 
@@ -30,6 +33,13 @@ public class DupIssueAdditionalProperties
 {
     private static final long serialVersionUID = -984630394099766160L;
 
+
+    private String _parentKey;
+
+    private String _description;
+
+    private List<Issue> _children;
+
     public DupIssueAdditionalProperties()
     {}
 
@@ -38,30 +48,80 @@ public class DupIssueAdditionalProperties
         super(author, revision, analyzer);
     }
 
-    @SuppressWarnings("unchecked")
     public List<Issue> getChildren()
     {
-        return (List<Issue>)get(CHILDREN_KEY);
+        return _children;
     }
 
     public String getDescription()
     {
-        return (String)get(DESCRIPTION_KEY);
+        return _description;
+    }
+
+    public String getParentKey()
+    {
+        return _parentKey;
     }
 
     public void setParentKey(String parentKey)
     {
-        put(PARENT_KEY, parentKey);
+        _parentKey = parentKey;
     }
 
     public void setChildren(List<Issue> children)
     {
-        put(CHILDREN_KEY, children);
+        _children = children;
     }
 
     public void setDescription(String description)
     {
-        put(DESCRIPTION_KEY, description);
+        _description = description;
+    }
+
+    @Override
+    protected List<String> getKeys()
+    {
+        return KEYS;
+    }
+
+    @Override
+    protected boolean isListProperty(String key)
+    {
+        return CHILDREN_KEY.equals(key);
+    }
+
+    @Override
+    protected Object getProperty(String key)
+    {
+        switch (key) {
+            case PARENT_KEY:
+                return _parentKey;
+            case DESCRIPTION_KEY:
+                return _description;
+            case CHILDREN_KEY:
+                return _children;
+            default:
+                return super.getProperty(key);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected boolean setProperty(String key, Object value)
+    {
+        switch (key) {
+            case PARENT_KEY:
+                setParentKey((String) value);
+                return true;
+            case DESCRIPTION_KEY:
+                setDescription((String) value);
+                return true;
+            case CHILDREN_KEY:
+                setChildren((List<Issue>) value);
+                return true;
+            default:
+                return super.setProperty(key, value);
+        }
     }
 
     public String getCallHierarchy(FileNameRenderer fileNameRenderer)
@@ -119,4 +179,19 @@ public class DupIssueAdditionalProperties
     public static final String DESCRIPTION_KEY = "description"; //$NON-NLS-1$
 
     public static final String CHILDREN_KEY = "children"; //$NON-NLS-1$
+
+    private static final List<String> KEYS = Arrays.asList(AUTHOR_KEY, REVISION_KEY, ANALYZER_KEY, PARENT_KEY, DESCRIPTION_KEY,
+            CHILDREN_KEY);
+
+    /**
+     * Reads and writes the properties as XML, see {@link AdditionalPropertiesConverter}.
+     */
+    public static final class ConverterImpl
+            extends AdditionalPropertiesConverter
+    {
+        public ConverterImpl(XStream xstream)
+        {
+            super(xstream, DupIssueAdditionalProperties.class, DupIssueAdditionalProperties::new);
+        }
+    }
 }
@@ -19,21 +19,18 @@ package com.parasoft.findings.jenkins.parser;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
 
 import com.parasoft.findings.utils.common.util.StringUtil;
 import com.parasoft.findings.utils.results.violations.*;
 import org.apache.commons.collections.CollectionUtils;
 
-import com.parasoft.findings.utils.common.IStringConstants;
 import com.parasoft.findings.utils.results.testableinput.IFileTestableInput;
 import com.parasoft.findings.utils.results.testableinput.ProjectFileTestableInput;
 import com.parasoft.findings.utils.results.testableinput.ITestableInput;
 import com.parasoft.findings.utils.common.util.CollectionUtil;
 import com.parasoft.findings.utils.results.testableinput.PathInput;
-import com.parasoft.findings.jenkins.html.Colors;
-import com.parasoft.findings.jenkins.html.IHtmlTags;
+import com.parasoft.findings.jenkins.parser.FlowPathElementMessage.FontStyle;
 import com.parasoft.findings.utils.results.testableinput.FindingsLocationMatcher;
 import com.parasoft.findings.utils.results.violations.IFlowAnalysisPathElement.Type;
 
@@ -47,12 +44,12 @@ public class FlowAnalysisPathBuilder
     private final IFlowAnalysisViolation _violation;
     private final String _parentKey;
     private Path _workspace;
+    private final List<Issue> _pathElements;
 
     private static final String ANNOTATION_KIND_POINT = "point"; //$NON-NLS-1$
     private static final String ANNOTATION_KIND_CAUSE = "cause"; //$NON-NLS-1$
     private static final String ANNOTATION_KIND_EXCEPTION = "except"; //$NON-NLS-1$
     private static final String ANNOTATION_KIND_INFO = "info"; //$NON-NLS-1$
-    private static final String ANNOTATION_SEPARATOR = " *** "; //$NON-NLS-1$
 
     private static List<String> excludedFromMessages = Arrays.asList(ANNOTATION_KIND_POINT, ANNOTATION_KIND_CAUSE);
     private static List<Character> importantPathElements = Arrays.asList(IFlowAnalysisPathElement.IMPORTANT_ELEMENT, IFlowAnalysisPathElement.POINT,
@@ -63,15 +60,53 @@ public class FlowAnalysisPathBuilder
      * @param parentKey unique key of a warning that owns this violation
      */
     public FlowAnalysisPathBuilder(IFlowAnalysisViolation violation, String parentKey, Path workspace)
+    {
+        this(violation, parentKey, workspace, null);
+    }
+
+    /**
+     * @param violation for which path information is needed
+     * @param parentKey unique key of a warning that owns this violation
+     * @param pathElements collects all created path elements (including nested ones); the file names of the collected
+     *            elements are not resolved by this builder but have to be resolved by the caller with
+     *            {@link #createAbsolutePaths(List, Path)}, so a single pass can be used for all violations of a report.
+     *            If <code>null</code> then the file names are resolved by {@link #getPath()}.
+     */
+    public FlowAnalysisPathBuilder(IFlowAnalysisViolation violation, String parentKey, Path workspace, List<Issue> pathElements)
     {
         _violation = violation;
         _parentKey = parentKey;
         _workspace = workspace;
+        _pathElements = pathElements;
     }
 
     public List<Issue> getPath()
     {
-        return getPath(_violation.getPathElements());
+        if (_pathElements != null) {
+            return getPath(_violation.getPathElements(), _pathElements);
+        }
+        List<Issue> pathElements = new ArrayList<>();
+        List<Issue> result = getPath(_violation.getPathElements(), pathElements);
+        createAbsolutePaths(pathElements, _workspace);
+        return result;
+    }
+
+    /**
+     * Resolves the file names of the specified path elements to absolute paths in the workspace. The workspace is
+     * scanned only once for all elements, so the elements of all violations of a report should be resolved together.
+     *
+     * @param pathElements the path elements to resolve
+     * @param workspace the workspace that contains the source files
+     */
+    public static void createAbsolutePaths(List<Issue> pathElements, Path workspace)
+    {
+        if (!CollectionUtil.isNonEmpty(pathElements) || (workspace == null)) {
+            return;
+        }
+        Report report = new Report();
+        report.addAll(pathElements);
+        FileNameResolver resolver = new FileNameResolver();
+        resolver.run(report, workspace.toString(), x -> false);
     }
 
     private String getAnnotationByKind(IFlowAnalysisPathElement descriptor, String kind)
@@ -84,34 +119,9 @@ public class FlowAnalysisPathBuilder
         return null;
     }
 
-    private List<Issue> getChildren(IFlowAnalysisPathElement descriptor)
+    private List<Issue> getChildren(IFlowAnalysisPathElement descriptor, List<Issue> pathElements)
     {
-        return getPath(descriptor.getChildren());
-    }
-
-    private String getDescription(IFlowAnalysisPathElement descriptor, boolean useAnnotation)
-    {
-        StringBuilder sb = new StringBuilder();
-        sb.append(IHtmlTags.NON_BREAKABLE_SPACE);
-        sb.append(IHtmlTags.CODE_START_TAG);
-
-        if (!isImportant(descriptor)) {
-            sb.append(Colors.createColorSpanStartTag(Colors.GRAY));
-            sb.append(descriptor.getDescription());
-            sb.append(IHtmlTags.SPAN_END_TAG);
-        } else {
-            sb.append(Colors.createColorSpanStartTag(Colors.BLACK));
-            sb.append(descriptor.getDescription());
-            sb.append(IHtmlTags.SPAN_END_TAG);
-        }
-
-        sb.append(IHtmlTags.CODE_END_TAG);
-        String message = getMessage(descriptor, true, useAnnotation);
-
-        if (message.length() > 0) {
-            sb.append(message);
-        }
-        return sb.toString();
+        return getPath(descriptor.getChildren(), pathElements);
     }
 
     private String getExceptionMessageFromDescriptor(IFlowAnalysisPathElement descriptor)
@@ -125,178 +135,108 @@ public class FlowAnalysisPathBuilder
         }
     }
 
-    private String getMessage(IFlowAnalysisPathElement descriptor, boolean bFullDescription, boolean useAnnotation)
+    private List<FlowPathElementMessage> getMessages(IFlowAnalysisPathElement descriptor, boolean useAnnotation)
     {
-        if (descriptor == null) {
-            return IStringConstants.EMPTY;
+        List<FlowPathElementMessage> messages = new ArrayList<>();
+        if ((descriptor == null) || (descriptor.getType() == null) || (descriptor.getType().getIdentifier() == null)) {
+            return messages;
         }
 
-        if ((descriptor.getType() == null) || (descriptor.getType().getIdentifier() == null)) {
-            return IStringConstants.EMPTY;
-        }
-
-        StringBuilder sb = new StringBuilder();
-
+        String identifier = descriptor.getType().getIdentifier();
         if (useAnnotation) {
-            addAnnotations(sb, descriptor, bFullDescription);
+            addAnnotations(messages, descriptor, identifier);
         } else {
-            String identifier = descriptor.getType().getIdentifier();
-            if (!bFullDescription) {
-                if (identifier.contains(String.valueOf(IFlowAnalysisPathElement.POINT))) {
-                    addStyledMessage(sb, FlowAnalysisViolationUtil.getPointMessage(_violation), bFullDescription, null, FontStyle.BLANK);
-                }
-                if (identifier.contains(String.valueOf(IFlowAnalysisPathElement.CAUSE))) {
-                    addStyledMessage(sb, FlowAnalysisViolationUtil.getCauseMessage(_violation), bFullDescription, null, FontStyle.BLANK);
-                }
+            if (identifier.contains(String.valueOf(IFlowAnalysisPathElement.POINT))) {
+                addMessage(messages, FlowAnalysisViolationUtil.getPointMessage(_violation), FontStyle.BLANK);
+            }
+            if (identifier.contains(String.valueOf(IFlowAnalysisPathElement.CAUSE))) {
+                addMessage(messages, FlowAnalysisViolationUtil.getCauseMessage(_violation), FontStyle.BLANK);
             }
-
             if (identifier.contains(String.valueOf(IFlowAnalysisPathElement.THROWING_CHAR))) {
-                String message = getExceptionMessageFromDescriptor(descriptor);
-                addExceptionMessage(sb, message, bFullDescription);
+                addMessage(messages, getExceptionMessageFromDescriptor(descriptor), FontStyle.ITALIC_BOLD);
             }
         }
+        return messages;
+    }
 
+    private static String getMessage(List<FlowPathElementMessage> messages)
+    {
+        StringBuilder sb = new StringBuilder();
+        for (FlowPathElementMessage message : messages) {
+            if (sb.length() > 0) {
+                sb.append("; "); //$NON-NLS-1$
+            }
+            sb.append(message.getMessage());
+        }
         return sb.toString();
     }
 
-    private List<Issue> getPath(IFlowAnalysisPathElement[] descriptors)
+    private static List<FlowPathElementMessage> getDescriptionMessages(List<FlowPathElementMessage> messages)
+    {
+        // messages without style (point and cause) are shown in the issue message only
+        List<FlowPathElementMessage> descriptionMessages = new ArrayList<>();
+        for (FlowPathElementMessage message : messages) {
+            if (message.getStyle() != FontStyle.BLANK) {
+                descriptionMessages.add(message);
+            }
+        }
+        return descriptionMessages;
+    }
+
+    private List<Issue> getPath(IFlowAnalysisPathElement[] descriptors, List<Issue> pathElements)
     {
         boolean useAnnotations = useAnnotations(descriptors);
         List<Issue> result = new ArrayList<Issue>();
         IssueBuilder issueBuilder = new IssueBuilder();
         for (IFlowAnalysisPathElement descriptor : descriptors) {
-            Issue element = createElement(descriptor, useAnnotations, issueBuilder);
+            Issue element = createElement(descriptor, useAnnotations, issueBuilder, pathElements);
             result.add(element);
         }
-        if (CollectionUtil.isNonEmpty(result)) {
-            createAbsolutePathsForIssues(result);
-        }
+        pathElements.addAll(result);
         return result;
     }
 
-    private void addAnnotations(StringBuilder sb, IFlowAnalysisPathElement descriptor, boolean bFullDescription)
+    private void addAnnotations(List<FlowPathElementMessage> messages, IFlowAnalysisPathElement descriptor, String descriptorIdentifier)
     {
         if (descriptor.getAnnotations() == null) {
             return;
         }
 
-        List<PathElementAnnotation> annotations = new ArrayList<>(descriptor.getAnnotations());
-
-        addImportantMessages(sb, annotations, bFullDescription, descriptor.getType().getIdentifier());
-        addNormalMessages(sb, annotations, bFullDescription);
-    }
-
-    private void addExceptionMessage(StringBuilder sb, String message, boolean bFullDescription)
-    {
-        if (message != null) {
-            addStyledMessage(sb, message, bFullDescription, Colors.GREEN, FontStyle.ITALIC_BOLD);
-        }
-    }
-
-    private void addImportantMessages(StringBuilder sb, List<PathElementAnnotation> annotations, boolean bFullDescription,
-                                      String descriptorIdentifier)
-    {
-        for (Iterator<PathElementAnnotation> it = annotations.iterator(); it.hasNext();) {
-            PathElementAnnotation annotation = it.next();
+        List<PathElementAnnotation> normalAnnotations = new ArrayList<>();
+        for (PathElementAnnotation annotation : descriptor.getAnnotations()) {
             String kind = annotation.getKind();
             if (kind == null) {
-                it.remove();
+                continue;
             } else if (excludedFromMessages.contains(kind)) {
-                if (!bFullDescription) {
-                    addStyledMessage(sb, annotation.getMessage(), bFullDescription, null, FontStyle.BLANK);
-                }
-                it.remove();
+                addMessage(messages, annotation.getMessage(), FontStyle.BLANK);
             } else if (descriptorIdentifier.contains(String.valueOf(IFlowAnalysisPathElement.RULE)) && kind.equals(ANNOTATION_KIND_INFO)) {
-                addRuleImportantPointMessage(sb, annotation.getMessage(), bFullDescription);
-                it.remove();
+                addMessage(messages, annotation.getMessage(), FontStyle.BOLD);
             } else if (kind.equals(ANNOTATION_KIND_EXCEPTION)) {
-                addExceptionMessage(sb, annotation.getMessage(), bFullDescription);
-                it.remove();
+                addMessage(messages, annotation.getMessage(), FontStyle.ITALIC_BOLD);
+            } else {
+                normalAnnotations.add(annotation);
             }
         }
-    }
-
-    private void addNormalMessage(StringBuilder sb, String message, boolean bFullDescription)
-    {
-        addStyledMessage(sb, message, bFullDescription, Colors.GREEN, FontStyle.ITALIC);
-    }
-
-    private void addNormalMessages(StringBuilder sb, List<PathElementAnnotation> annotations, boolean bFullDescription)
-    {
-        for (PathElementAnnotation annotation : annotations) {
-            addNormalMessage(sb, annotation.getMessage(), bFullDescription);
+        for (PathElementAnnotation annotation : normalAnnotations) {
+            addMessage(messages, annotation.getMessage(), FontStyle.ITALIC);
         }
     }
 
-    private void addRuleImportantPointMessage(StringBuilder sb, String message, boolean bFullDescription)
+    private void addMessage(List<FlowPathElementMessage> messages, String message, FontStyle style)
     {
-        addStyledMessage(sb, message, bFullDescription, Colors.GREEN, FontStyle.BOLD);
-    }
-
-    private static void addStyledMessage(StringBuilder sb, String message, boolean bFullDescription, String color, FontStyle style)
-    {
-        if (StringUtil.isEmpty(message)) {
-            return;
-        }
-
-        if ((color != null) && bFullDescription) {
-            sb.append(Colors.createColorSpanStartTag(color));
-        }
-
-        String sSeparator = IStringConstants.EMPTY;
-        if (!bFullDescription && (sb.length() > 0)) {
-            sSeparator = "; "; //$NON-NLS-1$
-        } else if (bFullDescription) {
-            sSeparator = ANNOTATION_SEPARATOR;
-        }
-
-        sb.append(sSeparator);
-
-        if (bFullDescription) {
-            if (style == FontStyle.BOLD) {
-                sb.append(IHtmlTags.BOLD_START_TAG);
-            } else if (style == FontStyle.ITALIC) {
-                sb.append(IHtmlTags.ITALIC_START_TAG);
-            } else if (style == FontStyle.ITALIC_BOLD) {
-                sb.append(IHtmlTags.BOLD_START_TAG);
-                sb.append(IHtmlTags.ITALIC_START_TAG);
-            }
-        }
-
-        sb.append(message);
-
-        if (bFullDescription) {
-            if (style == FontStyle.BOLD) {
-                sb.append(IHtmlTags.BOLD_END_TAG);
-            } else if (style == FontStyle.ITALIC) {
-                sb.append(IHtmlTags.ITALIC_END_TAG);
-            } else if (style == FontStyle.ITALIC_BOLD) {
-                sb.append(IHtmlTags.ITALIC_END_TAG);
-                sb.append(IHtmlTags.BOLD_END_TAG);
-            }
-        }
-
-        if ((color != null) && bFullDescription) {
-            sb.append(IHtmlTags.SPAN_END_TAG);
+        if (StringUtil.isNonEmpty(message)) {
+            messages.add(new FlowPathElementMessage(message, style));
         }
     }
 
-    private void createAbsolutePathsForIssues(List<Issue> issues)
-    {
-        Report report = new Report();
-        report.addAll(issues);
-        FileNameResolver resolver = new FileNameResolver();
-        resolver.run(report, _workspace.toString(), x -> false);
-    }
-
-    private Issue createElement(IFlowAnalysisPathElement descriptor, boolean useAnnotation, IssueBuilder issueBuilder)
+    private Issue createElement(IFlowAnalysisPathElement descriptor, boolean useAnnotation, IssueBuilder issueBuilder, List<Issue> pathElements)
     {
         ResultLocation location = descriptor.getLocation();
         FlowIssueAdditionalProperties additionalProperties = new FlowIssueAdditionalProperties();
         issueBuilder.setAdditionalProperties(additionalProperties);
         if (location != null) {
-            String message = getMessage(descriptor, false, useAnnotation);
-            issueBuilder.setMessage(message);
+            List<FlowPathElementMessage> messages = getMessages(descriptor, useAnnotation);
+            issueBuilder.setMessage(getMessage(messages));
             ITestableInput input = location.getTestableInput();
             String filePath = null;
             if (input instanceof IFileTestableInput) {
@@ -323,8 +263,10 @@ public class FlowAnalysisPathBuilder
             issueBuilder.setLineEnd(sourceRange.getEndLine());
             issueBuilder.setColumnStart(sourceRange.getStartLineOffset());
             issueBuilder.setColumnEnd(sourceRange.getEndLineOffset());
-            additionalProperties.setChildren(getChildren(descriptor));
-            additionalProperties.setDescription(getDescription(descriptor, useAnnotation));
+            additionalProperties.setChildren(getChildren(descriptor, pathElements));
+            // the HTML description is rendered on demand from the raw data
+            additionalProperties.setDescription(descriptor.getDescription(), isImportant(descriptor),
+                    getDescriptionMessages(messages));
 
             String typeId = descriptor.getType().getIdentifier();
             if (typeId != null) {
@@ -382,9 +324,4 @@ public class FlowAnalysisPathBuilder
 
         return false;
     }
-
-    enum FontStyle
-    {
-        BLANK, ITALIC, BOLD, ITALIC_BOLD
-    }
 }
@@ -17,12 +17,17 @@
 package com.parasoft.findings.jenkins.parser;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.List;
 
 import com.parasoft.findings.utils.common.util.CollectionUtil;
 import com.parasoft.findings.jenkins.html.Colors;
 import com.parasoft.findings.jenkins.html.IHtmlTags;
 
+import org.apache.commons.lang3.StringUtils;
+
+import com.thoughtworks.xstream.XStream;
+
 import edu.hm.hafner.analysis.Issue;
 import io.jenkins.plugins.analysis.core.model.FileNameRenderer;
 
@@ -31,6 +36,28 @@ public class FlowIssueAdditionalProperties
 {
     private static final long serialVersionUID = 3241507213664883643L;
 
+
+    private String _cause;
+
+    private String _point;
+
+    private String _parentKey;
+
+    private String _description;
+
+    private String _descriptionText;
+
+    private boolean _important;
+
+    private List<FlowPathElementMessage> _descriptionMessages;
+
+    private List<Issue> _children;
+
+    // HTML is rendered on demand and kept while the issue is in memory
+    private transient String _renderedDescription;
+
+    private transient String _callHierarchy;
+
     public FlowIssueAdditionalProperties()
     {}
 
@@ -39,53 +66,185 @@ public class FlowIssueAdditionalProperties
         super(author, revision, analyzer);
     }
 
-    @SuppressWarnings("unchecked")
     public List<Issue> getChildren()
     {
-        return (List<Issue>)get(CHILDREN_KEY);
+        return _children;
     }
 
     public String getDescription()
     {
-        return (String)get(DESCRIPTION_KEY);
+        if ((_description == null) && (_descriptionText != null)) {
+            if (_renderedDescription == null) {
+                _renderedDescription = renderDescription();
+            }
+            return _renderedDescription;
+        }
+        return _description;
+    }
+
+    public String getDescriptionText()
+    {
+        return _descriptionText;
+    }
+
+    public boolean isImportant()
+    {
+        return _important;
+    }
+
+    public List<FlowPathElementMessage> getDescriptionMessages()
+    {
+        return _descriptionMessages;
     }
 
     public String getCause()
     {
-        return (String)get(CAUSE_KEY);
+        return _cause;
     }
 
     public String getPoint()
     {
-        return (String)get(POINT_KEY);
+        return _point;
+    }
+
+    public String getParentKey()
+    {
+        return _parentKey;
     }
 
     public void setParentKey(String parentKey)
     {
-        put(PARENT_KEY, parentKey);
+        _parentKey = parentKey;
     }
 
     public void setChildren(List<Issue> children)
     {
-        put(CHILDREN_KEY, children);
+        _children = children;
+        _callHierarchy = null;
     }
 
+    /**
+     * Sets the HTML description, only used for path elements of builds that have been recorded before the raw data of
+     * the description has been stored.
+     */
     public void setDescription(String description)
     {
-        put(DESCRIPTION_KEY, description);
+        _description = description;
+        _renderedDescription = null;
+    }
+
+    /**
+     * Sets the raw data of the description, the HTML is rendered when the description is requested.
+     *
+     * @param descriptionText text of the path element
+     * @param important whether the path element is important (e.g. a cause or point)
+     * @param descriptionMessages messages that are appended to the text
+     */
+    public void setDescription(String descriptionText, boolean important, List<FlowPathElementMessage> descriptionMessages)
+    {
+        _descriptionText = StringUtils.defaultString(descriptionText);
+        _important = important;
+        _descriptionMessages = CollectionUtil.isNonEmpty(descriptionMessages) ? descriptionMessages : null;
+        _renderedDescription = null;
     }
 
     public void setCause(String cause)
     {
-        put(CAUSE_KEY, cause);
+        _cause = cause;
     }
 
     public void setPoint(String point)
     {
-        put(POINT_KEY, point);
+        _point = point;
+    }
+
+    @Override
+    protected List<String> getKeys()
+    {
+        return KEYS;
+    }
+
+    @Override
+    protected boolean isListProperty(String key)
+    {
+        return CHILDREN_KEY.equals(key) || DESCRIPTION_MESSAGES_KEY.equals(key);
+    }
+
+    @Override
+    protected Object getProperty(String key)
+    {
+        switch (key) {
+            case DESCRIPTION_TEXT_KEY:
+                return _descriptionText;
+            case IMPORTANT_KEY:
+                return _important ? Boolean.TRUE : null;
+            case DESCRIPTION_MESSAGES_KEY:
+                return _descriptionMessages;
+            case CAUSE_KEY:
+                return _cause;
+            case POINT_KEY:
+                return _point;
+            case PARENT_KEY:
+                return _parentKey;
+            case DESCRIPTION_KEY:
+                return _description;
+            case CHILDREN_KEY:
+                return _children;
+            default:
+                return super.getProperty(key);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected boolean setProperty(String key, Object value)
+    {
+        switch (key) {
+            case DESCRIPTION_TEXT_KEY:
+                _descriptionText = (String) value;
+                _renderedDescription = null;
+                return true;
+            case IMPORTANT_KEY:
+                _important = (value != null) && Boolean.parseBoolean(value.toString());
+                _renderedDescription = null;
+                return true;
+            case DESCRIPTION_MESSAGES_KEY:
+                _descriptionMessages = (List<FlowPathElementMessage>) value;
+                _renderedDescription = null;
+                return true;
+            case CAUSE_KEY:
+                setCause((String) value);
+                return true;
+            case POINT_KEY:
+                setPoint((String) value);
+                return true;
+            case PARENT_KEY:
+                setParentKey((String) value);
+                return true;
+            case DESCRIPTION_KEY:
+                setDescription((String) value);
+                return true;
+            case CHILDREN_KEY:
+                setChildren((List<Issue>) value);
+                return true;
+            default:
+                return super.setProperty(key, value);
+        }
     }
 
     public String getCallHierarchy(FileNameRenderer fileNameRenderer)
+    {
+        if (fileNameRenderer != null) {
+            return renderCallHierarchy(fileNameRenderer);
+        }
+        // the hierarchy without links does not depend on the build, so it is rendered only once
+        if (_callHierarchy == null) {
+            _callHierarchy = renderCallHierarchy(null);
+        }
+        return _callHierarchy;
+    }
+
+    private String renderCallHierarchy(FileNameRenderer fileNameRenderer)
     {
         StringBuilder message = new StringBuilder();
         message.append("<ul>"); //$NON-NLS-1$
@@ -99,6 +258,23 @@ public class FlowIssueAdditionalProperties
         return message.toString();
     }
 
+    private String renderDescription()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append(IHtmlTags.NON_BREAKABLE_SPACE);
+        sb.append(IHtmlTags.CODE_START_TAG);
+        sb.append(Colors.createColorSpanStartTag(_important ? Colors.BLACK : Colors.GRAY));
+        sb.append(_descriptionText);
+        sb.append(IHtmlTags.SPAN_END_TAG);
+        sb.append(IHtmlTags.CODE_END_TAG);
+        if (_descriptionMessages != null) {
+            for (FlowPathElementMessage message : _descriptionMessages) {
+                message.appendHtml(sb);
+            }
+        }
+        return sb.toString();
+    }
+
     private String getChildDescription(Issue issue, FileNameRenderer fileNameRenderer)
     {
         FlowIssueAdditionalProperties additionalProperties = getAdditionalProperties(issue);
@@ -183,4 +359,22 @@ public class FlowIssueAdditionalProperties
     public static final String PARENT_KEY = "parentKey"; //$NON-NLS-1$
     public static final String DESCRIPTION_KEY = "description"; //$NON-NLS-1$
     public static final String CHILDREN_KEY = "children"; //$NON-NLS-1$
+    public static final String DESCRIPTION_TEXT_KEY = "descriptionText"; //$NON-NLS-1$
+    public static final String IMPORTANT_KEY = "important"; //$NON-NLS-1$
+    public static final String DESCRIPTION_MESSAGES_KEY = "descriptionMessages"; //$NON-NLS-1$
+
+    private static final List<String> KEYS = Arrays.asList(AUTHOR_KEY, REVISION_KEY, ANALYZER_KEY, CAUSE_KEY, POINT_KEY, PARENT_KEY,
+            DESCRIPTION_KEY, DESCRIPTION_TEXT_KEY, IMPORTANT_KEY, DESCRIPTION_MESSAGES_KEY, CHILDREN_KEY);
+
+    /**
+     * Reads and writes the properties as XML, see {@link AdditionalPropertiesConverter}.
+     */
+    public static final class ConverterImpl
+            extends AdditionalPropertiesConverter
+    {
+        public ConverterImpl(XStream xstream)
+        {
+            super(xstream, FlowIssueAdditionalProperties.class, FlowIssueAdditionalProperties::new);
+        }
+    }
 }
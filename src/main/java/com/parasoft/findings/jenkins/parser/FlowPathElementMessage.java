@@ -0,0 +1,116 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.parser;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import com.parasoft.findings.jenkins.html.Colors;
+import com.parasoft.findings.jenkins.html.IHtmlTags;
+
+/**
+ * A message of a flow analysis path element (e.g. an annotation) that is shown in the description of the element.
+ * Only the text and style of the message are stored, the HTML is created when the description is rendered.
+ */
+public class FlowPathElementMessage
+        implements Serializable
+{
+    private static final long serialVersionUID = 2896185271625707384L;
+
+    private static final String SEPARATOR = " *** "; //$NON-NLS-1$
+
+    private final String _message;
+
+    private final FontStyle _style;
+
+    public FlowPathElementMessage(String message, FontStyle style)
+    {
+        _message = message;
+        _style = style;
+    }
+
+    public String getMessage()
+    {
+        return _message;
+    }
+
+    public FontStyle getStyle()
+    {
+        return _style;
+    }
+
+    /**
+     * Appends the HTML representation of this message to the specified builder.
+     *
+     * @param sb the builder
+     */
+    public void appendHtml(StringBuilder sb)
+    {
+        sb.append(Colors.createColorSpanStartTag(Colors.GREEN));
+        sb.append(SEPARATOR);
+        if (_style == FontStyle.BOLD) {
+            sb.append(IHtmlTags.BOLD_START_TAG);
+        } else if (_style == FontStyle.ITALIC) {
+            sb.append(IHtmlTags.ITALIC_START_TAG);
+        } else if (_style == FontStyle.ITALIC_BOLD) {
+            sb.append(IHtmlTags.BOLD_START_TAG);
+            sb.append(IHtmlTags.ITALIC_START_TAG);
+        }
+
+        sb.append(_message);
+
+        if (_style == FontStyle.BOLD) {
+            sb.append(IHtmlTags.BOLD_END_TAG);
+        } else if (_style == FontStyle.ITALIC) {
+            sb.append(IHtmlTags.ITALIC_END_TAG);
+        } else if (_style == FontStyle.ITALIC_BOLD) {
+            sb.append(IHtmlTags.ITALIC_END_TAG);
+            sb.append(IHtmlTags.BOLD_END_TAG);
+        }
+        sb.append(IHtmlTags.SPAN_END_TAG);
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj) {
+            return true;
+        }
+        if ((obj == null) || (getClass() != obj.getClass())) {
+            return false;
+        }
+        FlowPathElementMessage other = (FlowPathElementMessage) obj;
+        return Objects.equals(_message, other._message) && (_style == other._style);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(_message, _style);
+    }
+
+    @Override
+    public String toString()
+    {
+        return _message;
+    }
+
+    public enum FontStyle
+    {
+        BLANK, ITALIC, BOLD, ITALIC_BOLD
+    }
+}
@@ -16,39 +16,221 @@
 
 package com.parasoft.findings.jenkins.parser;
 
-import java.util.HashMap;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
+import com.thoughtworks.xstream.XStream;
+
+/**
+ * Additional properties of a Parasoft issue. The properties are stored in fields (instead of map entries) to keep the
+ * memory footprint of large reports small, the {@link Map} view is kept since the properties are accessed by name in
+ * property filters, e.g. <code>additionalProperties(author)</code>. Only properties that are set are visible in the
+ * map view.
+ */
 public class ParasoftIssueAdditionalProperties
-        extends HashMap<String, Object>
+        extends AbstractMap<String, Object>
+        implements Serializable
 {
     private static final long serialVersionUID = -5014146322978138084L;
 
+
+    private String _author;
+
+    private String _revision;
+
+    private String _analyzer;
+
     public ParasoftIssueAdditionalProperties()
     {}
 
     public ParasoftIssueAdditionalProperties(String author, String revision, String analyzer)
     {
-        put(AUTHOR_KEY, author);
-        put(REVISION_KEY, revision);
-        put(ANALYZER_KEY, analyzer);
+        setAuthor(author);
+        setRevision(revision);
+        setAnalyzer(analyzer);
     }
 
     public String getAuthor()
     {
-        return (String)get(AUTHOR_KEY);
+        return _author;
     }
 
     public String getRevision()
     {
-        return (String)get(REVISION_KEY);
+        return _revision;
     }
 
     public String getAnalyzer()
     {
-        return (String)get(ANALYZER_KEY);
+        return _analyzer;
+    }
+
+    public void setAuthor(String author)
+    {
+        _author = intern(author);
+    }
+
+    public void setRevision(String revision)
+    {
+        _revision = intern(revision);
+    }
+
+    public void setAnalyzer(String analyzer)
+    {
+        _analyzer = intern(analyzer);
+    }
+
+    /**
+     * @return the names of all supported properties
+     */
+    protected List<String> getKeys()
+    {
+        return KEYS;
+    }
+
+    /**
+     * @param key name of the property
+     * @return <code>true</code> if the value of the property is a list
+     */
+    protected boolean isListProperty(String key)
+    {
+        return false;
+    }
+
+    /**
+     * @param key name of the property
+     * @return value of the property or <code>null</code> if the property is not set or not supported
+     */
+    protected Object getProperty(String key)
+    {
+        switch (key) {
+            case AUTHOR_KEY:
+                return _author;
+            case REVISION_KEY:
+                return _revision;
+            case ANALYZER_KEY:
+                return _analyzer;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @param key name of the property
+     * @param value new value of the property
+     * @return <code>true</code> if the property is supported, <code>false</code> otherwise
+     */
+    protected boolean setProperty(String key, Object value)
+    {
+        switch (key) {
+            case AUTHOR_KEY:
+                setAuthor((String) value);
+                return true;
+            case REVISION_KEY:
+                setRevision((String) value);
+                return true;
+            case ANALYZER_KEY:
+                setAnalyzer((String) value);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public Object get(Object key)
+    {
+        return key instanceof String ? getProperty((String) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return get(key) != null;
+    }
+
+    @Override
+    public Object put(String key, Object value)
+    {
+        Object previous = getProperty(key);
+        if (!setProperty(key, value)) {
+            throw new IllegalArgumentException("Unsupported property: " + key); //$NON-NLS-1$
+        }
+        return previous;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet()
+    {
+        Map<String, Object> entries = new LinkedHashMap<>();
+        for (String key : getKeys()) {
+            Object value = getProperty(key);
+            if (value != null) {
+                entries.put(key, value);
+            }
+        }
+        return Collections.unmodifiableMap(entries).entrySet();
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (obj == this) {
+            return true;
+        }
+        if ((obj == null) || (obj.getClass() != getClass())) {
+            return super.equals(obj);
+        }
+        ParasoftIssueAdditionalProperties other = (ParasoftIssueAdditionalProperties) obj;
+        for (String key : getKeys()) {
+            if (!Objects.equals(getProperty(key), other.getProperty(key))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        // same value as the hash code of the map view, but without creating the entries
+        int hashCode = 0;
+        for (String key : getKeys()) {
+            Object value = getProperty(key);
+            if (value != null) {
+                hashCode += key.hashCode() ^ value.hashCode();
+            }
+        }
+        return hashCode;
+    }
+
+    private static String intern(String value)
+    {
+        return value == null ? null : value.intern();
     }
 
     public static final String ANALYZER_KEY = "analyzer"; //$NON-NLS-1$
     public static final String REVISION_KEY = "revision"; //$NON-NLS-1$
     public static final String AUTHOR_KEY = "author"; //$NON-NLS-1$
+
+    private static final List<String> KEYS = Arrays.asList(AUTHOR_KEY, REVISION_KEY, ANALYZER_KEY);
+
+    /**
+     * Reads and writes the properties as XML, see {@link AdditionalPropertiesConverter}.
+     */
+    public static final class ConverterImpl
+            extends AdditionalPropertiesConverter
+    {
+        public ConverterImpl(XStream xstream)
+        {
+            super(xstream, ParasoftIssueAdditionalProperties.class, ParasoftIssueAdditionalProperties::new);
+        }
+    }
 }
@@ -21,7 +21,9 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.Serializable;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Properties;
 
 import com.parasoft.findings.utils.results.violations.*;
@@ -99,6 +101,9 @@ public class ParasoftParser
     {
         IssueBuilder issueBuilder = new IssueBuilder();
         Report report = new Report();
+        Path workspacePath = _workspace == null ? null : new File(_workspace).toPath();
+        List<Issue> pathElements = new ArrayList<>();
+        StringPool strings = new StringPool();
 
         while (importResults.hasNext()) {
             IViolation result = importResults.next();
@@ -109,30 +114,33 @@ public class ParasoftParser
                 Logger.getLogger().warn("Result is not instance of IRuleViolation"); //$NON-NLS-1$
                 continue;
             }
-            if (reportViolation(violation, rulesImportHandler, "-", issueBuilder)) { //$NON-NLS-1$
+            if (reportViolation(violation, rulesImportHandler, "-", issueBuilder, strings)) { //$NON-NLS-1$
                 Issue issue = issueBuilder.build();
-                populateViolationPathElements(violation, issue);
+                populateViolationPathElements(violation, issue, workspacePath, pathElements);
                 report.add(issue);
             }
         }
+        // File names of the flow analysis path elements of all violations are resolved in one pass over the workspace
+        FlowAnalysisPathBuilder.createAbsolutePaths(pathElements, workspacePath);
         return report;
     }
 
-    private void populateViolationPathElements(IRuleViolation violation, Issue issue)
+    private void populateViolationPathElements(IRuleViolation violation, Issue issue, Path workspacePath, List<Issue> pathElements)
     {
         Serializable properties = issue.getAdditionalProperties();
-        Path workspacePath = _workspace == null ? null : new File(_workspace).toPath();
         if (properties instanceof FlowIssueAdditionalProperties) {
             FlowIssueAdditionalProperties additionalProperties = (FlowIssueAdditionalProperties) properties;
             additionalProperties
-                    .setChildren(new FlowAnalysisPathBuilder((IFlowAnalysisViolation) violation, issue.getId().toString(), workspacePath).getPath());
+                    .setChildren(new FlowAnalysisPathBuilder((IFlowAnalysisViolation) violation, issue.getId().toString(), workspacePath, pathElements)
+                            .getPath());
         } else if (properties instanceof DupIssueAdditionalProperties) {
             DupIssueAdditionalProperties additionalProperties = (DupIssueAdditionalProperties)properties;
             additionalProperties.setChildren(new DupCodePathBuilder((DupCodeViolation)violation, issue.getId().toString()).getPath());
         }
     }
 
-    private boolean reportViolation(IRuleViolation violation, RulesImportHandler rulesImportHandler, String moduleName, IssueBuilder issueBuilder)
+    private boolean reportViolation(IRuleViolation violation, RulesImportHandler rulesImportHandler, String moduleName, IssueBuilder issueBuilder,
+        StringPool strings)
     {
         ResultAdditionalAttributes attributes = new ResultAdditionalAttributes(violation);
         if (attributes.isSuppressed()) {
@@ -203,7 +211,8 @@ public class ParasoftParser
         if (isLegacyReport(analyzer)) {
             analyzer = mapToAnalyzer(violation, rulesImportHandler);
         }
-        issueBuilder.setDescription(attributes.getRuleTitle());
+        // rule titles are not interned by the IssueBuilder, they repeat for all violations of a rule
+        issueBuilder.setDescription(strings.intern(attributes.getRuleTitle()));
 
         if (violation instanceof IFlowAnalysisViolation) {
             issueBuilder.setAdditionalProperties(new FlowIssueAdditionalProperties(author, revision, analyzer));
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.parser;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Deduplicates strings that repeat for many issues of a report and that are not deduplicated otherwise, e.g. the rule
+ * titles. The importer creates new strings for each violation, even if the values repeat for thousands of violations.
+ * After being pooled, equal values share a single instance. Values that are mostly unique, like messages, should not be
+ * pooled, since the pool keeps all of its strings until the report has been parsed. The pool is not thread safe.
+ */
+public class StringPool
+{
+    private final Map<String, String> _strings = new HashMap<>();
+
+    /**
+     * @param value the string to deduplicate, may be <code>null</code>
+     * @return the pooled instance that is equal to the specified string
+     */
+    public String intern(String value)
+    {
+        if (value == null) {
+            return null;
+        }
+        String pooled = _strings.putIfAbsent(value, value);
+        return pooled == null ? value : pooled;
+    }
+}
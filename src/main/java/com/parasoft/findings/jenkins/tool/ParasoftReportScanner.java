@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.tool;
+
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Properties;
+
+import com.parasoft.findings.jenkins.parser.ParasoftParser;
+import com.parasoft.findings.jenkins.util.ParallelAgentFileVisitor;
+
+import edu.hm.hafner.analysis.FileReaderFactory;
+import edu.hm.hafner.analysis.ParsingCanceledException;
+import edu.hm.hafner.analysis.ParsingException;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.util.FilteredLog;
+
+/**
+ * Scans the workspace for Parasoft static analysis reports and parses the found reports concurrently. Each report
+ * is parsed with its own {@link ParasoftParser} (and thus its own importer), the reports of all files are returned in
+ * the order the files have been found. The messages of each file are the same as the ones of the files scanner of
+ * {@link io.jenkins.plugins.analysis.core.model.ReportScanningTool}, which parses the reports of a single worker.
+ */
+class ParasoftReportScanner
+        extends ParallelAgentFileVisitor<Report>
+{
+    private static final long serialVersionUID = -4466419640584924911L;
+
+    private final Properties _settings;
+
+    private final String _workspace;
+
+    ParasoftReportScanner(String filePattern, String encoding, boolean followSymbolicLinks, Properties settings,
+        String workspace, int workerCount)
+    {
+        super(filePattern, encoding, followSymbolicLinks, true, workerCount);
+        _settings = settings;
+        _workspace = workspace;
+    }
+
+    @Override
+    protected Optional<Report> processFileInWorker(Path file, Charset charset, FilteredLog log)
+    {
+        try {
+            Report report = new ParasoftParser(_settings, _workspace).parse(new FileReaderFactory(file, charset));
+            log.logInfo("Successfully parsed file %s", file); //$NON-NLS-1$
+            log.logInfo("-> found %s (skipped %s)", plural(report.getSize(), "issue"), //$NON-NLS-1$ //$NON-NLS-2$
+                    plural(report.getDuplicatesSize(), "duplicate")); //$NON-NLS-1$
+            return Optional.of(report);
+        } catch (ParsingException exception) {
+            log.logException(exception, "Parsing of file '%s' failed due to an exception:", file); //$NON-NLS-1$
+        } catch (ParsingCanceledException exception) {
+            log.logInfo("Parsing of file %s has been canceled", file); //$NON-NLS-1$
+        }
+        return Optional.empty();
+    }
+
+    private static String plural(int count, String itemName)
+    {
+        return count + " " + (count == 1 ? itemName : itemName + "s"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+}
@@ -6,6 +6,7 @@
  */
 package com.parasoft.findings.jenkins.tool;
 
+import static j2html.TagCreator.iframe;
 import static j2html.TagCreator.join;
 import static j2html.TagCreator.p;
 import static j2html.TagCreator.strong;
@@ -20,6 +21,7 @@ import com.parasoft.findings.jenkins.parser.FlowIssueAdditionalProperties;
 import com.parasoft.findings.jenkins.parser.ParasoftIssueAdditionalProperties;
 import org.apache.commons.lang3.StringUtils;
 
+import com.parasoft.findings.utils.common.IStringConstants;
 import com.parasoft.findings.utils.common.util.StringUtil;
 import com.parasoft.findings.jenkins.internal.rules.RuleDocumentationReader;
 
@@ -33,17 +35,31 @@ import io.jenkins.plugins.analysis.core.model.StaticAnalysisLabelProvider.AgeBui
 import io.jenkins.plugins.datatables.TableColumn;
 import io.jenkins.plugins.util.JenkinsFacade;
 import j2html.tags.UnescapedText;
+import org.kohsuke.stapler.Stapler;
+import org.kohsuke.stapler.StaplerRequest;
 
 public class ParasoftTableModel
         extends DetailsTableModel
 {
+    // height of the rule documentation frame in pixels, the frame scrolls if the rule doc is longer
+    private static final int RULE_DOC_FRAME_HEIGHT = 400;
+
     private RuleDocumentationReader _ruleDocReader = null;
 
+    private String _buildUrl = null;
+
     public ParasoftTableModel(Run<?, ?> build, Report report, FileNameRenderer fileNameRenderer, AgeBuilder ageBuilder,
                               DescriptionProvider descriptionProvider, JenkinsFacade jenkinsFacade)
     {
         super(report, fileNameRenderer, ageBuilder, descriptionProvider, jenkinsFacade);
         _ruleDocReader = new RuleDocumentationReader(build.getRootDir());
+        _buildUrl = getContextPath() + '/' + build.getUrl();
+    }
+
+    private static String getContextPath()
+    {
+        StaplerRequest request = Stapler.getCurrentRequest();
+        return request != null ? request.getContextPath() : IStringConstants.EMPTY;
     }
 
     @Override
@@ -163,16 +179,27 @@ public class ParasoftTableModel
             }
             String analyzer = ((ParasoftIssueAdditionalProperties) properties).getAnalyzer();
             String ruleId = issue.getType();
-            String ruleDocContents = _ruleDocReader.getRuleDoc(analyzer, ruleId);
 
-            if (StringUtil.isNonEmpty(ruleDocContents)) {
-                sb.append(IHtmlTags.BREAK_LINE_TAG + IHtmlTags.PARAGRAPH_START_TAG + ruleDocContents + IHtmlTags.PARAGRAPH_END_TAG);
+            // the rule doc is only referenced, the browser loads it when the details are expanded and caches it
+            if (StringUtil.isNonEmpty(analyzer) && StringUtil.isNonEmpty(ruleId) && _ruleDocReader.hasRuleDoc(analyzer, ruleId)) {
+                sb.append(IHtmlTags.BREAK_LINE_TAG + IHtmlTags.PARAGRAPH_START_TAG + formatRuleDocFrame(analyzer, ruleId) + IHtmlTags.PARAGRAPH_END_TAG);
             } else if (StringUtil.isNonEmptyTrimmed(ruleId)) {
                 //sb.append(IHtmlTags.BREAK_LINE_TAG + NLS.getFormatted(Messages.RULE_DOCUMENTATION_UNAVAILABLE, ruleId));
             }
             return formatDefaultDetails(issue, sb.toString());
         }
 
+        private String formatRuleDocFrame(String analyzer, String ruleId)
+        {
+            return iframe().withSrc(RuleDocumentationAction.getRuleDocUrl(_buildUrl, analyzer, ruleId))
+                    .withTitle(Messages.RULE_DOCUMENTATION_TITLE(ruleId))
+                    .attr("loading", "lazy") //$NON-NLS-1$ //$NON-NLS-2$
+                    .attr("width", "100%") //$NON-NLS-1$ //$NON-NLS-2$
+                    .attr("height", RULE_DOC_FRAME_HEIGHT) //$NON-NLS-1$
+                    .attr("frameborder", 0) //$NON-NLS-1$
+                    .render();
+        }
+
         private String formatDefaultDetails(final Issue issue, final String additionalDescription)
         {
             UnescapedText details;
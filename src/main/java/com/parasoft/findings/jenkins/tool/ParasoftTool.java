@@ -16,11 +16,16 @@
 
 package com.parasoft.findings.jenkins.tool;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.nio.charset.Charset;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
 import com.parasoft.findings.jenkins.parser.DupIssueAdditionalProperties;
 import com.parasoft.findings.jenkins.parser.FlowIssueAdditionalProperties;
@@ -46,12 +51,14 @@ import edu.hm.hafner.analysis.Report;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import hudson.Extension;
 import hudson.FilePath;
+import hudson.Util;
 import hudson.model.Run;
 import hudson.model.TaskListener;
 import io.jenkins.plugins.analysis.core.model.DetailsTableModel;
 import io.jenkins.plugins.analysis.core.model.IconLabelProvider;
 import io.jenkins.plugins.analysis.core.model.ReportScanningTool;
 import io.jenkins.plugins.analysis.core.model.StaticAnalysisLabelProvider;
+import io.jenkins.plugins.util.AgentFileVisitor.FileVisitorResult;
 import io.jenkins.plugins.util.LogHandler;
 import io.jenkins.plugins.util.JenkinsFacade;
 
@@ -60,7 +67,10 @@ public class ParasoftTool
 {
     private static final long serialVersionUID = -5773171179445359278L;
     private final static String PLUGIN_ID = "parasoft-findings"; //$NON-NLS-1$
+    private final static String DEFAULT_PATTERN = "**/report.xml"; //$NON-NLS-1$
+    static final int DEFAULT_WORKER_COUNT = 1;
     private String _localSettingsPath = StringUtils.EMPTY;
+    private int _workerCount = DEFAULT_WORKER_COUNT;
 
     private String _workspace = null;
     private Properties _settings = null;
@@ -83,8 +93,9 @@ public class ParasoftTool
         _workspace = workspace.getRemote();
 
         String resolvedSettingsPath = null;
+        Map<String, String> envVars = Collections.emptyMap();
         try {
-            Map<String, String> envVars = run.getEnvironment(TaskListener.NULL);
+            envVars = run.getEnvironment(TaskListener.NULL);
             JenkinsVariablesResolver variablesResolver = new JenkinsVariablesResolver(envVars);
             resolvedSettingsPath = variablesResolver.performSubstitution(getLocalSettingsPath());
         } catch (Exception e) { // parasoft-suppress OWASP2021.A5.NCE "This is intentionally designed to prevent exceptions from bubbling up and causing the program to terminate."
@@ -92,11 +103,16 @@ public class ParasoftTool
         }
         _settings = JenkinsRulesUtil.loadSettings(workspace, resolvedSettingsPath);
 
-        Report report = super.scan(run, workspace, sourceCodeEncoding, logger);
+        Report report;
+        if (getWorkerCount() > DEFAULT_WORKER_COUNT) {
+            report = scanInParallel(workspace, envVars, logger);
+        } else {
+            report = super.scan(run, workspace, sourceCodeEncoding, logger);
+        }
 
+        // Each rule is stored only once, so the distinct rules are collected before fetching their documentation
+        Map<String, Set<String>> ruleIds = new LinkedHashMap<>();
         Iterator<Issue> issues = report.iterator();
-
-        RuleDocumentationStorage storage = new RuleDocumentationStorage(run.getRootDir(), _settings);
         while (issues.hasNext()) {
 
             Issue issue = issues.next();
@@ -107,11 +123,55 @@ public class ParasoftTool
             String ruleId = issue.getType();
             String analyzer = ((ParasoftIssueAdditionalProperties)additionalProperties).getAnalyzer();
 
-            storage.storeRuleDoc(analyzer, ruleId);
+            ruleIds.computeIfAbsent(analyzer, key -> new LinkedHashSet<>()).add(ruleId);
+        }
+        RuleDocumentationStorage storage = new RuleDocumentationStorage(run.getRootDir(), _settings);
+        storage.storeRuleDocs(ruleIds);
+        return report;
+    }
+
+    // Logs the same messages as ReportScanningTool, so the report does not depend on the number of workers
+    private Report scanInParallel(FilePath workspace, Map<String, String> envVars, LogHandler logger)
+    {
+        String pattern = getPattern();
+        if (StringUtils.isBlank(pattern)) {
+            pattern = DEFAULT_PATTERN;
+            logger.log("Using default pattern '%s' since user defined pattern is not set", pattern); //$NON-NLS-1$
+        }
+        Report report = new Report();
+        try {
+            FileVisitorResult<Report> result = workspace.act(new ParasoftReportScanner(Util.replaceMacro(pattern, envVars),
+                    getReportEncoding(), !getSkipSymbolicLinks(), _settings, _workspace, getWorkerCount()));
+            for (Report fileReport : result.getResults()) {
+                report.addAll(fileReport);
+            }
+            result.getLog().getInfoMessages().forEach(message -> report.logInfo("%s", message)); //$NON-NLS-1$
+            result.getLog().getErrorMessages().forEach(message -> report.logError("%s", message)); //$NON-NLS-1$
+            logger.log(result.getLog());
+        } catch (IOException exception) {
+            report.logException(exception, "Scanning of report files failed"); //$NON-NLS-1$
+            logger.log(report.getErrorMessages().get(0));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            report.logError("Scanning of report files has been interrupted"); //$NON-NLS-1$
+            logger.log(report.getErrorMessages().get(0));
         }
         return report;
     }
 
+    // Number of report files that are parsed concurrently on the agent.
+    @DataBoundSetter
+    public void setWorkerCount(final int workerCount)
+    {
+        _workerCount = Math.max(workerCount, DEFAULT_WORKER_COUNT);
+    }
+
+    public int getWorkerCount()
+    {
+        // Tools that have been saved before this option existed contain 0
+        return Math.max(_workerCount, DEFAULT_WORKER_COUNT);
+    }
+
     @DataBoundSetter
     public void setLocalSettingsPath(final String localSettingsPath)
     {
@@ -161,7 +221,12 @@ public class ParasoftTool
 
         @Override
         public String getPattern() {
-            return "**/report.xml"; //$NON-NLS-1$
+            return DEFAULT_PATTERN;
+        }
+
+        public int defaultWorkerCount()
+        {
+            return DEFAULT_WORKER_COUNT;
         }
 
         @Override
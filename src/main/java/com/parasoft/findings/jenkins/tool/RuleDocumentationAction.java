@@ -0,0 +1,153 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.tool;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.StaplerResponse;
+
+import com.parasoft.findings.jenkins.internal.rules.RuleDocumentationReader;
+import com.parasoft.findings.utils.common.util.StringUtil;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.Action;
+import hudson.model.Item;
+import hudson.model.Run;
+import io.jenkins.plugins.analysis.core.model.ResultAction;
+import jenkins.model.TransientActionFactory;
+
+/**
+ * Serves the rule documentation stored with a build, so the issues table only references the rule docs instead of
+ * embedding them into every row. The rule docs of a build never change, hence the browser may cache them.
+ */
+public class RuleDocumentationAction
+        implements Action
+{
+    public static final String URL_NAME = "parasoft-rule-docs"; //$NON-NLS-1$
+
+    private static final String DOC_METHOD = "doc"; //$NON-NLS-1$
+
+    private static final long MAX_AGE = TimeUnit.DAYS.toSeconds(1);
+
+    // rule docs are served from the Jenkins origin, hence they must not run any scripts
+    private static final String CONTENT_SECURITY_POLICY = "sandbox; default-src 'none'; img-src 'self' data:; style-src 'unsafe-inline'"; //$NON-NLS-1$
+
+    private final Run<?, ?> _run;
+
+    public RuleDocumentationAction(Run<?, ?> run)
+    {
+        _run = run;
+    }
+
+    @Override
+    public String getIconFileName()
+    {
+        return null;
+    }
+
+    @Override
+    public String getDisplayName()
+    {
+        return null;
+    }
+
+    @Override
+    public String getUrlName()
+    {
+        return URL_NAME;
+    }
+
+    public void doDoc(@QueryParameter String analyzer, @QueryParameter String rule, StaplerResponse response)
+            throws IOException
+    {
+        _run.getParent().checkPermission(Item.READ);
+        String contents = null;
+        if (StringUtil.isNonEmpty(analyzer) && StringUtil.isNonEmpty(rule)) {
+            contents = new RuleDocumentationReader(_run.getRootDir()).getRuleDoc(analyzer, rule);
+        }
+        if (StringUtil.isEmpty(contents)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        response.setContentType("text/html;charset=UTF-8"); //$NON-NLS-1$
+        response.setHeader("Cache-Control", "private, max-age=" + MAX_AGE); //$NON-NLS-1$ //$NON-NLS-2$
+        response.setHeader("Content-Security-Policy", CONTENT_SECURITY_POLICY); //$NON-NLS-1$
+        try (PrintWriter writer = response.getWriter()) {
+            writer.write(contents);
+        }
+    }
+
+    /**
+     * @param buildUrl URL of the build including the context path
+     * @param analyzer analyzer of the rule
+     * @param ruleId ID of the rule
+     * @return the URL of the rule doc served by this action
+     */
+    public static String getRuleDocUrl(String buildUrl, String analyzer, String ruleId)
+    {
+        return buildUrl + URL_NAME + '/' + DOC_METHOD + "?analyzer=" + encode(analyzer) + "&rule=" + encode(ruleId); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    private static String encode(String value)
+    {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Extension
+    public static class Factory
+            extends TransientActionFactory<Run>
+    {
+        @Override
+        public Class<Run> type()
+        {
+            return Run.class;
+        }
+
+        @Override
+        public Class<? extends Action> actionType()
+        {
+            return RuleDocumentationAction.class;
+        }
+
+        /**
+         * Only runs with a Parasoft result reference rule docs. They are recognized by the actions of the run, so
+         * listing the actions of a run never accesses its build directory.
+         */
+        @NonNull
+        @Override
+        public Collection<? extends Action> createFor(@NonNull Run target)
+        {
+            for (ResultAction resultAction : ((Run<?, ?>) target).getActions(ResultAction.class)) {
+                if (resultAction.getLabelProvider() instanceof ParasoftTool.LabelProvider) {
+                    return Collections.singletonList(new RuleDocumentationAction(target));
+                }
+            }
+            return Collections.emptyList();
+        }
+    }
+}
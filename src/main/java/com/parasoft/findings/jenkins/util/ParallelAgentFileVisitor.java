@@ -0,0 +1,187 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.util;
+
+import edu.hm.hafner.util.FilteredLog;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import hudson.remoting.VirtualChannel;
+import io.jenkins.plugins.util.AgentFileVisitor;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.io.File;
+import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@link AgentFileVisitor} that is able to process the matching files concurrently using a bounded number of
+ * worker threads on the agent. The results (and log messages) are returned in the same order as the files have been
+ * found, so the outcome does not depend on the number of workers.
+ *
+ * @param <T>
+ *         the type of the results
+ */
+public abstract class ParallelAgentFileVisitor<T extends Serializable> extends AgentFileVisitor<T> {
+    private static final long serialVersionUID = -2419326412381930217L;
+
+    private static final String FILE_LOG_TITLE = "Errors while processing file:"; // $NON-NLS-1$
+    private static final String WORKER_THREAD_NAME_FORMAT = "Parasoft report worker #%d"; // $NON-NLS-1$
+
+    private final int workerCount;
+
+    @CheckForNull
+    private transient ExecutorService executor;
+    @CheckForNull
+    private transient List<Future<ProcessedFile<T>>> pendingFiles;
+
+    protected ParallelAgentFileVisitor(final String filePattern, final String encoding,
+                                       final boolean followSymbolicLinks, final boolean errorOnEmptyFiles,
+                                       final int workerCount) {
+        super(filePattern, encoding, followSymbolicLinks, errorOnEmptyFiles);
+
+        this.workerCount = workerCount;
+    }
+
+    @Override
+    public FileVisitorResult<T> invoke(final File workspace, final VirtualChannel channel) {
+        // The number of workers is configured explicitly, so it is not limited to the number of processors
+        if (workerCount <= 1) {
+            return super.invoke(workspace, channel);
+        }
+
+        executor = Executors.newFixedThreadPool(workerCount, createThreadFactory(WORKER_THREAD_NAME_FORMAT));
+        pendingFiles = new ArrayList<>();
+        try {
+            // Files are only submitted to the workers here, see processFile
+            FileVisitorResult<T> result = super.invoke(workspace, channel);
+
+            FilteredLog log = result.getLog();
+            List<T> results = new ArrayList<>(result.getResults());
+            collectProcessedFiles(pendingFiles, results, log);
+            return new FileVisitorResult<>(log, results);
+        } finally {
+            executor.shutdownNow();
+            executor = null;
+            pendingFiles = null;
+        }
+    }
+
+    @Override
+    protected final Optional<T> processFile(final Path file, final Charset charset, final FilteredLog log) {
+        if (executor == null || pendingFiles == null) {
+            // A single worker uses the same per-file logs, so the log does not depend on the number of workers
+            try {
+                ProcessedFile<T> processedFile = processFileWithOwnLog(file, charset);
+                log.merge(processedFile.getLog());
+                return processedFile.getResult();
+            } catch (RuntimeException exception) {
+                logProcessingFailure(log, exception);
+                return Optional.empty();
+            }
+        }
+
+        // Each file gets its own log since FilteredLog instances are merged in file order afterwards
+        pendingFiles.add(executor.submit(() -> processFileWithOwnLog(file, charset)));
+        return Optional.empty();
+    }
+
+    private ProcessedFile<T> processFileWithOwnLog(final Path file, final Charset charset) {
+        FilteredLog fileLog = new FilteredLog(FILE_LOG_TITLE);
+        return new ProcessedFile<>(processFileInWorker(file, charset, fileLog), fileLog);
+    }
+
+    /**
+     * Processes the specified file. This method is called concurrently from several worker threads, if more than one
+     * worker has been configured.
+     *
+     * @param file
+     *         the file to process
+     * @param charset
+     *         the charset to use when reading the file
+     * @param log
+     *         the log of this file
+     *
+     * @return the result of the file, or an empty {@link Optional} if the file could not be processed
+     */
+    protected abstract Optional<T> processFileInWorker(Path file, Charset charset, FilteredLog log);
+
+    private static <T> void collectProcessedFiles(final List<Future<ProcessedFile<T>>> pendingFiles,
+                                                  final List<T> results, final FilteredLog log) {
+        for (Future<ProcessedFile<T>> pendingFile : pendingFiles) {
+            try {
+                ProcessedFile<T> processedFile = pendingFile.get();
+                log.merge(processedFile.getLog());
+                processedFile.getResult().ifPresent(results::add);
+            } catch (ExecutionException exception) {
+                logProcessingFailure(log, exception);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                log.logError("Processing of report files has been interrupted"); // $NON-NLS-1$
+                return;
+            }
+        }
+    }
+
+    private static void logProcessingFailure(final FilteredLog log, final Exception exception) {
+        log.logError("Processing of report file failed due to an exception: %s", // $NON-NLS-1$
+                ExceptionUtils.getRootCauseMessage(exception));
+    }
+
+    /**
+     * Creates a factory of daemon threads, so pending work never prevents the JVM from shutting down.
+     *
+     * @param nameFormat
+     *         the format of the thread names, the number of the thread is passed as argument
+     *
+     * @return the thread factory
+     */
+    public static ThreadFactory createThreadFactory(final String nameFormat) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, String.format(nameFormat, threadNumber.incrementAndGet()));
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class ProcessedFile<T> {
+        private final Optional<T> result;
+        private final FilteredLog log;
+
+        ProcessedFile(final Optional<T> result, final FilteredLog log) {
+            this.result = result;
+            this.log = log;
+        }
+
+        Optional<T> getResult() {
+            return result;
+        }
+
+        FilteredLog getLog() {
+            return log;
+        }
+    }
+}
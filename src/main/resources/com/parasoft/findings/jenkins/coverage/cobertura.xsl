@@ -8,6 +8,38 @@
     <xsl:variable name="toolDispName" select="/Coverage/@toolDispName"/>
     <xsl:param name="pipelineBuildWorkingDirectory"><xsl:value-of select="/Coverage/@pipelineBuildWorkingDirectory"/></xsl:param>
 
+    <xsl:variable name="coverageDocument" select="/"/>
+    <!-- Indexes to look up coverage data without scanning the whole document for each <Loc> and line -->
+    <xsl:key name="cvgDataByLocRef" match="/Coverage/CoverageData/CvgData" use="string(@locRef)"/>
+    <!-- key: "locRef itemRef" -->
+    <xsl:key name="statCvgByItemRef" match="/Coverage/CoverageData/CvgData/Static/StatCvg"
+             use="concat(../../@locRef, ' ', @itemRef)"/>
+    <!-- key: "locRef lineNumber" for each line number in @elemRefs -->
+    <xsl:key name="ctxCvgByLineNumber" match="/Coverage/CoverageData/CvgData/Dynamic/DynCvg/CtxCvg"
+             use="for $lineNumber in tokenize(normalize-space(@elemRefs), ' ') return concat(../../../@locRef, ' ', $lineNumber)"/>
+
+    <!-- These maps are used to store the number of unique coverable and covered lines per source file. key: locRef, value: number of lines -->
+    <xsl:variable name="coverableLineNumbersByLocRef" as="map(xs:string, xs:integer)">
+        <xsl:map>
+            <xsl:for-each-group select="/Coverage/CoverageData/CvgData" group-by="string(@locRef)">
+                <xsl:variable name="statCvgElems" select="string-join(current-group()/Static/StatCvg/@elems, ' ')"/>
+                <xsl:map-entry key="current-grouping-key()" select="count(distinct-values(tokenize($statCvgElems, '\s+')))"/>
+            </xsl:for-each-group>
+        </xsl:map>
+    </xsl:variable>
+    <xsl:variable name="coveredLineNumbersByLocRef" as="map(xs:string, xs:integer)">
+        <xsl:map>
+            <xsl:for-each-group select="/Coverage/CoverageData/CvgData" group-by="string(@locRef)">
+                <xsl:variable name="coveredLinesSeq" as="xs:string*">
+                    <xsl:for-each select="current-group()/Dynamic//DynCvg">
+                        <xsl:sequence select="string(string-join(.//CtxCvg/@elemRefs, ' '))"/>
+                    </xsl:for-each>
+                </xsl:variable>
+                <xsl:map-entry key="current-grouping-key()" select="count(distinct-values(tokenize(string-join($coveredLinesSeq, ' '), '\s+')))"/>
+            </xsl:for-each-group>
+        </xsl:map>
+    </xsl:variable>
+
     <xsl:template name="getUriWithoutFilePrefix">
         <xsl:param name="rawUri"/>
         <xsl:choose>
@@ -169,7 +201,7 @@
                                     </xsl:choose>
                                 </xsl:variable>
                                 <xsl:variable name="locRef" select="@locRef"/>
-                                <xsl:variable name="cvgDataNode" select="//CvgData[@locRef=$locRef]"/>
+                                <xsl:variable name="cvgDataNode" select="key('cvgDataByLocRef', string($locRef), $coverageDocument)"/>
                                 <xsl:choose>
                                     <xsl:when test="$toolName = 'jtest'">
                                         <xsl:variable name="typeItemNodes" select="$cvgDataNode/Stats//Item[has-children()]"/>
@@ -183,7 +215,7 @@
                                             </xsl:variable>
                                             <xsl:call-template name="generateClassElementByItemRefs">
                                                 <xsl:with-param name="itemRefs" select="$methodItemRefsUnderCurrentType"/>
-                                                <xsl:with-param name="cvgDataNode" select="$cvgDataNode"/>
+                                                <xsl:with-param name="locRef" select="string($locRef)"/>
                                                 <xsl:with-param name="className" select="$className"/>
                                                 <xsl:with-param name="filePath" select="$filePath"/>
                                             </xsl:call-template>
@@ -198,7 +230,7 @@
                                         </xsl:variable>
                                         <xsl:call-template name="generateClassElementByItemRefs">
                                             <xsl:with-param name="itemRefs" select="$allItemRefsUnderCurrentFile"/>
-                                            <xsl:with-param name="cvgDataNode" select="$cvgDataNode"/>
+                                            <xsl:with-param name="locRef" select="string($locRef)"/>
                                             <xsl:with-param name="className" select="$className"/>
                                             <xsl:with-param name="filePath" select="$filePath"/>
                                         </xsl:call-template>
@@ -237,36 +269,12 @@
 
     <xsl:template name="getCoverableLineNumber">
         <xsl:param name="locNodesToCalcute"/>
-        <xsl:variable name="linesValid" as="xs:integer*">
-            <xsl:for-each select="$locNodesToCalcute">
-                <xsl:variable name="lineNumbers" as="xs:string*">
-                    <xsl:variable name="locRefValue" select="@locRef"/>
-                    <xsl:variable name="statCvgElems" select="string-join(/Coverage/CoverageData/CvgData[@locRef = $locRefValue]/Static/StatCvg/@elems, ' ')"/>
-                    <xsl:sequence select="distinct-values(tokenize($statCvgElems, '\s+'))"/>
-                </xsl:variable>
-                <xsl:sequence select="count($lineNumbers)"/>
-            </xsl:for-each>
-        </xsl:variable>
-        <xsl:value-of select="sum($linesValid)"/>
+        <xsl:value-of select="sum(for $locNode in $locNodesToCalcute return (map:get($coverableLineNumbersByLocRef, string($locNode/@locRef)), 0)[1])"/>
     </xsl:template>
 
     <xsl:template name="getCoveredLineNumber">
         <xsl:param name="locNodesToCalcute"/>
-        <xsl:variable name="linesCovered" as="xs:integer*">
-            <xsl:for-each select="$locNodesToCalcute">
-                <xsl:variable name="coveredLineNumbers" as="xs:string*">
-                    <xsl:variable name="locRefValue" select="@locRef"/>
-                    <xsl:variable name="coveredLinesSeq" as="xs:string*">
-                        <xsl:for-each select="/Coverage/CoverageData/CvgData[@locRef = $locRefValue]/Dynamic//DynCvg">
-                            <xsl:sequence select="string(string-join(.//CtxCvg/@elemRefs, ' '))"/>
-                        </xsl:for-each>
-                    </xsl:variable>
-                    <xsl:sequence select="tokenize(string-join($coveredLinesSeq, ' '), '\s+')"/>
-                </xsl:variable>
-                <xsl:sequence select="count(distinct-values($coveredLineNumbers))"/>
-            </xsl:for-each>
-        </xsl:variable>
-        <xsl:value-of select="sum($linesCovered)"/>
+        <xsl:value-of select="sum(for $locNode in $locNodesToCalcute return (map:get($coveredLineNumbersByLocRef, string($locNode/@locRef)), 0)[1])"/>
     </xsl:template>
 
     <xsl:template name="getPackageName">
@@ -330,13 +338,13 @@
     <xsl:template name="generateClassElementByItemRefs">
         <!-- All itemRef from /CoverageData/CvgData/Stats/Item which belong to the current class -->
         <xsl:param name="itemRefs"/>
-        <xsl:param name="cvgDataNode"/>
+        <xsl:param name="locRef"/>
         <xsl:param name="className"/>
         <xsl:param name="filePath"/>
 
         <!-- Generate string which contains unique line numbers of the current class (referenced by itemRefs) -->
-        <xsl:variable name="itemRefsString" select="concat(' ', string-join($itemRefs, ' '), ' ')"/>
-        <xsl:variable name="statCvgElems" select="$cvgDataNode/Static/StatCvg[contains($itemRefsString, concat(' ', @itemRef, ' '))]/@elems"/>
+        <xsl:variable name="statCvgNodes" select="key('statCvgByItemRef', for $itemRef in $itemRefs return concat($locRef, ' ', $itemRef), $coverageDocument)"/>
+        <xsl:variable name="statCvgElems" select="$statCvgNodes/@elems"/>
         <xsl:variable name="statCvgElemsString" select="string-join($statCvgElems, ' ')"/>
         <xsl:variable name="lineNumbers" select="distinct-values(tokenize($statCvgElemsString, '\s+'))"/>
 
@@ -346,7 +354,7 @@
                 <xsl:for-each select="$lineNumbers">
                     <xsl:variable name="lineCoveredTimes">
                         <xsl:call-template name="getLineCoveredTimes">
-                            <xsl:with-param name="cvgDataNode" select="$cvgDataNode"/>
+                            <xsl:with-param name="locRef" select="$locRef"/>
                             <xsl:with-param name="lineNumber" select="."/>
                         </xsl:call-template>
                     </xsl:variable>
@@ -356,28 +364,16 @@
         </xsl:variable>
 
         <xsl:variable name="verboseLineNumbers" select="tokenize($statCvgElemsString, '\s+')"/>
-        <xsl:variable name="statCvgHashes" select="$cvgDataNode/Static/StatCvg[contains($itemRefsString, concat(' ', @itemRef, ' '))]/@hashes"/>
+        <xsl:variable name="statCvgHashes" select="$statCvgNodes/@hashes"/>
         <xsl:variable name="lineHashes" select="tokenize(string-join($statCvgHashes, ' '), '\s+')"/>
 
-        <!-- This variable is used to store the lineNumber(@elems) and lineHash(@hashes) pair according to the index -->
-        <xsl:variable name="lineHashPairs">
-            <xsl:for-each select="$verboseLineNumbers">
-                <xsl:variable name="index" select="position()"/>
-                <xsl:variable name="lineHash" select="$lineHashes[$index]"/>
-                <xsl:element name="lineHashPair">
-                    <xsl:attribute name="lineNumber" select="string(.)"/>
-                    <xsl:attribute name="lineHash" select="string($lineHash)" />
-                </xsl:element>
-            </xsl:for-each>
-        </xsl:variable>
         <!-- This map is used to store unique line numbers and it's line hash. key: line number, value: line hash -->
+        <!-- The lineNumber(@elems) and lineHash(@hashes) are paired according to the index, the first pair of a line number wins -->
         <xsl:variable name="lineHashesMap" as="map(xs:string, xs:string)">
             <xsl:map>
-                <xsl:for-each select="$lineNumbers">
-                    <xsl:variable name="line" select="."/>
-                    <xsl:variable name="lineHash" select="$lineHashPairs/lineHashPair[@lineNumber=$line]/@lineHash"/>
-                    <xsl:map-entry key="string(.)" select="string($lineHash[1])"/>
-                </xsl:for-each>
+                <xsl:for-each-group select="1 to count($verboseLineNumbers)" group-by="$verboseLineNumbers[current()]">
+                    <xsl:map-entry key="string(current-grouping-key())" select="string($lineHashes[current-group()[1]])"/>
+                </xsl:for-each-group>
             </xsl:map>
         </xsl:variable>
 
@@ -442,10 +438,9 @@
     </xsl:template>
 
     <xsl:template name="getLineCoveredTimes">
-        <xsl:param name="cvgDataNode"/>
+        <xsl:param name="locRef"/>
         <xsl:param name="lineNumber"/>
-        <!-- Leading and trailing spaces (' ') around the search string are included to avoid incorrect matches when using 'contains()' -->
-        <xsl:variable name="ctxCvgNodes" select="$cvgDataNode/Dynamic/DynCvg/CtxCvg[contains(concat(' ', @elemRefs, ' '), concat(' ', $lineNumber, ' '))]"/>
+        <xsl:variable name="ctxCvgNodes" select="key('ctxCvgByLineNumber', concat($locRef, ' ', $lineNumber), $coverageDocument)"/>
         <xsl:value-of select="count(tokenize(string-join($ctxCvgNodes/@testRefs, ' '), '\s+'))"/>
     </xsl:template>
 </xsl:stylesheet>
\ No newline at end of file
@@ -0,0 +1,144 @@
+package com.parasoft.findings.jenkins;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.parasoft.findings.jenkins.parser.DupIssueAdditionalProperties;
+import com.parasoft.findings.jenkins.parser.FlowIssueAdditionalProperties;
+import com.parasoft.findings.jenkins.parser.FlowPathElementMessage;
+import com.parasoft.findings.jenkins.parser.FlowPathElementMessage.FontStyle;
+import com.parasoft.findings.jenkins.parser.ParasoftIssueAdditionalProperties;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import hudson.util.XStream2;
+
+public class IssueAdditionalPropertiesTest
+{
+    private static final String PROPERTIES_CLASS = "com.parasoft.findings.jenkins.parser.ParasoftIssueAdditionalProperties";
+    private static final String FLOW_PROPERTIES_CLASS = "com.parasoft.findings.jenkins.parser.FlowIssueAdditionalProperties";
+
+    @Test
+    public void mapViewTest()
+    {
+        ParasoftIssueAdditionalProperties properties = new ParasoftIssueAdditionalProperties("jdoe", "1", null);
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put(ParasoftIssueAdditionalProperties.AUTHOR_KEY, "jdoe");
+        expected.put(ParasoftIssueAdditionalProperties.REVISION_KEY, "1");
+
+        assertEquals(expected, properties);
+        assertEquals(properties, expected);
+        assertEquals(expected.hashCode(), properties.hashCode());
+        assertEquals("jdoe", properties.get(ParasoftIssueAdditionalProperties.AUTHOR_KEY));
+        assertTrue(!properties.containsKey(ParasoftIssueAdditionalProperties.ANALYZER_KEY));
+    }
+
+    @Test
+    public void internedStringsTest()
+    {
+        ParasoftIssueAdditionalProperties first = new ParasoftIssueAdditionalProperties(new String("jdoe"), new String("1"), new String("analyzer"));
+        ParasoftIssueAdditionalProperties second = new ParasoftIssueAdditionalProperties(new String("jdoe"), new String("1"), new String("analyzer"));
+
+        assertSame(first.getAuthor(), second.getAuthor());
+        assertSame(first.getRevision(), second.getRevision());
+        assertSame(first.getAnalyzer(), second.getAnalyzer());
+    }
+
+    @Test
+    public void writeAndReadXmlTest()
+    {
+        FlowIssueAdditionalProperties child = new FlowIssueAdditionalProperties();
+        child.setParentKey("parent");
+        child.setDescription("child description");
+        child.setChildren(new ArrayList<>());
+
+        FlowIssueAdditionalProperties properties = new FlowIssueAdditionalProperties("jdoe", "1", "com.parasoft.xtest.flowanalyzer");
+        properties.setCause("cause");
+        properties.setPoint("point");
+        properties.setChildren(new ArrayList<>());
+        properties.getChildren().add(new IssueBuilder().setFileName("Child.java").setAdditionalProperties(child).build());
+
+        XStream2 xStream = new XStream2();
+        String xml = xStream.toXML(properties);
+        FlowIssueAdditionalProperties restored = (FlowIssueAdditionalProperties) xStream.fromXML(xml);
+
+        assertTrue(xml.contains("<cause>cause</cause>"));
+        assertEquals(properties, restored);
+        Issue restoredChild = restored.getChildren().get(0);
+        assertEquals("Child.java", restoredChild.getFileName());
+        assertEquals(child, restoredChild.getAdditionalProperties());
+
+        DupIssueAdditionalProperties duplicates = new DupIssueAdditionalProperties("jdoe", "1", "com.parasoft.xtest.cpd");
+        duplicates.setDescription("description");
+        assertEquals(duplicates, xStream.fromXML(xStream.toXML(duplicates)));
+    }
+
+    @Test
+    public void renderDescriptionTest()
+    {
+        FlowIssueAdditionalProperties properties = new FlowIssueAdditionalProperties();
+        properties.setDescription("Element Description", true,
+                Collections.singletonList(new FlowPathElementMessage("Exception", FontStyle.ITALIC_BOLD)));
+
+        String expected = "&nbsp<code><span style=\"color:#000000\">Element Description</span></code>"
+                + "<span style=\"color:#008000\"> *** <b><i>Exception</i></b></span>";
+        assertEquals(expected, properties.getDescription());
+        assertSame(properties.getDescription(), properties.getDescription());
+
+        XStream2 xStream = new XStream2();
+        String xml = xStream.toXML(properties);
+        FlowIssueAdditionalProperties restored = (FlowIssueAdditionalProperties) xStream.fromXML(xml);
+
+        assertTrue(!xml.contains("&lt;code&gt;"));
+        assertEquals(properties, restored);
+        assertEquals(expected, restored.getDescription());
+    }
+
+    @Test
+    public void readSerializedMapOfPreviousReleasesTest()
+    {
+        String xml = "<" + PROPERTIES_CLASS + " serialization=\"custom\">"
+                + "<unserializable-parents/>"
+                + "<map><default><loadFactor>0.75</loadFactor><threshold>12</threshold></default>"
+                + "<int>16</int><int>3</int>"
+                + "<string>author</string><string>jdoe</string>"
+                + "<string>revision</string><null/>"
+                + "<string>analyzer</string><string>com.parasoft.xtest.checkstyle</string>"
+                + "</map>"
+                + "<" + PROPERTIES_CLASS + "><default/></" + PROPERTIES_CLASS + ">"
+                + "</" + PROPERTIES_CLASS + ">";
+
+        ParasoftIssueAdditionalProperties properties = (ParasoftIssueAdditionalProperties) new XStream2().fromXML(xml);
+
+        assertEquals("jdoe", properties.getAuthor());
+        assertNull(properties.getRevision());
+        assertEquals("com.parasoft.xtest.checkstyle", properties.getAnalyzer());
+    }
+
+    @Test
+    public void readMapEntriesOfPreviousReleasesTest()
+    {
+        String xml = "<" + FLOW_PROPERTIES_CLASS + ">"
+                + "<entry><string>author</string><string>jdoe</string></entry>"
+                + "<entry><string>cause</string><string>cause</string></entry>"
+                + "<entry><string>children</string><list/></entry>"
+                + "<entry><string>unknown</string><string>ignored</string></entry>"
+                + "</" + FLOW_PROPERTIES_CLASS + ">";
+
+        FlowIssueAdditionalProperties properties = (FlowIssueAdditionalProperties) new XStream2().fromXML(xml);
+
+        assertEquals("jdoe", properties.getAuthor());
+        assertEquals("cause", properties.getCause());
+        assertTrue(properties.getChildren().isEmpty());
+    }
+}
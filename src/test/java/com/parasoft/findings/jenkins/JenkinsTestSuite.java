@@ -15,6 +15,9 @@
  */
 package com.parasoft.findings.jenkins;
 
+import com.parasoft.findings.jenkins.internal.rules.RuleDocumentationContentCacheTest;
+import com.parasoft.findings.jenkins.internal.rules.RuleDocumentationStorageFetchTest;
+
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -22,10 +25,16 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
         JenkinsVariablesResolverTest.class,
         FilePathUtilTest.class,
+        IssueAdditionalPropertiesTest.class,
         ParasoftParserTest.class,
         ParasoftToolTest.class,
+        RuleDocumentationActionTest.class,
+        RuleDocumentationCacheTest.class,
+        RuleDocumentationContentCacheTest.class,
         RuleDocumentationReaderTest.class,
         RuleDocumentationStorageTest.class,
+        RuleDocumentationStorageFetchTest.class,
+        StringPoolTest.class,
         VariablePatternVerifierTest.class,
         XSLTransformTest.class,
         SoatestReportsXslTransformationTest.class
@@ -17,6 +17,7 @@ package com.parasoft.findings.jenkins;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -36,8 +37,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -46,6 +49,7 @@ import com.parasoft.findings.utils.results.testableinput.ProjectFileTestableInpu
 import com.parasoft.findings.utils.results.violations.*;
 import com.parasoft.findings.utils.results.xml.IXmlTagsAndAttributes;
 import com.parasoft.findings.utils.results.xml.RulesImportHandler;
+import org.apache.commons.lang3.StringUtils;
 import org.hamcrest.collection.IsIn;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -381,6 +385,20 @@ public class ParasoftParserTest
         }
     }
 
+    @Test
+    public void sharedRuleTitlesTest()
+    {
+        Report report = parseFile(TEST_RESOURCES + "xml/jTest_10_static_2.xml");
+
+        Map<String, String> ruleTitles = new HashMap<>();
+        for (Issue issue : report) {
+            String ruleTitle = issue.getDescription();
+            assertSame(ruleTitles.computeIfAbsent(ruleTitle, key -> ruleTitle), ruleTitle);
+        }
+        assertTrue(ruleTitles.keySet().stream().anyMatch(StringUtils::isNotBlank));
+        assertTrue(ruleTitles.size() < report.getSize());
+    }
+
     @Test
     public void parseCppDesktopStdViolsCategoriesTest()
     {
@@ -5,6 +5,7 @@ import com.parasoft.findings.jenkins.tool.ParasoftTableModel;
 import com.parasoft.findings.jenkins.tool.ParasoftTableModel.ParasoftTableRow;
 import com.parasoft.findings.jenkins.tool.ParasoftTool;
 import com.parasoft.findings.jenkins.tool.ParasoftTool.Descriptor;
+import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.Report;
 import edu.hm.hafner.analysis.Severity;
 import hudson.EnvVars;
@@ -24,6 +25,8 @@ import org.mockito.Mockito;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -33,6 +36,8 @@ public class ParasoftToolTest
 {
     private static final String REPORT_NAME = "jtest_10.6.0_static.xml";
     private static final String TOOL_NAME = "Parasoft Findings";
+    private static final String[] SEVERAL_REPORTS = {"jtest_10.6.0_static.xml", "cppTest_10.6.0_static.xml",
+            "jTest_10_static.xml", "SOAtest_static_10.6.1.xml"};
 
     @Test
     public void scanReportTest()
@@ -67,6 +72,61 @@ public class ParasoftToolTest
         }
     }
 
+    @Test
+    public void scanReportsWithSeveralWorkersTest()
+            throws IOException, InterruptedException
+    {
+        File tempDir = FileUtil.getTempDir();
+        File workspace = new File(tempDir, "workspace");
+        try {
+            for (int i = 0; i < SEVERAL_REPORTS.length; i++) {
+                File report = new File(workspace, "module" + i + "/report.xml");
+                report.getParentFile().mkdirs();
+                Files.copy(new File("src/test/resources/xml", SEVERAL_REPORTS[i]).toPath(), report.toPath());
+            }
+            File emptyReport = new File(workspace, "module" + SEVERAL_REPORTS.length + "/report.xml");
+            emptyReport.getParentFile().mkdirs();
+            assertTrue(emptyReport.createNewFile());
+
+            Report expected = scanReports(tempDir, workspace, 1);
+            Report actual = scanReports(tempDir, workspace, 4);
+
+            assertTrue(expected.getSize() > 0);
+            assertEquals(describeIssues(expected), describeIssues(actual));
+            assertEquals(expected.getInfoMessages(), actual.getInfoMessages());
+            assertEquals(expected.getErrorMessages(), actual.getErrorMessages());
+            assertTrue(actual.getErrorMessages().stream().anyMatch(message -> message.contains("empty")));
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
+    private Report scanReports(File rootDir, File workspace, int workerCount)
+            throws IOException, InterruptedException
+    {
+        FreeStyleBuild freeStyleBuild = Mockito.mock(FreeStyleBuild.class);
+        Mockito.when(freeStyleBuild.getRootDir()).thenReturn(rootDir);
+        Mockito.when(freeStyleBuild.getEnvironment(TaskListener.NULL))
+                .thenReturn(new EnvVars());
+        LogHandler logger = Mockito.mock(LogHandler.class);
+
+        ParasoftTool underTest = new ParasoftTool();
+        underTest.setPattern("**/report.xml");
+        underTest.setWorkerCount(workerCount);
+
+        return underTest.scan(freeStyleBuild, new FilePath(workspace), Charset.forName("UTF-8"), logger);
+    }
+
+    private static List<String> describeIssues(Report report)
+    {
+        List<String> issues = new ArrayList<>();
+        for (Issue issue : report) {
+            issues.add(String.format("%s:%d:%s:%s:%s", issue.getFileName(), issue.getLineStart(), issue.getType(),
+                    issue.getSeverity(), issue.getMessage()));
+        }
+        return issues;
+    }
+
     @Test
     public void labelProviderAndDescriptorTest() throws IOException, InterruptedException
     {
@@ -0,0 +1,179 @@
+package com.parasoft.findings.jenkins;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Properties;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.Test;
+import org.kohsuke.stapler.StaplerResponse;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.security.access.AccessDeniedException;
+
+import com.parasoft.findings.jenkins.internal.rules.RuleDocumentationStorage;
+import com.parasoft.findings.jenkins.tool.ParasoftTool;
+import com.parasoft.findings.jenkins.tool.RuleDocumentationAction;
+
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import hudson.model.Item;
+import io.jenkins.plugins.analysis.core.model.ResultAction;
+import io.jenkins.plugins.analysis.core.model.StaticAnalysisLabelProvider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RuleDocumentationActionTest
+{
+    private static final String ANALYZER = "com.parasoft.jtest.standards.checkers.java";
+    private static final String RULE_ID = "APSC_DV.000160.SRD";
+
+    @Test
+    public void docTest() throws IOException
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            storeRuleDoc(tempDir);
+            StringWriter contents = new StringWriter();
+            StaplerResponse response = createResponse(contents);
+
+            new RuleDocumentationAction(createRun(tempDir)).doDoc(ANALYZER, RULE_ID, response);
+
+            Mockito.verify(response).setContentType("text/html;charset=UTF-8");
+            Mockito.verify(response).setHeader("Cache-Control", "private, max-age=86400");
+            Mockito.verify(response).setHeader(ArgumentMatchers.eq("Content-Security-Policy"),
+                    ArgumentMatchers.startsWith("sandbox; default-src 'none'"));
+            Mockito.verify(response, Mockito.never()).sendError(ArgumentMatchers.anyInt());
+            assertTrue(contents.toString().contains(RULE_ID));
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
+    @Test
+    public void missingDocTest() throws IOException
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            storeRuleDoc(tempDir);
+            RuleDocumentationAction underTest = new RuleDocumentationAction(createRun(tempDir));
+
+            StaplerResponse unknownRule = createResponse(new StringWriter());
+            underTest.doDoc(ANALYZER, "UNKNOWN.RULE", unknownRule);
+            Mockito.verify(unknownRule).sendError(HttpServletResponse.SC_NOT_FOUND);
+
+            StaplerResponse missingRule = createResponse(new StringWriter());
+            underTest.doDoc(ANALYZER, null, missingRule);
+            Mockito.verify(missingRule).sendError(HttpServletResponse.SC_NOT_FOUND);
+
+            Mockito.verify(unknownRule, Mockito.never()).setHeader(ArgumentMatchers.anyString(), ArgumentMatchers.anyString());
+            Mockito.verify(unknownRule, Mockito.never()).getWriter();
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
+    @Test
+    public void pathTraversalTest() throws IOException
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            storeRuleDoc(tempDir);
+            File otherReport = new File(tempDir, "htmlreports/index.html");
+            otherReport.getParentFile().mkdirs();
+            Files.write(otherReport.toPath(), "<p>secret</p>".getBytes(StandardCharsets.UTF_8));
+            RuleDocumentationAction underTest = new RuleDocumentationAction(createRun(tempDir));
+
+            for (String[] request : new String[][] { { "../htmlreports", "index" }, { "..", "htmlreports/index" },
+                { ANALYZER, "../../htmlreports/index" }, { ANALYZER, "..\\..\\htmlreports\\index" } }) {
+                StaplerResponse response = createResponse(new StringWriter());
+                underTest.doDoc(request[0], request[1], response);
+                Mockito.verify(response).sendError(HttpServletResponse.SC_NOT_FOUND);
+                Mockito.verify(response, Mockito.never()).getWriter();
+            }
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
+    @Test
+    public void readPermissionTest() throws IOException
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            storeRuleDoc(tempDir);
+            FreeStyleBuild run = createRun(tempDir);
+            Mockito.doThrow(new AccessDeniedException("denied")).when(run.getParent()).checkPermission(Item.READ);
+            StaplerResponse response = createResponse(new StringWriter());
+
+            assertThrows(AccessDeniedException.class,
+                    () -> new RuleDocumentationAction(run).doDoc(ANALYZER, RULE_ID, response));
+            Mockito.verify(run.getParent()).checkPermission(Item.READ);
+            Mockito.verify(response, Mockito.never()).getWriter();
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
+    @Test
+    public void ruleDocUrlTest()
+    {
+        assertEquals("/jenkins/job/a/1/parasoft-rule-docs/doc?analyzer=com.parasoft.xtest&rule=APSC_DV.000160.SRD",
+                RuleDocumentationAction.getRuleDocUrl("/jenkins/job/a/1/", "com.parasoft.xtest", RULE_ID));
+        assertEquals("/job/a/1/parasoft-rule-docs/doc?analyzer=my+analyzer%2Fv%3D1&rule=A%26B%23C%3F%C3%A9%25",
+                RuleDocumentationAction.getRuleDocUrl("/job/a/1/", "my analyzer/v=1", "A&B#C?\u00e9%"));
+    }
+
+    @Test
+    public void factoryTest()
+    {
+        RuleDocumentationAction.Factory underTest = new RuleDocumentationAction.Factory();
+        FreeStyleBuild run = Mockito.mock(FreeStyleBuild.class);
+        Mockito.when(run.getActions(ResultAction.class)).thenReturn(Collections.emptyList());
+        assertTrue(underTest.createFor(run).isEmpty());
+
+        ResultAction otherResult = Mockito.mock(ResultAction.class);
+        Mockito.when(otherResult.getLabelProvider()).thenReturn(new StaticAnalysisLabelProvider("other", "Other"));
+        Mockito.when(run.getActions(ResultAction.class)).thenReturn(Collections.singletonList(otherResult));
+        assertTrue(underTest.createFor(run).isEmpty());
+
+        ResultAction parasoftResult = Mockito.mock(ResultAction.class);
+        Mockito.when(parasoftResult.getLabelProvider()).thenReturn(new ParasoftTool.Descriptor().getLabelProvider());
+        Mockito.when(run.getActions(ResultAction.class)).thenReturn(Arrays.asList(otherResult, parasoftResult));
+        assertEquals(1, underTest.createFor(run).size());
+        assertTrue(underTest.createFor(run).iterator().next() instanceof RuleDocumentationAction);
+        Mockito.verify(run, Mockito.never()).getRootDir();
+    }
+
+    private static void storeRuleDoc(File buildRoot) throws IOException
+    {
+        Properties settings = new Properties();
+        settings.put("report.rules", new File("src/test/resources/rule").toURI().toURL().getPath());
+        new RuleDocumentationStorage(buildRoot, settings).storeRuleDoc(ANALYZER, RULE_ID);
+    }
+
+    private static FreeStyleBuild createRun(File rootDir)
+    {
+        FreeStyleBuild run = Mockito.mock(FreeStyleBuild.class);
+        FreeStyleProject project = Mockito.mock(FreeStyleProject.class);
+        Mockito.when(run.getRootDir()).thenReturn(rootDir);
+        Mockito.when(run.getParent()).thenReturn(project);
+        return run;
+    }
+
+    private static StaplerResponse createResponse(StringWriter contents) throws IOException
+    {
+        StaplerResponse response = Mockito.mock(StaplerResponse.class);
+        Mockito.when(response.getWriter()).thenReturn(new PrintWriter(contents));
+        return response;
+    }
+}
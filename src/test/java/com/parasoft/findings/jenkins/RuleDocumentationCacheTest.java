@@ -0,0 +1,164 @@
+package com.parasoft.findings.jenkins;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import com.parasoft.findings.jenkins.internal.rules.RuleDocumentationCache;
+import com.parasoft.findings.jenkins.internal.rules.RuleDocumentationReader;
+import com.parasoft.findings.jenkins.internal.rules.RuleDocumentationStorage;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RuleDocumentationCacheTest
+{
+    private static final String ANALYZER = "com.parasoft.jtest.standards.checkers.java";
+    private static final String RULE_ID = "APSC_DV.000160.SRD";
+    private static final String LOCATION = "https://dtp.example.com/rules/" + RULE_ID + ".html";
+    private static final long TIME_TO_LIVE = TimeUnit.HOURS.toMillis(1);
+
+    @Test
+    public void cachedRuleDocTest() throws IOException
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            RuleDocumentationCache underTest = new RuleDocumentationCache(tempDir, TIME_TO_LIVE, Long.MAX_VALUE);
+            assertNull(underTest.getHash(ANALYZER, RULE_ID, LOCATION));
+
+            String hash = underTest.put(ANALYZER, RULE_ID, LOCATION, "<html>doc</html>");
+            assertEquals(hash, underTest.put("other.analyzer", RULE_ID, LOCATION, "<html>doc</html>"));
+            assertEquals(hash, underTest.getHash(ANALYZER, RULE_ID, LOCATION));
+            assertNull(underTest.getHash(ANALYZER, RULE_ID, LOCATION + "?version=2"));
+            assertEquals("<html>doc</html>", underTest.read(hash));
+
+            RuleDocumentationCache reloaded = new RuleDocumentationCache(tempDir, TIME_TO_LIVE, Long.MAX_VALUE);
+            assertEquals(hash, reloaded.getHash(ANALYZER, RULE_ID, LOCATION));
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
+    @Test
+    public void expiredRuleDocTest() throws IOException
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            RuleDocumentationCache underTest = new RuleDocumentationCache(tempDir, -1, Long.MAX_VALUE);
+            underTest.put(ANALYZER, RULE_ID, LOCATION, "<html>doc</html>");
+            assertNull(underTest.getHash(ANALYZER, RULE_ID, LOCATION));
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
+    @Test
+    public void evictLeastRecentlyUsedRuleDocsTest() throws IOException
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            RuleDocumentationCache underTest = new RuleDocumentationCache(tempDir, TIME_TO_LIVE, 20);
+            String first = underTest.put(ANALYZER, "FIRST", LOCATION, "<p>first doc</p>");
+            new File(tempDir, first + ".html").setLastModified(System.currentTimeMillis() - 60000);
+            String second = underTest.put(ANALYZER, "SECOND", LOCATION, "<p>second doc</p>");
+
+            assertNull(underTest.getHash(ANALYZER, "FIRST", LOCATION));
+            assertNull(underTest.read(first));
+            assertEquals(second, underTest.getHash(ANALYZER, "SECOND", LOCATION));
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
+    @Test
+    public void putAllRuleDocsTest() throws IOException
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            RuleDocumentationCache underTest = new RuleDocumentationCache(tempDir, TIME_TO_LIVE, 20);
+            String old = underTest.put(ANALYZER, "OLD", LOCATION, "<p>old doc</p>");
+            new File(tempDir, old + ".html").setLastModified(System.currentTimeMillis() - 60000);
+
+            List<String> hashes = underTest.putAll(Arrays.asList(
+                    new RuleDocumentationCache.RuleDoc(ANALYZER, "FIRST", LOCATION, "<p>first doc</p>"),
+                    new RuleDocumentationCache.RuleDoc(ANALYZER, "SECOND", LOCATION, "<p>second doc</p>"),
+                    new RuleDocumentationCache.RuleDoc(ANALYZER, "THIRD", LOCATION, "<p>first doc</p>")));
+
+            assertEquals(3, hashes.size());
+            assertEquals(hashes.get(0), hashes.get(2));
+            assertNull(underTest.getHash(ANALYZER, "OLD", LOCATION));
+            // the documents of a batch are never evicted, even if they exceed the maximum size
+            RuleDocumentationCache reloaded = new RuleDocumentationCache(tempDir, TIME_TO_LIVE, 20);
+            assertEquals(hashes.get(0), reloaded.getHash(ANALYZER, "FIRST", LOCATION));
+            assertEquals(hashes.get(1), reloaded.getHash(ANALYZER, "SECOND", LOCATION));
+            assertEquals(hashes.get(2), reloaded.getHash(ANALYZER, "THIRD", LOCATION));
+            assertEquals("<p>second doc</p>", reloaded.read(hashes.get(1)));
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
+    @Test
+    public void pinnedRuleDocsTest() throws IOException
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            RuleDocumentationCache underTest = new RuleDocumentationCache(tempDir, TIME_TO_LIVE, 20);
+            String first = underTest.putAndPinAll(Collections.singletonList(
+                    new RuleDocumentationCache.RuleDoc(ANALYZER, "FIRST", LOCATION, "<p>first doc</p>"))).get(0);
+            String second = underTest.put(ANALYZER, "SECOND", LOCATION, "<p>second doc</p>");
+            assertEquals(second, underTest.getAndPinHash(ANALYZER, "SECOND", LOCATION));
+            new File(tempDir, first + ".html").setLastModified(System.currentTimeMillis() - 60000);
+            new File(tempDir, second + ".html").setLastModified(System.currentTimeMillis() - 60000);
+
+            // pinned documents are not evicted, even if they exceed the maximum size
+            underTest.put(ANALYZER, "THIRD", LOCATION, "<p>third doc</p>");
+            assertEquals("<p>first doc</p>", underTest.read(first));
+            assertEquals("<p>second doc</p>", underTest.read(second));
+
+            underTest.unpin(Arrays.asList(first, second));
+            new File(tempDir, first + ".html").setLastModified(System.currentTimeMillis() - 60000);
+            new File(tempDir, second + ".html").setLastModified(System.currentTimeMillis() - 60000);
+            String fourth = underTest.put(ANALYZER, "FOURTH", LOCATION, "<p>fourth doc</p>");
+
+            assertNull(underTest.getHash(ANALYZER, "FIRST", LOCATION));
+            assertNull(underTest.getHash(ANALYZER, "SECOND", LOCATION));
+            assertEquals(fourth, underTest.getHash(ANALYZER, "FOURTH", LOCATION));
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
+    @Test
+    public void storeAndReadCachedRuleDocTest() throws IOException
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            File cacheDir = new File(tempDir, "cache");
+            File buildDir = new File(tempDir, "build");
+            RuleDocumentationCache cache = new RuleDocumentationCache(cacheDir, TIME_TO_LIVE, Long.MAX_VALUE);
+            Properties settings = new Properties();
+            settings.put("report.rules", new File("src/test/resources/rule").toURI().toURL().getPath());
+            new RuleDocumentationStorage(buildDir, "parasoft-findings-rules", settings, cache)
+                    .storeRuleDocs(Collections.singletonMap(ANALYZER, Collections.singleton(RULE_ID)));
+
+            File rule = new File(buildDir, "parasoft-findings-rules/" + ANALYZER + "/" + RULE_ID + ".html");
+            assertTrue(rule.exists());
+            assertTrue(new File(buildDir, "parasoft-findings-rules/rule-docs.properties").exists());
+
+            String ruleDoc = new RuleDocumentationReader(buildDir, "parasoft-findings-rules", cache).getRuleDoc(ANALYZER, RULE_ID);
+            assertNotNull(ruleDoc);
+            assertEquals(ruleDoc, new RuleDocumentationReader(buildDir, "parasoft-findings-rules", null).getRuleDoc(ANALYZER, RULE_ID));
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+}
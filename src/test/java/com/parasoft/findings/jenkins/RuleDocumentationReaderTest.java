@@ -1,7 +1,10 @@
 package com.parasoft.findings.jenkins;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
@@ -42,6 +45,8 @@ public class RuleDocumentationReaderTest
                 fail();
             }
             RuleDocumentationReader underTest = new RuleDocumentationReader(tempDir);
+            assertTrue(underTest.hasRuleDoc(analyzer, ruleName));
+            assertFalse(underTest.hasRuleDoc(analyzer, "UNKNOWN.RULE"));
             String ruleDoc = underTest.getRuleDoc(analyzer, ruleName);
             assertNotNull(ruleDoc);
             String ruleText = null;
@@ -54,4 +59,20 @@ public class RuleDocumentationReaderTest
         }
     }
 
+    @Test
+    public void sharedRuleDocTest() throws IOException
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            Properties settings = new Properties();
+            settings.put("report.rules", new File("src/test/resources/rule").toURI().toURL().getPath());
+            new RuleDocumentationStorage(tempDir, settings).storeRuleDoc(analyzer, ruleName);
+
+            String ruleDoc = new RuleDocumentationReader(tempDir).getRuleDoc(analyzer, ruleName);
+            assertNotNull(ruleDoc);
+            assertSame(ruleDoc, new RuleDocumentationReader(tempDir).getRuleDoc(analyzer, ruleName));
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
 }
@@ -5,6 +5,8 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Properties;
 
 import com.parasoft.findings.jenkins.internal.rules.JenkinsRulesUtil;
@@ -64,6 +66,27 @@ public class RuleDocumentationStorageTest
         }
     }
 
+    @Test
+    public void localRulesBatchTest() throws IOException
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            Properties settings = new Properties();
+            settings.put("report.rules", new File("src/test/resources/rule").toURI().toURL().getPath());
+            RuleDocumentationStorage underTest = new RuleDocumentationStorage(tempDir, settings);
+            underTest.storeRuleDocs(Collections.singletonMap("com.parasoft.jtest.standards.checkers.java",
+                    Arrays.asList("APSC_DV.000160.SRD", "APSC_DV.000160.SRD")));
+
+            File rule = new File(tempDir.getAbsolutePath() + "/parasoft-findings-rules/"
+                    + "com.parasoft.jtest.standards.checkers.java/APSC_DV.000160.SRD.html");
+            if (!rule.exists()) {
+                fail();
+            }
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
     private void checkIfRuleExist(RuleDocumentationStorage underTest, File tempDir, String ruleName)
     {
         underTest.storeRuleDoc("com.parasoft.jtest.standards.checkers.java", ruleName);
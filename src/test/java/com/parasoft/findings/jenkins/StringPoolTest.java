@@ -0,0 +1,27 @@
+package com.parasoft.findings.jenkins;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import com.parasoft.findings.jenkins.parser.StringPool;
+
+public class StringPoolTest
+{
+    @Test
+    public void internTest()
+    {
+        StringPool pool = new StringPool();
+        String first = new String("OPT-14");
+        String second = new String("OPT-14");
+        assertNotSame(first, second);
+
+        assertSame(first, pool.intern(first));
+        assertSame(first, pool.intern(second));
+        assertEquals("INIT-06", pool.intern("INIT-06"));
+        assertNull(pool.intern(null));
+    }
+}
@@ -0,0 +1,82 @@
+package com.parasoft.findings.jenkins.coverage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.xml.transform.stream.StreamSource;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.parasoft.findings.jenkins.coverage.converter.ConversionService;
+
+import net.sf.saxon.s9api.QName;
+import net.sf.saxon.s9api.XdmAtomicValue;
+import net.sf.saxon.s9api.XdmValue;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Verifies that the keyed lookups of {@code cobertura.xsl} produce exactly the same Cobertura reports as the previous
+ * version of the stylesheet ({@code cobertura-unkeyed.xsl}) that scanned all coverage data for each lookup.
+ */
+class CoberturaXslConversionTest {
+    private static final String UNKEYED_XSL = "cobertura-unkeyed.xsl";
+    private static final String WORKING_DIRECTORY_PARAM = "pipelineBuildWorkingDirectory";
+
+    @TempDir
+    Path temporaryFolder;
+
+    @ParameterizedTest(name = "{0} should be converted like before")
+    @ValueSource(strings = {
+            "/coverage.xml",
+            "/com/parasoft/findings/jenkins/coverage/parasoft_coverage.xml",
+            "/com/parasoft/findings/jenkins/coverage/model/parser/parasoft-cpptest-coverage.xml"})
+    void shouldConvertReportsLikeUnkeyedStylesheet(final String report) throws Exception {
+        assertSameConversion(report, Map.of());
+    }
+
+    @ParameterizedTest(name = "{0} should be converted relative to the working directory like before")
+    @ValueSource(strings = {
+            "/com/parasoft/findings/jenkins/coverage/parasoft_coverage.xml",
+            "/com/parasoft/findings/jenkins/coverage/model/parser/parasoft-cpptest-coverage.xml"})
+    void shouldConvertReportsWithWorkingDirectoryLikeUnkeyedStylesheet(final String report) throws Exception {
+        assertSameConversion(report, Map.of(new QName(WORKING_DIRECTORY_PARAM), new XdmAtomicValue("/home/user")));
+    }
+
+    private void assertSameConversion(final String report, final Map<QName, XdmValue> params) throws Exception {
+        File input = getResource(report);
+        File expected = temporaryFolder.resolve("expected.xml").toFile();
+        File actual = temporaryFolder.resolve("actual.xml").toFile();
+
+        new ConversionService().convert(new StreamSource(new StringReader(readUnkeyedXsl())), input, expected, params);
+        new ConversionService().convert(
+                new StreamSource(new StringReader(ParasoftCoverageRecorder.getCoberturaXslContent())), input, actual,
+                params);
+
+        assertThat(Files.readString(actual.toPath(), StandardCharsets.UTF_8))
+                .isNotEmpty()
+                .isEqualTo(Files.readString(expected.toPath(), StandardCharsets.UTF_8));
+    }
+
+    private File getResource(final String name) throws URISyntaxException {
+        return Paths.get(Objects.requireNonNull(CoberturaXslConversionTest.class.getResource(name)).toURI()).toFile();
+    }
+
+    private String readUnkeyedXsl() throws IOException {
+        try (InputStream stream = CoberturaXslConversionTest.class.getResourceAsStream(UNKEYED_XSL)) {
+            return IOUtils.toString(Objects.requireNonNull(stream), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.parasoft.findings.jenkins.coverage;
 
+import com.parasoft.findings.jenkins.coverage.api.metrics.steps.CoverageBuildAction;
+import hudson.FilePath;
 import hudson.model.*;
 import org.apache.commons.io.FileUtils;
 import org.junit.Assert;
@@ -10,6 +12,11 @@ import org.jvnet.hudson.test.JenkinsRule;
 import org.jvnet.hudson.test.SingleFileSCM;
 import org.mockito.Mockito;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import static org.junit.Assert.assertEquals;
 
 public class ParasoftCoverageRecorderTest {
@@ -17,6 +24,9 @@ public class ParasoftCoverageRecorderTest {
     public JenkinsRule jenkinsRule = new JenkinsRule();
     static String success = "Finished: SUCCESS";
     static String failure = "Finished: FAILURE";
+    private static final String[] SEVERAL_REPORTS = {"/coverage.xml",
+            "/com/parasoft/findings/jenkins/coverage/parasoft_coverage.xml",
+            "/com/parasoft/findings/jenkins/coverage/model/parser/parasoft-cpptest-coverage.xml"};
     static String usingDefaultPattern = "[Parasoft Coverage] Using default pattern '**/coverage.xml' for '' since specified pattern is empty";
 
     @Test
@@ -36,6 +46,49 @@ public class ParasoftCoverageRecorderTest {
         Assert.assertTrue(log.contains(success));
     }
 
+    @Test
+    public void testUsingSeveralWorkers() throws Exception {
+        ParasoftCoverageRecorder parasoftCoverageRecorder = new ParasoftCoverageRecorder();
+        parasoftCoverageRecorder.setSourceCodeEncoding("UTF-8");
+        FreeStyleProject project = jenkinsRule.createFreeStyleProject();
+        FilePath workspace = jenkinsRule.jenkins.getWorkspaceFor(project);
+        for (int i = 0; i < SEVERAL_REPORTS.length; i++) {
+            workspace.child("module" + i + "/coverage.xml").copyFrom(getClass().getResource(SEVERAL_REPORTS[i]));
+        }
+        project.getPublishersList().add(parasoftCoverageRecorder);
+
+        parasoftCoverageRecorder.setWorkerCount(1);
+        FreeStyleBuild sequentialBuild = project.scheduleBuild2(0).get();
+        parasoftCoverageRecorder.setWorkerCount(4);
+        FreeStyleBuild concurrentBuild = project.scheduleBuild2(0).get();
+
+        List<String> sequentialFiles = getParsedReportFiles(sequentialBuild);
+        assertEquals(SEVERAL_REPORTS.length, sequentialFiles.size());
+        assertEquals(sequentialFiles, getParsedReportFiles(concurrentBuild));
+        assertEquals(sequentialBuild.getAction(CoverageBuildAction.class).getResult(),
+                concurrentBuild.getAction(CoverageBuildAction.class).getResult());
+    }
+
+    @Test
+    public void testUsingXslConversion() throws Exception {
+        ParasoftCoverageRecorder parasoftCoverageRecorder = new ParasoftCoverageRecorder();
+        ParasoftCoverageRecorder.useXslConversion = true;
+        try {
+            String log = runPlugin(parasoftCoverageRecorder, true);
+            Assert.assertTrue(log.contains("Successfully converted and parsed Parasoft coverage report file"));
+            Assert.assertTrue(log.contains(success));
+        } finally {
+            ParasoftCoverageRecorder.useXslConversion = false;
+        }
+    }
+
+    @Test
+    public void testInvalidWorkerCount() {
+        ParasoftCoverageRecorder parasoftCoverageRecorder = new ParasoftCoverageRecorder();
+        parasoftCoverageRecorder.setWorkerCount(0);
+        assertEquals(1, parasoftCoverageRecorder.getWorkerCount());
+    }
+
     @Test
     public void testEmptyCoverageFile() throws Exception {
         ParasoftCoverageRecorder parasoftCoverageRecorder = new ParasoftCoverageRecorder();
@@ -70,6 +123,14 @@ public class ParasoftCoverageRecorderTest {
         assertEquals("No workspace found for " + build, message);
     }
 
+    private List<String> getParsedReportFiles(FreeStyleBuild build) throws IOException {
+        String log = FileUtils.readFileToString(build.getLogFile(), "UTF-8");
+        Assert.assertTrue(log.contains(success));
+        return Arrays.stream(log.split("\\R"))
+                .filter(line -> line.contains("Successfully parsed Parasoft coverage report file"))
+                .collect(Collectors.toList());
+    }
+
     private String runPlugin(ParasoftCoverageRecorder parasoftCoverageRecorder, boolean setXML) throws Exception {
         parasoftCoverageRecorder.setSourceCodeEncoding("UTF-8");
         FreeStyleProject project = jenkinsRule.createFreeStyleProject();
@@ -0,0 +1,126 @@
+package com.parasoft.findings.jenkins.coverage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.xml.transform.stream.StreamSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.parasoft.findings.jenkins.coverage.converter.ConversionException;
+import com.parasoft.findings.jenkins.coverage.converter.ConversionService;
+import com.parasoft.findings.jenkins.coverage.model.ModuleNode;
+import com.parasoft.findings.jenkins.coverage.model.parser.CoberturaParser;
+import edu.hm.hafner.util.FilteredLog;
+import io.jenkins.plugins.util.AgentFileVisitor.FileVisitorResult;
+
+import net.sf.saxon.s9api.QName;
+import net.sf.saxon.s9api.XdmAtomicValue;
+import net.sf.saxon.s9api.XdmValue;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ParasoftCoverageReportScannerTest {
+    private static final String REPORT = "parasoft_coverage.xml";
+    private static final String WORKING_DIRECTORY_PARAM = "pipelineBuildWorkingDirectory";
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @TempDir
+    Path workspace;
+
+    @Test
+    void shouldParseConvertedReportWhileItIsProduced() throws Exception {
+        File report = copyReport(REPORT, "module/coverage.xml");
+
+        FileVisitorResult<ModuleNode> result = scan(1);
+
+        assertThat(result.hasErrors()).isFalse();
+        assertThat(result.getLog().getInfoMessages()).anySatisfy(message ->
+                assertThat(message).startsWith("Successfully converted and parsed Parasoft coverage report file"));
+        assertThat(result.getResults()).containsExactly(convertWithIntermediateFile(report));
+    }
+
+    @Test
+    void shouldParseSeveralConvertedReportsConcurrently() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            copyReport(REPORT, "module" + i + "/coverage.xml");
+        }
+
+        FileVisitorResult<ModuleNode> expected = scan(1);
+        FileVisitorResult<ModuleNode> actual = scan(4);
+
+        assertThat(actual.getResults()).hasSize(4).isEqualTo(expected.getResults());
+        assertThat(actual.getLog().getInfoMessages()).isEqualTo(expected.getLog().getInfoMessages());
+    }
+
+    @Test
+    void shouldReportBrokenReportWithoutBlocking() throws IOException {
+        Files.writeString(workspace.resolve("coverage.xml"), "<Coverage ver=\"1\">\n<Locations>\n",
+                StandardCharsets.UTF_8);
+
+        FileVisitorResult<ModuleNode> result = assertTimeoutPreemptively(TIMEOUT, () -> scan(1));
+
+        assertThat(result.getResults()).isEmpty();
+        assertThat(result.getLog().getErrorMessages()).anySatisfy(message ->
+                assertThat(message).startsWith("Parsing of Parasoft coverage report file"));
+    }
+
+    @Test
+    void shouldStopConversionIfResultIsNotRead() throws Exception {
+        File report = copyReport(REPORT, "coverage.xml");
+        Map<QName, XdmValue> params = Map.of(new QName(WORKING_DIRECTORY_PARAM), new XdmAtomicValue(getWorkingDirectory()));
+
+        assertThatExceptionOfType(ConversionException.class).isThrownBy(() ->
+                assertTimeoutPreemptively(TIMEOUT, () -> new ConversionService().convert(
+                        ParasoftCoverageRecorder.getCoberturaXslContent(), report, params,
+                        result -> {
+                            throw new IOException("Stopped reading");
+                        })))
+                .withRootCauseInstanceOf(IOException.class);
+        assertThat(assertTimeoutPreemptively(TIMEOUT, () -> new ConversionService().convert(
+                ParasoftCoverageRecorder.getCoberturaXslContent(), report, params, Reader::read)))
+                .isEqualTo((int) '<');
+    }
+
+    private FileVisitorResult<ModuleNode> scan(final int workerCount) throws IOException {
+        return new ParasoftCoverageReportScanner("**/coverage.xml", ParasoftCoverageRecorder.getCoberturaXslContent(),
+                workspace.toString(), StandardCharsets.UTF_8.name(), false, workerCount)
+                .invoke(workspace.toFile(), null);
+    }
+
+    private ModuleNode convertWithIntermediateFile(final File report) throws IOException {
+        File converted = workspace.resolve("cobertura.xml").toFile();
+        StreamSource xsl = new StreamSource(new StringReader(ParasoftCoverageRecorder.getCoberturaXslContent()));
+        new ConversionService().convert(xsl, report, converted,
+                Map.of(new QName(WORKING_DIRECTORY_PARAM), new XdmAtomicValue(getWorkingDirectory())));
+        try (Reader reader = Files.newBufferedReader(converted.toPath(), StandardCharsets.UTF_8)) {
+            return new CoberturaParser().parse(reader, new FilteredLog("Errors"));
+        }
+        finally {
+            Files.delete(converted.toPath());
+        }
+    }
+
+    private String getWorkingDirectory() throws IOException {
+        return workspace.toFile().getCanonicalPath();
+    }
+
+    private File copyReport(final String resource, final String fileName) throws IOException {
+        Path target = workspace.resolve(fileName);
+        Files.createDirectories(target.getParent());
+        try (InputStream stream = ParasoftCoverageReportScannerTest.class.getResourceAsStream(resource)) {
+            Files.copy(Objects.requireNonNull(stream), target);
+        }
+        return target.toFile();
+    }
+}
@@ -0,0 +1,163 @@
+package com.parasoft.findings.jenkins.coverage.api.metrics.steps;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+import org.apache.commons.lang3.math.Fraction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.parasoft.findings.jenkins.coverage.model.FileNode;
+import com.parasoft.findings.jenkins.coverage.model.Metric;
+import com.parasoft.findings.jenkins.coverage.model.Mutation;
+import com.parasoft.findings.jenkins.coverage.model.Mutation.MutationBuilder;
+import com.parasoft.findings.jenkins.coverage.model.MutationStatus;
+import com.parasoft.findings.jenkins.coverage.model.Node;
+import com.parasoft.findings.jenkins.coverage.model.parser.JacocoParser;
+import edu.hm.hafner.util.FilteredLog;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CoverageBinaryStreamTest {
+    private static final String RESULT_FILE = "parasoft-coverage.xml";
+
+    @TempDir
+    Path buildDirectory;
+
+    @Test
+    void shouldWriteAndReadTree() throws IOException {
+        Node tree = createTree();
+
+        var output = new ByteArrayOutputStream();
+        CoverageBinaryStream.writeTree(tree, output);
+        Node restored = CoverageBinaryStream.readTree(new ByteArrayInputStream(output.toByteArray()));
+
+        assertThat(restored).isEqualTo(tree);
+        assertThat(restored.aggregateValues()).isEqualTo(tree.aggregateValues());
+        assertThat(restored.getParasoftToolName()).isEqualTo("Jtest");
+        assertThat(restored.findFile("TreeStringBuilder.java")).isPresent().get().satisfies(file -> {
+            assertThat(file.getModifiedLines()).containsExactly(19, 20, 1000);
+            assertThat(file.getIndirectCoverageChanges()).containsEntry(61, -1);
+            assertThat(file.getDelta(Metric.LINE)).isEqualTo(Fraction.getFraction(-3, 7));
+        });
+    }
+
+    @Test
+    void shouldStoreTreeInBinaryFile() {
+        Node tree = createTree();
+        Path resultFile = buildDirectory.resolve(RESULT_FILE);
+
+        var stream = new CoverageBinaryStream();
+        stream.write(resultFile, tree);
+
+        assertThat(resultFile).doesNotExist();
+        assertThat(buildDirectory.resolve("parasoft-coverage.bin")).exists();
+        assertThat(stream.read(resultFile)).isEqualTo(tree);
+    }
+
+    @Test
+    void shouldReadXmlFileOfPreviousReleases() {
+        Node tree = createTree();
+        Path resultFile = buildDirectory.resolve(RESULT_FILE);
+
+        new CoverageXmlStream().write(resultFile, tree);
+
+        assertThat(new CoverageBinaryStream().read(resultFile)).isEqualTo(tree);
+    }
+
+    @Test
+    void shouldFallBackToXmlFileIfBinaryFileIsBroken() throws IOException {
+        Node tree = createTree();
+        Path resultFile = buildDirectory.resolve(RESULT_FILE);
+
+        new CoverageXmlStream().write(resultFile, tree);
+        Files.writeString(CoverageBinaryStream.getBinaryFile(resultFile), "broken");
+
+        assertThat(new CoverageBinaryStream().read(resultFile)).isEqualTo(tree);
+    }
+
+    @Test
+    void shouldPreserveMissingKillingTest() throws IOException {
+        var file = new FileNode("Mutated.java", "src/Mutated.java");
+        file.addMutation(new MutationBuilder().setStatus(MutationStatus.SURVIVED).setLine(3)
+                .setKillingTest(null).build());
+        file.addMutation(new MutationBuilder().setStatus(MutationStatus.KILLED).setLine(4)
+                .setKillingTest("").build());
+
+        var output = new ByteArrayOutputStream();
+        CoverageBinaryStream.writeTree(file, output);
+        Node restored = CoverageBinaryStream.readTree(new ByteArrayInputStream(output.toByteArray()));
+
+        assertThat(restored).isEqualTo(file);
+        assertThat(((FileNode) restored).getMutations()).extracting(Mutation::getKillingTest)
+                .containsExactly(null, "");
+    }
+
+    @Test
+    void shouldFallBackToXmlFileIfBinaryFileContainsInvalidValues() throws IOException {
+        Node tree = createTree();
+        Path resultFile = buildDirectory.resolve(RESULT_FILE);
+        byte[] invalidDelta = createFileWithZeroDenominator();
+
+        new CoverageXmlStream().write(resultFile, tree);
+        Files.write(CoverageBinaryStream.getBinaryFile(resultFile), invalidDelta);
+
+        assertThatExceptionOfType(ArithmeticException.class).isThrownBy(
+                () -> CoverageBinaryStream.readTree(new ByteArrayInputStream(invalidDelta)));
+        assertThat(new CoverageBinaryStream().read(resultFile)).isEqualTo(tree);
+    }
+
+    private byte[] createFileWithZeroDenominator() throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        var output = new DataOutputStream(bytes);
+        output.writeInt(0x50435654); // magic number
+        output.writeByte(1); // version
+        output.writeByte(0); // not compressed
+
+        output.writeByte(2); // string table
+        output.writeByte(1);
+        output.writeBytes("f");
+        output.writeByte(4);
+        output.writeBytes("LINE");
+
+        output.writeByte(3); // file node named "f" without tool name and values
+        output.writeByte(0);
+        output.writeByte(0);
+        output.writeByte(0);
+        output.writeByte(0); // relative path "f" without lines, modified lines and changes
+        output.writeByte(0);
+        output.writeByte(0);
+        output.writeByte(0);
+        output.writeByte(1); // delta of LINE with numerator 1 and denominator 0
+        output.writeByte(1);
+        output.writeByte(2);
+        output.writeByte(0);
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    private Node createTree() {
+        try (InputStream stream = CoverageBinaryStreamTest.class.getResourceAsStream("jacoco-codingstyle.xml");
+                var reader = new InputStreamReader(Objects.requireNonNull(stream), StandardCharsets.UTF_8)) {
+            var tree = new JacocoParser().parse(reader, new FilteredLog("Errors"));
+            tree.setParasoftToolName("Jtest");
+
+            FileNode file = tree.findFile("TreeStringBuilder.java").orElseThrow();
+            file.addModifiedLines(19, 20, 1000);
+            file.addIndirectCoverageChange(61, -1);
+            file.setDelta(Metric.LINE, Fraction.getFraction(-3, 7));
+            return tree;
+        }
+        catch (IOException exception) {
+            throw new AssertionError(exception);
+        }
+    }
+}
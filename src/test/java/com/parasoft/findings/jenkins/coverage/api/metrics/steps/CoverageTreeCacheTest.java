@@ -0,0 +1,150 @@
+package com.parasoft.findings.jenkins.coverage.api.metrics.steps;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.parasoft.findings.jenkins.coverage.model.Coverage.CoverageBuilder;
+import com.parasoft.findings.jenkins.coverage.model.FileNode;
+import com.parasoft.findings.jenkins.coverage.model.Metric;
+import com.parasoft.findings.jenkins.coverage.model.ModuleNode;
+import com.parasoft.findings.jenkins.coverage.model.Node;
+import com.parasoft.findings.jenkins.coverage.model.PackageNode;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CoverageTreeCacheTest {
+    private static final FileTime FIRST_VERSION = FileTime.fromMillis(1000);
+    private static final FileTime SECOND_VERSION = FileTime.fromMillis(2000);
+    private static final Path FIRST_BUILD = Path.of("jobs", "job", "builds", "1", "parasoft-coverage.xml");
+    private static final Path SECOND_BUILD = Path.of("jobs", "job", "builds", "2", "parasoft-coverage.xml");
+    private static final Path THIRD_BUILD = Path.of("jobs", "job", "builds", "3", "parasoft-coverage.xml");
+
+    @Test
+    void shouldLoadTreeOnlyOnce() {
+        var cache = new CoverageTreeCache(Long.MAX_VALUE);
+        var tree = createTree("module");
+
+        assertThat(cache.get(FIRST_BUILD, FIRST_VERSION, () -> tree)).isSameAs(tree);
+        assertThat(cache.get(FIRST_BUILD, FIRST_VERSION, this::failToLoad)).isSameAs(tree);
+
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getTreeCount()).isEqualTo(1);
+        assertThat(cache.getSize()).isEqualTo(CoverageTreeCache.estimateSize(tree));
+        assertThat(cache).hasToString(String.format("1 trees (%d of %d bytes), 1 hits, 1 misses, 0 evictions",
+                CoverageTreeCache.estimateSize(tree), Long.MAX_VALUE));
+    }
+
+    @Test
+    void shouldShareTreeBetweenThreads() throws InterruptedException, ExecutionException {
+        var cache = new CoverageTreeCache(Long.MAX_VALUE);
+        var tree = createTreeWithCoverage();
+        var expected = createTreeWithCoverage();
+        cache.put(FIRST_BUILD, FIRST_VERSION, tree);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Node>> readers = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                readers.add(executor.submit(() -> {
+                    // the lazily computed caches of the shared tree are filled concurrently
+                    Node sharedTree = cache.get(FIRST_BUILD, FIRST_VERSION, this::failToLoad);
+                    assertThat(sharedTree.getMetrics()).isEqualTo(expected.getMetrics());
+                    assertThat(sharedTree.getValue(Metric.LINE)).isEqualTo(expected.getValue(Metric.LINE));
+                    assertThat(sharedTree.findFile("package/File.java")).isNotEmpty();
+                    return sharedTree;
+                }));
+            }
+            for (Future<Node> reader : readers) {
+                assertThat(reader.get()).isSameAs(tree);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        assertThat(cache.getHitCount()).isEqualTo(16);
+    }
+
+    @Test
+    void shouldReloadModifiedFile() {
+        var cache = new CoverageTreeCache(Long.MAX_VALUE);
+        var tree = createTree("module");
+        var modified = createTree("modified");
+
+        cache.put(FIRST_BUILD, FIRST_VERSION, tree);
+
+        assertThat(cache.get(FIRST_BUILD, SECOND_VERSION, () -> modified)).isSameAs(modified);
+        assertThat(cache.get(FIRST_BUILD, SECOND_VERSION, this::failToLoad)).isSameAs(modified);
+        assertThat(cache.getTreeCount()).isEqualTo(1);
+        assertThat(cache.getSize()).isEqualTo(CoverageTreeCache.estimateSize(modified));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedTrees() {
+        var first = createTree("first");
+        var second = createTree("second");
+        var third = createTree("third");
+        var cache = new CoverageTreeCache(2 * CoverageTreeCache.estimateSize(first));
+
+        cache.put(FIRST_BUILD, FIRST_VERSION, first);
+        cache.put(SECOND_BUILD, FIRST_VERSION, second);
+        assertThat(cache.get(FIRST_BUILD, FIRST_VERSION, this::failToLoad)).isSameAs(first);
+
+        cache.put(THIRD_BUILD, FIRST_VERSION, third);
+
+        assertThat(cache.getTreeCount()).isEqualTo(2);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+        assertThat(cache.get(FIRST_BUILD, FIRST_VERSION, this::failToLoad)).isSameAs(first);
+        assertThat(cache.get(THIRD_BUILD, FIRST_VERSION, this::failToLoad)).isSameAs(third);
+        assertThat(cache.get(SECOND_BUILD, FIRST_VERSION, () -> second)).isSameAs(second);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheTreesThatExceedTheBudget() {
+        var cache = new CoverageTreeCache(0);
+        var tree = createTree("module");
+
+        assertThat(cache.get(FIRST_BUILD, FIRST_VERSION, () -> tree)).isSameAs(tree);
+        assertThat(cache.getTreeCount()).isZero();
+        assertThat(cache.getSize()).isZero();
+    }
+
+    @Test
+    void shouldEstimateSizeOfLines() {
+        var tree = createTree("module");
+        long emptySize = CoverageTreeCache.estimateSize(tree);
+
+        tree.findFile("File.java").orElseThrow().addCounters(42, 1, 0);
+
+        assertThat(CoverageTreeCache.estimateSize(tree)).isGreaterThan(emptySize);
+    }
+
+    private Node failToLoad() {
+        throw new AssertionError("Tree should be cached");
+    }
+
+    private Node createTreeWithCoverage() {
+        var tree = createTree("module");
+        var file = tree.findFile("File.java").orElseThrow();
+        file.addCounters(1, 1, 0);
+        file.addValue(new CoverageBuilder().setMetric(Metric.LINE).setCovered(1).setMissed(0).build());
+        return tree;
+    }
+
+    private Node createTree(final String name) {
+        var module = new ModuleNode(name);
+        var packageNode = new PackageNode("package");
+        module.addChild(packageNode);
+        packageNode.addChild(new FileNode("File.java", "package/File.java"));
+        return module;
+    }
+}
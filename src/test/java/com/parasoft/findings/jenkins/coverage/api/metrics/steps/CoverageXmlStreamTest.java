@@ -41,6 +41,8 @@ import org.apache.commons.lang3.math.Fraction;
 import org.junit.jupiter.api.Test;
 import org.xmlunit.builder.Input;
 
+import com.parasoft.findings.jenkins.coverage.model.LineMap;
+import com.parasoft.findings.jenkins.coverage.model.LineSet;
 import com.parasoft.findings.jenkins.coverage.model.Metric;
 import com.parasoft.findings.jenkins.coverage.model.Node;
 import com.parasoft.findings.jenkins.coverage.model.Value;
@@ -56,6 +58,8 @@ import com.parasoft.findings.jenkins.coverage.Assertions;
 import com.parasoft.findings.jenkins.coverage.api.metrics.model.Baseline;
 import com.parasoft.findings.jenkins.coverage.api.metrics.steps.CoverageXmlStream.IntegerLineMapConverter;
 import com.parasoft.findings.jenkins.coverage.api.metrics.steps.CoverageXmlStream.IntegerSetConverter;
+import com.parasoft.findings.jenkins.coverage.api.metrics.steps.CoverageXmlStream.LineMapConverter;
+import com.parasoft.findings.jenkins.coverage.api.metrics.steps.CoverageXmlStream.LineSetConverter;
 import com.parasoft.findings.jenkins.coverage.api.metrics.steps.CoverageXmlStream.MetricFractionMapConverter;
 import io.jenkins.plugins.util.QualityGateResult;
 
@@ -247,6 +251,48 @@ class CoverageXmlStreamTest extends SerializableTest<Node> {
         Assertions.assertThat(converter.unmarshal("[15, 20]")).containsExactly(15, 20);
     }
 
+    @Test
+    void shouldConvertLineMap2String() {
+        var lines = new LineMap();
+
+        LineMapConverter converter = new LineMapConverter();
+
+        assertThat(converter.marshal(lines)).isEqualTo(EMPTY);
+
+        lines.put(15, 25);
+        lines.put(10, 20);
+        assertThat(converter.marshal(lines)).isEqualTo("[10: 20, 15: 25]");
+    }
+
+    @Test
+    void shouldConvertString2LineMap() {
+        LineMapConverter converter = new LineMapConverter();
+
+        assertThat(converter.unmarshal(EMPTY).isEmpty()).isTrue();
+        assertThat(converter.unmarshal("[15:25, 10: 20]").toMap()).containsExactly(entry(10, 20), entry(15, 25));
+    }
+
+    @Test
+    void shouldConvertLineSet2String() {
+        var lines = new LineSet();
+
+        LineSetConverter converter = new LineSetConverter();
+
+        assertThat(converter.marshal(lines)).isEqualTo(EMPTY);
+
+        lines.add(15);
+        lines.add(10);
+        assertThat(converter.marshal(lines)).isEqualTo("[10, 15]");
+    }
+
+    @Test
+    void shouldConvertString2LineSet() {
+        LineSetConverter converter = new LineSetConverter();
+
+        assertThat(converter.unmarshal(EMPTY).isEmpty()).isTrue();
+        assertThat(converter.unmarshal("[20, 15]").getLines()).containsExactly(15, 20);
+    }
+
     // TODO: Add content for the other baselines as well
     CoverageBuildAction createAction() {
         var tree = createSerializable();
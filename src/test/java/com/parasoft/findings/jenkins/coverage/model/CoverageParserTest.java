@@ -0,0 +1,39 @@
+package com.parasoft.findings.jenkins.coverage.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link CoverageParser}.
+ */
+class CoverageParserTest {
+    @Test
+    void shouldParseIntegers() {
+        assertThat(CoverageParser.parseInteger("0")).isZero();
+        assertThat(CoverageParser.parseInteger("42")).isEqualTo(42);
+        assertThat(CoverageParser.parseInteger("+42")).isEqualTo(42);
+        assertThat(CoverageParser.parseInteger("-42")).isEqualTo(-42);
+        assertThat(CoverageParser.parseInteger("2147483647")).isEqualTo(Integer.MAX_VALUE);
+        assertThat(CoverageParser.parseInteger("-2147483648")).isEqualTo(Integer.MIN_VALUE);
+    }
+
+    @Test
+    void shouldReturnZeroForInvalidIntegers() {
+        assertThat(CoverageParser.parseInteger(null)).isZero();
+        assertThat(CoverageParser.parseInteger("")).isZero();
+        assertThat(CoverageParser.parseInteger("-")).isZero();
+        assertThat(CoverageParser.parseInteger(" 1")).isZero();
+        assertThat(CoverageParser.parseInteger("1.5")).isZero();
+        assertThat(CoverageParser.parseInteger("2147483648")).isZero();
+        assertThat(CoverageParser.parseInteger("-2147483649")).isZero();
+        assertThat(CoverageParser.parseInteger("99999999999999999999")).isZero();
+    }
+
+    @Test
+    void shouldParseIntegerInRange() {
+        assertThat(CoverageParser.parseInteger("50% (1/2)", 5, 6)).isEqualTo(1);
+        assertThat(CoverageParser.parseInteger("50% (1/2)", 7, 8)).isEqualTo(2);
+        assertThat(CoverageParser.parseInteger("50% (1/2)", 4, 6)).isZero();
+    }
+}
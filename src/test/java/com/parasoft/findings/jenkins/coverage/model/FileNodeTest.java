@@ -42,9 +42,23 @@ class FileNodeTest extends AbstractNodeTest {
     @Override
     void configureEqualsVerifier(final EqualsVerifierApi<? extends Node> verifier) {
         verifier.withPrefabValues(TreeString.class, TreeString.valueOf("src"), TreeString.valueOf("test"))
+                .withPrefabValues(LineMap.class, createLineMap(1), createLineMap(2))
+                .withPrefabValues(LineSet.class, createLineSet(1), createLineSet(2))
                 .suppress(Warning.NONFINAL_FIELDS);
     }
 
+    private static LineMap createLineMap(final int line) {
+        var lines = new LineMap();
+        lines.put(line, 1);
+        return lines;
+    }
+
+    private static LineSet createLineSet(final int line) {
+        var lines = new LineSet();
+        lines.add(line);
+        return lines;
+    }
+
     @Override
     FileNode createNode(final String name) {
         var fileNode = new FileNode(name, "path");
@@ -57,6 +71,27 @@ class FileNodeTest extends AbstractNodeTest {
         return fileNode;
     }
 
+    @Test
+    void shouldStoreCountersOfUnorderedLines() {
+        var file = new FileNode("file.txt", "path");
+        file.addCounters(20, 1, 0);
+        file.addCounters(10, 0, 1);
+        file.addCounters(15, 2, 2);
+        file.addCounters(10, 1, 0);
+        file.addModifiedLines(15, 5, 15);
+
+        assertThat(file.getLinesWithCoverage()).containsExactly(10, 15, 20);
+        assertThat(file.getCoveredCounters()).containsExactly(1, 2, 1);
+        assertThat(file.getMissedCounters()).containsExactly(0, 2, 0);
+        assertThat(file.getCoveredOfLine(12)).isZero();
+        assertThat(file.getPartiallyCoveredLines()).containsExactly(entry(15, 2));
+        assertThat(file.getModifiedLines()).containsExactly(5, 15);
+        assertThat(file.getCoveredAndModifiedLines()).containsExactly(15);
+
+        file.trimToSize();
+        assertThat(file).isEqualTo(file.copy());
+    }
+
     @Test
     void shouldGetFilePath() {
         var module = new ModuleNode("top-level"); // just for testing
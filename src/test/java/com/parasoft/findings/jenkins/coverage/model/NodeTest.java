@@ -24,6 +24,7 @@
 
 package com.parasoft.findings.jenkins.coverage.model;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -33,6 +34,7 @@ import org.junitpioneer.jupiter.DefaultLocale;
 
 import com.parasoft.findings.jenkins.coverage.model.Coverage.CoverageBuilder;
 import com.parasoft.findings.jenkins.coverage.model.Mutation.MutationBuilder;
+import edu.hm.hafner.util.TreeString;
 
 import static com.parasoft.findings.jenkins.coverage.model.Metric.CLASS;
 import static com.parasoft.findings.jenkins.coverage.model.Metric.FILE;
@@ -205,6 +207,114 @@ class NodeTest {
         assertThat(getCoverage(node, FILE)).hasCoveredPercentage(oneHalf);
     }
 
+    @Test
+    void shouldRecomputeAggregatedValuesAfterSubtreeHasBeenChanged() {
+        var node = new ModuleNode("Node");
+        var packageNode = new PackageNode("package");
+        var coveredFile = new FileNode("fileCovered", "path");
+        node.addChild(packageNode);
+        packageNode.addChild(coveredFile);
+        coveredFile.addValue(new CoverageBuilder().setMetric(LINE).setCovered(1).setMissed(0).build());
+
+        assertThat(getCoverage(node, LINE)).hasCoveredPercentage(HUNDERT_PERCENT);
+        assertThat(node.getMetrics()).containsExactly(MODULE, PACKAGE, FILE, LINE, LOC);
+
+        var missedFile = new FileNode("fileMissed", "path");
+        missedFile.addValue(new CoverageBuilder().setMetric(LINE).setCovered(0).setMissed(1).build());
+        packageNode.addChild(missedFile);
+
+        assertThat(getCoverage(node, LINE)).hasCoveredPercentage(Percentage.valueOf(1, 2));
+        assertThat(getCoverage(node, FILE)).hasCoveredPercentage(Percentage.valueOf(1, 2));
+
+        missedFile.replaceValue(new CoverageBuilder().setMetric(LINE).setCovered(1).setMissed(0).build());
+        missedFile.addValue(new CyclomaticComplexity(3));
+
+        assertThat(getCoverage(node, LINE)).hasCoveredPercentage(HUNDERT_PERCENT);
+        assertThat(node.getValue(COMPLEXITY)).contains(new CyclomaticComplexity(3));
+        assertThat(node.getMetrics()).contains(COMPLEXITY, COMPLEXITY_DENSITY, COMPLEXITY_MAXIMUM);
+
+        packageNode.removeChild(missedFile);
+
+        assertThat(getCoverage(node, LINE)).hasCoveredPercentage(HUNDERT_PERCENT);
+        assertThat(node.getValue(COMPLEXITY)).isEmpty();
+        assertThat(node.getMetrics()).containsExactly(MODULE, PACKAGE, FILE, LINE, LOC);
+    }
+
+    @Test
+    void shouldAggregateSameValuesInParallel() {
+        var sequential = createTreeWithValues();
+        var parallel = createTreeWithValues();
+
+        assertThat(parallel.aggregateValuesInParallel()).isEqualTo(sequential.aggregateValues());
+
+        var sequentialNodes = getAllNodes(sequential);
+        var parallelNodes = getAllNodes(parallel);
+        assertThat(parallelNodes).hasSameSizeAs(sequentialNodes);
+        for (int i = 0; i < sequentialNodes.size(); i++) {
+            assertThat(parallelNodes.get(i).aggregateValues()).isEqualTo(sequentialNodes.get(i).aggregateValues());
+        }
+    }
+
+    @Test
+    void shouldVisitChildrenBeforeTheirParent() {
+        var module = new ModuleNode("module");
+        var pkg = new PackageNode("package");
+        var first = new FileNode("First.java", "package/First.java");
+        var second = new FileNode("Second.java", "package/Second.java");
+        module.addChild(pkg);
+        pkg.addChild(first);
+        pkg.addChild(second);
+
+        List<Node> visited = new ArrayList<>();
+        module.accept(visited::add);
+
+        assertThat(visited).containsExactly(first, second, pkg, module);
+    }
+
+    @Test
+    void shouldComputeMetricsDistribution() {
+        var tree = createTreeWithValues();
+
+        var distribution = tree.getMetricsDistribution();
+
+        assertThat(distribution.keySet()).containsExactlyElementsOf(tree.getMetrics());
+        assertThat(distribution.values()).containsExactlyElementsOf(tree.aggregateValues());
+        assertThat(distribution).containsEntry(COMPLEXITY_MAXIMUM, new CyclomaticComplexity(8, COMPLEXITY_MAXIMUM));
+        for (Node node : getAllNodes(tree)) {
+            node.getMetricsDistribution().forEach((metric, value) ->
+                    assertThat(node.getValue(metric)).contains(value));
+        }
+    }
+
+    private static List<Node> getAllNodes(final Node tree) {
+        List<Node> nodes = new ArrayList<>();
+        nodes.add(tree);
+        tree.getChildren().forEach(child -> nodes.addAll(getAllNodes(child)));
+        return nodes;
+    }
+
+    private static Node createTreeWithValues() {
+        var module = new ModuleNode("module");
+        for (int p = 0; p < 3; p++) {
+            var pkg = new PackageNode("package" + p);
+            module.addChild(pkg);
+            for (int f = 0; f < 4; f++) {
+                var file = new FileNode("File" + f + ".java", "package" + p + "/File" + f + ".java");
+                pkg.addChild(file);
+                var classNode = new ClassNode("File" + f);
+                file.addChild(classNode);
+                for (int m = 0; m < 5; m++) {
+                    var method = new MethodNode("method" + m, "()V", m);
+                    classNode.addChild(method);
+                    method.addValue(new CoverageBuilder().setMetric(LINE).setCovered(m).setMissed(f).build());
+                    method.addValue(new CoverageBuilder().setMetric(BRANCH).setCovered(p).setMissed(m).build());
+                    method.addValue(new CyclomaticComplexity(m + f + 1));
+                }
+            }
+        }
+        return module;
+    }
+
     @Test
     void shouldDeepCopyNodeTree() {
         var node = new ModuleNode("Node");
@@ -262,6 +372,37 @@ class NodeTest {
         assertThat(node.findByHashCode(FILE, childNode.getName().hashCode())).isPresent().get().isEqualTo(childNode);
     }
 
+    @Test
+    void shouldFindFilesAfterTreeHasBeenChanged() {
+        var node = new ModuleNode("Node");
+        var first = new PackageNode("first");
+        var firstFile = new FileNode("File.java", "first/File.java");
+        node.addChild(first);
+        first.addChild(firstFile);
+
+        assertThat(node.findFile("File.java")).isPresent().get().isSameAs(firstFile);
+        assertThat(node.findFile("second/File.java")).isNotPresent();
+
+        var second = new PackageNode("second");
+        var secondFile = new FileNode("File.java", "second/File.java");
+        second.addChild(secondFile);
+        node.addChild(second);
+
+        assertThat(node.findFile("File.java")).isPresent().get().isSameAs(firstFile);
+        assertThat(node.findFile("second/File.java")).isPresent().get().isSameAs(secondFile);
+        assertThat(node.findByHashCode(FILE, "second/File.java".hashCode())).isPresent().get().isSameAs(secondFile);
+
+        first.removeChild(firstFile);
+
+        assertThat(node.findFile("File.java")).isPresent().get().isSameAs(secondFile);
+        assertThat(node.findFile("first/File.java")).isNotPresent();
+
+        secondFile.setRelativePath(TreeString.valueOf("other/File.java"));
+
+        assertThat(node.findFile("second/File.java")).isNotPresent();
+        assertThat(node.findByHashCode(FILE, "other/File.java".hashCode())).isPresent().get().isSameAs(secondFile);
+    }
+
     @Test
     void shouldNotAcceptIncompatibleNodes() {
         var module = new ModuleNode("edu.hm.hafner.module1");
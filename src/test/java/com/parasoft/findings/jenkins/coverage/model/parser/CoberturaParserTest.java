@@ -255,6 +255,32 @@ class CoberturaParserTest extends AbstractParserTest {
         assertThat(coveredLines).isEqualTo(61);
     }
 
+    @Test
+    void shouldIgnoreMalformedConditionCoverage() {
+        Node tree = readReport("cobertura-malformed-conditions.xml");
+
+        assertThat(tree.findFile("Conditions.java")).isPresent().get().satisfies(file -> {
+            assertThat(file.getCoveredOfLine(1)).isEqualTo(1);
+            assertThat(file.getMissedOfLine(1)).isEqualTo(1);
+            for (int line = 2; line <= 8; line++) {
+                assertThat(file.getCoveredOfLine(line)).as("covered of line %d", line).isZero();
+                assertThat(file.getMissedOfLine(line)).as("missed of line %d", line).isZero();
+            }
+        });
+    }
+
+    @Test
+    void shouldClampMissedBranchesIfMoreBranchesAreCoveredThanExist() {
+        Node tree = readReport("cobertura-malformed-conditions.xml");
+
+        assertThat(tree.findFile("Conditions.java")).isPresent().get().satisfies(file -> {
+            assertThat(file.getCoveredOfLine(9)).isEqualTo(3);
+            assertThat(file.getMissedOfLine(9)).isZero();
+        });
+        assertThat(getCoverage(tree, BRANCH)).isEqualTo(
+                new CoverageBuilder().setMetric(BRANCH).setCovered(4).setMissed(1).build());
+    }
+
     @Test
     void shouldHaveOneSource() {
         ModuleNode tree = readExampleReport();
@@ -0,0 +1,166 @@
+package com.parasoft.findings.jenkins.coverage.model.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.parasoft.findings.jenkins.coverage.converter.ConversionService;
+import com.parasoft.findings.jenkins.coverage.model.Coverage.CoverageBuilder;
+import com.parasoft.findings.jenkins.coverage.model.FileNode;
+import com.parasoft.findings.jenkins.coverage.model.ModuleNode;
+import com.parasoft.findings.jenkins.coverage.model.Node;
+import edu.hm.hafner.util.FilteredLog;
+
+import net.sf.saxon.s9api.QName;
+import net.sf.saxon.s9api.XdmAtomicValue;
+import net.sf.saxon.s9api.XdmValue;
+
+import static com.parasoft.findings.jenkins.coverage.model.Metric.*;
+import static org.assertj.core.api.Assertions.*;
+
+class ParasoftCoverageParserTest extends AbstractParserTest {
+    private static final String COBERTURA_XSL = "/com/parasoft/findings/jenkins/coverage/cobertura.xsl";
+    private static final String WORKING_DIRECTORY_PARAM = "pipelineBuildWorkingDirectory";
+    private static final String WORKING_DIRECTORY = "/home/user";
+
+    @Override
+    ParasoftCoverageParser createParser() {
+        return new ParasoftCoverageParser();
+    }
+
+    @Test
+    void shouldReadJtestReport() {
+        Node tree = readReport("/com/parasoft/findings/jenkins/coverage/parasoft_coverage.xml");
+
+        assertThat(tree.getParasoftToolName()).isEqualTo("Jtest");
+        assertThat(tree.getAll(PACKAGE)).extracting(Node::getName).containsExactly("<default>",
+                "com.parasoft", "com.parasoft.another", "com.parasoft.interfaces2", "com.parasoft.nested");
+        assertThat(tree.getAll(FILE)).extracting(Node::getName).containsExactlyInAnyOrder("Calculator.java",
+                "Convertor.java", "Convertor.java", "ICalculator.java", "PhoneFactory.java");
+        assertThat(tree.getAll(CLASS)).extracting(Node::getName).containsExactlyInAnyOrder("Calculator",
+                "Calculator#Screen", "Calculator#Screen#Brightness", "com.parasoft.Convertor",
+                "com.parasoft.another.Convertor", "com.parasoft.interfaces2.ICalculator",
+                "com.parasoft.nested.PhoneFactory", "com.parasoft.nested.PhoneFactory#Phone",
+                "com.parasoft.nested.PhoneFactory#Brand");
+
+        var builder = new CoverageBuilder().setMetric(LINE);
+        assertThat(tree.getValue(LINE)).contains(builder.setCovered(28).setMissed(8).build());
+        assertThat(tree.findClass("com.parasoft.nested.PhoneFactory#Phone")).isPresent().get()
+                .satisfies(c -> assertThat(c.getValue(LINE)).contains(builder.setCovered(7).setMissed(6).build()));
+        assertThat(tree.findFile("Calculator.java")).isPresent().get()
+                .satisfies(f -> assertThat(f.getLinesWithCoverage()).containsExactly(
+                        3, 5, 7, 8, 9, 15, 16, 17, 20, 21, 23, 24));
+    }
+
+    @Test
+    void shouldReadCppTestReportRelativeToWorkingDirectory() {
+        Node tree = readReport("parasoft-cpptest-coverage.xml");
+
+        assertThat(tree.getParasoftToolName()).isEqualTo("C++test");
+        assertThat(tree.getAll(PACKAGE)).extracting(Node::getName).containsExactly("src", "src/util");
+        assertThat(tree.getAllFileNodes()).extracting(FileNode::getRelativePath)
+                .containsExactly("src/main.cpp", "src/util/string utils.cpp");
+        assertThat(tree.getAll(CLASS)).extracting(Node::getName)
+                .containsExactly("main.cpp", "string utils.cpp");
+
+        var builder = new CoverageBuilder().setMetric(LINE);
+        assertThat(tree.getValue(LINE)).contains(builder.setCovered(5).setMissed(4).build());
+        assertThat(tree.findFile("main.cpp")).isPresent().get().satisfies(f -> {
+            assertThat(f.getCoveredOfLine(8)).isEqualTo(1);
+            assertThat(f.getMissedOfLine(9)).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void shouldPreferWorkingDirectoryOfBuild() {
+        Node tree = read("parasoft-cpptest-coverage.xml", new ParasoftCoverageParser("/home/user"));
+
+        assertThat(tree.getAll(PACKAGE)).extracting(Node::getName).containsExactly("project/src", "project/src/util");
+        assertThat(tree.getAllFileNodes()).extracting(FileNode::getRelativePath)
+                .containsExactly("project/src/main.cpp", "project/src/util/string utils.cpp");
+    }
+
+    @ParameterizedTest(name = "{0} should be parsed like the Cobertura report converted by cobertura.xsl")
+    @ValueSource(strings = {
+            "/coverage.xml",
+            "/com/parasoft/findings/jenkins/coverage/parasoft_coverage.xml",
+            "parasoft-cpptest-coverage.xml"})
+    void shouldParseReportsLikeXslConversion(final String fileName) throws Exception {
+        var converted = convert(fileName, Map.of());
+
+        assertThat(describe(readReport(fileName))).isNotEmpty().containsExactlyElementsOf(describe(converted));
+    }
+
+    @ParameterizedTest(name = "{0} should be parsed relative to the working directory like the converted report")
+    @ValueSource(strings = {
+            "/com/parasoft/findings/jenkins/coverage/parasoft_coverage.xml",
+            "parasoft-cpptest-coverage.xml"})
+    void shouldParseReportsWithWorkingDirectoryLikeXslConversion(final String fileName) throws Exception {
+        var converted = convert(fileName,
+                Map.of(new QName(WORKING_DIRECTORY_PARAM), new XdmAtomicValue(WORKING_DIRECTORY)));
+
+        assertThat(describe(read(fileName, new ParasoftCoverageParser(WORKING_DIRECTORY))))
+                .isNotEmpty().containsExactlyElementsOf(describe(converted));
+    }
+
+    private ModuleNode convert(final String fileName, final Map<QName, XdmValue> params) throws Exception {
+        return new ConversionService().convert(readCoberturaXsl(), getResource(fileName), params,
+                coberturaReport -> new CoberturaParser().parse(coberturaReport, new FilteredLog("Errors")));
+    }
+
+    private String readCoberturaXsl() throws IOException {
+        try (InputStream stream = ParasoftCoverageParserTest.class.getResourceAsStream(COBERTURA_XSL)) {
+            return IOUtils.toString(Objects.requireNonNull(stream), StandardCharsets.UTF_8);
+        }
+    }
+
+    private File getResource(final String fileName) throws URISyntaxException {
+        return Paths.get(Objects.requireNonNull(ParasoftCoverageParserTest.class.getResource(fileName)).toURI())
+                .toFile();
+    }
+
+    // Lists the tool name and, for each node in tree order, its values and the coverage of each line of a file
+    private List<String> describe(final ModuleNode root) {
+        List<String> description = new ArrayList<>();
+        description.add(root.getParasoftToolName());
+        describe(root, description);
+        return description;
+    }
+
+    private void describe(final Node node, final List<String> description) {
+        description.add(String.format("%s %s: %s", node.getMetric(), node.getName(), node.aggregateValues()));
+        if (node instanceof FileNode) {
+            var file = (FileNode) node;
+            description.add(file.getRelativePath());
+            for (int line : file.getLinesWithCoverage()) {
+                description.add(String.format("%d: %d/%d", line, file.getCoveredOfLine(line),
+                        file.getMissedOfLine(line)));
+            }
+        }
+        node.getChildren().forEach(child -> describe(child, description));
+    }
+
+    private ModuleNode read(final String fileName, final ParasoftCoverageParser parser) {
+        try (InputStream stream = ParasoftCoverageParserTest.class.getResourceAsStream(fileName);
+                Reader reader = new InputStreamReader(Objects.requireNonNull(stream), StandardCharsets.UTF_8)) {
+            return parser.parse(reader, new FilteredLog("Errors"));
+        }
+        catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
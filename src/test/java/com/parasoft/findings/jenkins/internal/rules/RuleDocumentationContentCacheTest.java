@@ -0,0 +1,99 @@
+package com.parasoft.findings.jenkins.internal.rules;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class RuleDocumentationContentCacheTest
+{
+    private static final String CONTENTS = "<p>rule doc</p>";
+
+    @Test
+    public void cacheRuleDocTest()
+    {
+        RuleDocumentationContentCache underTest = new RuleDocumentationContentCache(1024);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<String> loader = () -> {
+            loads.incrementAndGet();
+            return CONTENTS;
+        };
+
+        assertEquals(CONTENTS, underTest.get("key", loader));
+        assertEquals(CONTENTS, underTest.get("key", loader));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, underTest.getRuleDocCount());
+        assertEquals(RuleDocumentationContentCache.estimateSize(CONTENTS), underTest.getSize());
+
+        underTest.put("key", CONTENTS + CONTENTS);
+        assertEquals(1, underTest.getRuleDocCount());
+        assertEquals(RuleDocumentationContentCache.estimateSize(CONTENTS + CONTENTS), underTest.getSize());
+    }
+
+    @Test
+    public void emptyRuleDocTest()
+    {
+        RuleDocumentationContentCache underTest = new RuleDocumentationContentCache(1024);
+
+        assertNull(underTest.get("missing", () -> null));
+        assertEquals("", underTest.get("empty", () -> ""));
+
+        assertEquals(0, underTest.getRuleDocCount());
+        assertEquals(0, underTest.getSize());
+    }
+
+    @Test
+    public void evictLeastRecentlyUsedRuleDocsTest()
+    {
+        long ruleDocSize = RuleDocumentationContentCache.estimateSize(CONTENTS);
+        RuleDocumentationContentCache underTest = new RuleDocumentationContentCache(3 * ruleDocSize);
+        underTest.put("first", CONTENTS);
+        underTest.put("second", CONTENTS);
+        underTest.put("third", CONTENTS);
+        underTest.get("first", () -> null); // the second rule doc is now the least recently used one
+
+        underTest.put("fourth", CONTENTS);
+
+        assertEquals(3, underTest.getRuleDocCount());
+        assertEquals(3 * ruleDocSize, underTest.getSize());
+        assertEquals(CONTENTS, underTest.get("first", () -> null));
+        assertNull(underTest.get("second", () -> null));
+        assertEquals(CONTENTS, underTest.get("third", () -> null));
+        assertEquals(CONTENTS, underTest.get("fourth", () -> null));
+    }
+
+    @Test
+    public void ruleDocExceedingMaximumSizeTest()
+    {
+        RuleDocumentationContentCache underTest = new RuleDocumentationContentCache(
+                RuleDocumentationContentCache.estimateSize(CONTENTS));
+        underTest.put("small", CONTENTS);
+
+        underTest.put("large", CONTENTS + CONTENTS);
+
+        assertEquals(1, underTest.getRuleDocCount());
+        assertEquals(RuleDocumentationContentCache.estimateSize(CONTENTS), underTest.getSize());
+        assertNull(underTest.get("large", () -> null));
+    }
+
+    @Test
+    public void defaultMaximumSizeTest()
+    {
+        // 8M characters take 16 MB, which exceeds the default budget together with the overhead of an entry
+        String largeContents = new String(new char[8 * 1024 * 1024]).replace('\0', 'x');
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<String> loader = () -> {
+            loads.incrementAndGet();
+            return largeContents;
+        };
+
+        RuleDocumentationContentCache.getInstance().get(RuleDocumentationContentCacheTest.class.getName(), loader);
+        RuleDocumentationContentCache.getInstance().get(RuleDocumentationContentCacheTest.class.getName(), loader);
+
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,163 @@
+package com.parasoft.findings.jenkins.internal.rules;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.parasoft.findings.utils.doc.RuleDocumentationProvider;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fetches rule docs from a local HTTP server, so the concurrent fetching and the timeout are exercised. The providers
+ * read the rule docs with a plain URL connection.
+ */
+public class RuleDocumentationStorageFetchTest
+{
+    private static final String ANALYZER = "com.parasoft.jtest.standards.checkers.java";
+    private static final List<String> RULE_IDS = Arrays.asList("RULE.1", "RULE.2", "RULE.3", "RULE.4");
+    private static final String SLOW_RULE_ID = "SLOW.RULE";
+
+    @TempDir
+    File buildRoot;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private CountDownLatch releaseSlowRuleDoc;
+    private volatile CountDownLatch concurrentRequests;
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private final AtomicInteger maximumActiveRequests = new AtomicInteger();
+    private final AtomicInteger createdProviders = new AtomicInteger();
+    private long originalFetchTimeout;
+
+    @BeforeEach
+    public void startServer() throws IOException
+    {
+        releaseSlowRuleDoc = new CountDownLatch(1);
+        concurrentRequests = new CountDownLatch(RULE_IDS.size());
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/rules/", this::handle);
+        server.setExecutor(serverExecutor);
+        server.start();
+        originalFetchTimeout = RuleDocumentationStorage.fetchTimeout;
+    }
+
+    @AfterEach
+    public void stopServer()
+    {
+        RuleDocumentationStorage.fetchTimeout = originalFetchTimeout;
+        releaseSlowRuleDoc.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void concurrentFetchTest() throws IOException
+    {
+        createStorage().storeRuleDocs(Collections.singletonMap(ANALYZER, RULE_IDS));
+
+        for (String ruleId : RULE_IDS) {
+            assertEquals("<p>" + ruleId + "</p>", readRuleDoc(ruleId));
+        }
+        assertTrue(maximumActiveRequests.get() > 1);
+        // one provider resolves the locations, each fetching thread has its own one
+        assertEquals(1 + RULE_IDS.size(), createdProviders.get());
+    }
+
+    @Test
+    public void fetchTimeoutTest() throws IOException
+    {
+        RuleDocumentationStorage.fetchTimeout = 1;
+        concurrentRequests = new CountDownLatch(0);
+
+        long start = System.nanoTime();
+        createStorage().storeRuleDocs(Collections.singletonMap(ANALYZER, Arrays.asList(SLOW_RULE_ID, "RULE.1")));
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+        assertFalse(getRuleDocFile(SLOW_RULE_ID).exists());
+        assertEquals("<p>RULE.1</p>", readRuleDoc("RULE.1"));
+    }
+
+    private RuleDocumentationStorage createStorage()
+    {
+        return new RuleDocumentationStorage(buildRoot, RuleDocumentationReader.DEFAULT_RULES_DIR, this::createProvider, null);
+    }
+
+    private RuleDocumentationProvider createProvider()
+    {
+        createdProviders.incrementAndGet();
+        String baseUrl = "http://localhost:" + server.getAddress().getPort() + "/rules/";
+        RuleDocumentationProvider docProvider = Mockito.mock(RuleDocumentationProvider.class);
+        Mockito.when(docProvider.getRuleDocLocation(ArgumentMatchers.anyString(), ArgumentMatchers.anyString()))
+                .thenAnswer(invocation -> baseUrl + invocation.getArgument(1));
+        Mockito.when(docProvider.getDtpRuleDocContent(ArgumentMatchers.anyString())).thenAnswer(invocation -> {
+            try (InputStream input = new URL(invocation.getArgument(0)).openStream()) {
+                return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        });
+        return docProvider;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException
+    {
+        String ruleId = exchange.getRequestURI().getPath().substring("/rules/".length());
+        int active = activeRequests.incrementAndGet();
+        maximumActiveRequests.accumulateAndGet(active, Math::max);
+        try {
+            byte[] contents = ("<p>" + ruleId + "</p>").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, contents.length);
+            if (SLOW_RULE_ID.equals(ruleId)) {
+                // the headers have been sent, so only the read of the contents blocks
+                releaseSlowRuleDoc.await();
+            } else {
+                // wait until all rule docs are requested, which only happens if they are fetched concurrently
+                concurrentRequests.countDown();
+                concurrentRequests.await(5, TimeUnit.SECONDS);
+            }
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(contents);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            activeRequests.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private String readRuleDoc(String ruleId) throws IOException
+    {
+        return new String(Files.readAllBytes(getRuleDocFile(ruleId).toPath()), StandardCharsets.UTF_8);
+    }
+
+    private File getRuleDocFile(String ruleId)
+    {
+        return new File(buildRoot, RuleDocumentationReader.getRuleDocRelativePath(RuleDocumentationReader.DEFAULT_RULES_DIR,
+                ANALYZER, ruleId));
+    }
+}